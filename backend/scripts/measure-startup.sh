@@ -0,0 +1,40 @@
+#!/bin/sh
+# Measures time from JVM launch to the first successful response and to readiness (after the startup
+# warm-up), for the default (dev) mode and the fast-startup mode (prod profile + AOT + CDS).
+# Requires MySQL to be reachable.
+#
+#   ./mvnw -Pfast-startup -DskipTests package
+#   java -Djarmode=tools -jar target/backend-0.0.1-SNAPSHOT.jar extract --destination target/application
+#   java -XX:ArchiveClassesAtExit=target/application.jsa -Dspring.context.exit=onRefresh \
+#        -Dspring.aot.enabled=true -Dspring.profiles.active=prod -Dspring.flyway.enabled=false \
+#        -jar target/application/app.jar
+#   scripts/measure-startup.sh
+set -e
+
+PORT=${PORT:-8080}
+JAR=${JAR:-target/application/app.jar}
+URL="http://localhost:$PORT/api/subjects"
+READY_URL="http://localhost:$PORT/actuator/health/readiness"
+
+measure() {
+    label=$1
+    shift
+    start=$(date +%s%3N)
+    java "$@" -jar "$JAR" > "target/startup-$label.log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "$URL"; do
+        sleep 0.05
+    done
+    end=$(date +%s%3N)
+    until curl -sf -o /dev/null "$READY_URL"; do
+        sleep 0.05
+    done
+    ready=$(date +%s%3N)
+    kill $pid
+    wait $pid 2>/dev/null || true
+    echo "$label: first response after $((end - start)) ms, ready after $((ready - start)) ms"
+    grep "Startup:\|Warm-up:" "target/startup-$label.log" || true
+}
+
+measure default
+measure fast-startup -XX:SharedArchiveFile=target/application.jsa -Dspring.aot.enabled=true -Dspring.profiles.active=prod
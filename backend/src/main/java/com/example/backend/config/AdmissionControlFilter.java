@@ -0,0 +1,133 @@
+package com.example.backend.config;
+
+import com.example.backend.service.AdmissionLimiter;
+import com.example.backend.service.AdmissionLimiter.Priority;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Admission control for /api: assigns each request a priority class and asks the limiter for a slot,
+// answering 429 with Retry-After when it is shed. Admin endpoints and CORS preflights are never limited.
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+	private final AdmissionLimiter limiter;
+	private final boolean enabled;
+
+	public AdmissionControlFilter(AdmissionLimiter limiter, @Value("${admission.enabled:true}") boolean enabled) {
+		this.limiter = limiter;
+		this.enabled = enabled;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String path = request.getRequestURI();
+		return !enabled
+				|| "OPTIONS".equals(request.getMethod())
+				|| !path.startsWith("/api/")
+				|| path.startsWith("/api/admin/");
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		Priority priority = classify(request);
+		boolean admitted;
+		try {
+			admitted = limiter.tryAcquire(priority);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			admitted = false;
+		}
+		if (!admitted) {
+			response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+			response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(limiter.retryAfterSeconds()));
+			response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+			response.getWriter().write("{\"error\":\"Server is busy, please retry shortly\"}");
+			return;
+		}
+
+		long start = System.nanoTime();
+		boolean async = false;
+		try {
+			chain.doFilter(request, response);
+			// Async handlers (the reactive read stack) finish after the chain returns; hold the slot until then
+			if (request.isAsyncStarted()) {
+				request.getAsyncContext().addListener(new ReleaseOnCompletion(priority, start));
+				async = true;
+			}
+		} finally {
+			if (!async) {
+				release(priority, start);
+			}
+		}
+	}
+
+	// Logins are dominated by password hashing, which has its own bounded pool; keep them out of
+	// the latency signal so it tracks the database
+	private void release(Priority priority, long start) {
+		limiter.release(priority == Priority.LOGIN ? -1 : System.nanoTime() - start);
+	}
+
+	private class ReleaseOnCompletion implements AsyncListener {
+		private final Priority priority;
+		private final long start;
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		ReleaseOnCompletion(Priority priority, long start) {
+			this.priority = priority;
+			this.start = start;
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			releaseOnce();
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			releaseOnce();
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			releaseOnce();
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+
+		private void releaseOnce() {
+			if (released.compareAndSet(false, true)) {
+				release(priority, start);
+			}
+		}
+	}
+
+	static Priority classify(HttpServletRequest request) {
+		String path = request.getRequestURI();
+		boolean post = "POST".equals(request.getMethod());
+		if (post && (path.equals("/api/attendance/mark") || path.equals("/api/checkin"))) {
+			return Priority.MARKING;
+		}
+		if (path.startsWith("/api/auth/")) {
+			return Priority.LOGIN;
+		}
+		if (path.startsWith("/api/reports/")) {
+			return Priority.REPORT;
+		}
+		return Priority.DASHBOARD;
+	}
+}
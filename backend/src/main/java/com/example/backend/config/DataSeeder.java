@@ -10,15 +10,21 @@ import com.example.backend.repo.SubjectRepository;
 import com.example.backend.repo.UserRepository;
 import com.example.backend.repo.StudentRepository;
 import com.example.backend.repo.AttendanceRepository;
+import com.example.backend.service.ChangeSequenceService;
+import com.example.backend.tenant.TenantRegistry;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Configuration
+@ConditionalOnProperty(name = "app.seed.enabled", havingValue = "true", matchIfMissing = true)
 public class DataSeeder {
 
 	@Bean
@@ -26,8 +32,12 @@ public class DataSeeder {
 			UserRepository userRepository,
 			StudentRepository studentRepository,
 			AttendanceRepository attendanceRepository,
+			ChangeSequenceService changeSequenceService,
+			TenantRegistry tenantRegistry,
+			PlatformTransactionManager transactionManager,
 			PasswordEncoder passwordEncoder) {
-		return args -> {
+		// Every campus gets the same sample data
+		return args -> tenantRegistry.forEachTenant(tenant -> {
 			// Seed Subjects (only if they don't exist)
 			seedSubjects(subjectRepository);
 
@@ -35,8 +45,10 @@ public class DataSeeder {
 			seedUsers(userRepository, studentRepository, passwordEncoder);
 
 			// Seed sample attendance data for testing
-			seedSampleAttendance(subjectRepository, studentRepository, userRepository, attendanceRepository);
-		};
+			// Seeded rows take change sequence values like any other write, so delta sync picks them up
+			new TransactionTemplate(transactionManager).executeWithoutResult(status -> seedSampleAttendance(
+					subjectRepository, studentRepository, userRepository, attendanceRepository, changeSequenceService));
+		});
 	}
 
 	private void seedSubjects(SubjectRepository subjectRepository) {
@@ -86,9 +98,7 @@ public class DataSeeder {
 				studentUser.setEmail(student[2]);
 				User saved = userRepository.save(studentUser);
 				// also create Student row used by attendance
-				Student s = new Student();
-				s.setUsername(saved.getUsername());
-				studentRepository.save(s);
+				studentRepository.save(new Student(saved));
 				System.out.println("Seeded student: " + student[0] + "/student123");
 			}
 		} else {
@@ -99,7 +109,8 @@ public class DataSeeder {
 	private void seedSampleAttendance(SubjectRepository subjectRepository,
 			StudentRepository studentRepository,
 			UserRepository userRepository,
-			AttendanceRepository attendanceRepository) {
+			AttendanceRepository attendanceRepository,
+			ChangeSequenceService changeSequenceService) {
 		// Only seed sample attendance if no attendance records exist
 		if (attendanceRepository.count() == 0) {
 			// Get teacher and students
@@ -113,6 +124,8 @@ public class DataSeeder {
 			if (teacher != null && !students.isEmpty() && !subjects.isEmpty()) {
 				// Create some sample attendance for yesterday
 				LocalDate yesterday = LocalDate.now().minusDays(1);
+				int count = Math.min(3, students.size()) * Math.min(2, subjects.size());
+				long changeSeq = changeSequenceService.allocate(ChangeSequenceService.ATTENDANCE, count);
 
 				for (Student student : students.subList(0, Math.min(3, students.size()))) {
 					for (Subject subject : subjects.subList(0, Math.min(2, subjects.size()))) {
@@ -123,6 +136,7 @@ public class DataSeeder {
 						attendance.setDate(yesterday);
 						attendance.setMarkedBy(teacher);
 						attendance.setMarkedAt(LocalDateTime.now().minusDays(1));
+						attendance.setChangeSeq(changeSeq++);
 						attendanceRepository.save(attendance);
 					}
 				}
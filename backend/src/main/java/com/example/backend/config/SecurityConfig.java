@@ -1,11 +1,17 @@
 package com.example.backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration
@@ -18,7 +24,10 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, UserAuthenticationProvider userAuthenticationProvider,
+            PasswordEncoder passwordEncoder,
+            @Value("${jfr.admin.username:ops}") String jfrUsername,
+            @Value("${jfr.admin.password:}") String jfrPassword) throws Exception {
         http
                 // Disable CSRF for API endpoints
                 .csrf(csrf -> csrf.disable())
@@ -26,15 +35,40 @@ public class SecurityConfig {
                 // Configure CORS
                 .cors(cors -> cors.configure(http))
 
-                // Configure authorization - ALLOW ALL REQUESTS WITHOUT AUTHENTICATION
+                // Configure authorization - only the endpoints below need credentials
                 .authorizeHttpRequests(authz -> authz
-                        .requestMatchers("/**").permitAll() // Allow all endpoints without authentication
+                        // Check-in codes are issued to the signed-in teacher only
+                        .requestMatchers("/api/checkin/session").hasRole("TEACHER")
+                        // ... and redeemed by the signed-in student, who is the one marked present
+                        .requestMatchers(HttpMethod.POST, "/api/checkin").hasRole("STUDENT")
+                        // Recordings expose the process's internals; only the configured operator account
+                        .requestMatchers("/api/admin/jfr/**").hasRole("OPS")
+                        .requestMatchers("/**").permitAll()
                         .anyRequest().permitAll())
 
-                // Disable form login and basic auth
+                // HTTP Basic against the users table, checked on every request; no server-side session
+                .authenticationProvider(userAuthenticationProvider)
+                .authenticationProvider(operatorAuthenticationProvider(jfrUsername, jfrPassword, passwordEncoder))
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .formLogin(form -> form.disable())
-                .httpBasic(basic -> basic.disable());
+                .httpBasic(basic -> {});
 
         return http.build();
     }
+
+    // The operator account comes from configuration, not the users table. Without jfr.admin.password
+    // there is no such account and the recording endpoints refuse everyone.
+    private static DaoAuthenticationProvider operatorAuthenticationProvider(String username, String password,
+            PasswordEncoder passwordEncoder) {
+        InMemoryUserDetailsManager operators = new InMemoryUserDetailsManager();
+        if (!password.isBlank()) {
+            operators.createUser(User.withUsername(username)
+                    .password(passwordEncoder.encode(password))
+                    .roles("OPS")
+                    .build());
+        }
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(operators);
+        provider.setPasswordEncoder(passwordEncoder);
+        return provider;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.example.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Reports JVM-start-to-ready and JVM-start-to-first-response times, used to compare startup modes
+@Component
+public class StartupTimingFilter extends OncePerRequestFilter {
+	private final AtomicBoolean firstRequestSeen = new AtomicBoolean();
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onReady() {
+		System.out.println("Startup: application ready " + sinceJvmStart() + " ms after JVM start");
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			if (!firstRequestSeen.get() && request.getHeader(StartupWarmup.HEADER) == null
+					&& firstRequestSeen.compareAndSet(false, true)) {
+				System.out.println("Startup: first request (" + request.getRequestURI() + ") completed "
+						+ sinceJvmStart() + " ms after JVM start");
+			}
+		}
+	}
+
+	private static long sinceJvmStart() {
+		return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+	}
+}
@@ -0,0 +1,178 @@
+package com.example.backend.config;
+
+import com.example.backend.model.Subject;
+import com.example.backend.service.AttendanceService;
+import com.example.backend.service.DashboardReadService;
+import com.example.backend.tenant.TenantFilter;
+import com.example.backend.tenant.TenantRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Warms the service up before load balancers send it traffic. Spring Boot only reports readiness
+// (/actuator/health/readiness) once every ApplicationReadyEvent listener has returned, so this runs last
+// and the probe answers 503 until it is done. Steps, each timed:
+//   1. subjects, per tenant: Hibernate metadata, the L2 cache and the dashboard's subject list
+//   2. today's attendance rows, per tenant (after the rollover catch-up has created them)
+//   3. dashboard summary and per-subject counts, per tenant, into the stale-while-revalidate caches
+//   4. loopback GETs of the main read endpoints, so Tomcat, Spring MVC and Jackson get JIT-compiled
+// Writes are not exercised since they would change data. A failing step is recorded and the warm-up
+// moves on; the endpoint step stops at warmup.max-seconds after the warm-up started.
+@Component
+public class StartupWarmup {
+	// Sent on warm-up requests so StartupTimingFilter keeps measuring the first external request
+	public static final String HEADER = "X-Warmup";
+
+	private final AttendanceService attendanceService;
+	private final DashboardReadService dashboardReadService;
+	private final TenantRegistry tenantRegistry;
+	private final TransactionTemplate readOnlyTransaction;
+	private final boolean enabled;
+	private final int httpIterations;
+	private final long maxMillis;
+	private final List<Step> steps = new CopyOnWriteArrayList<>();
+	private volatile String state = "PENDING";
+	private volatile long totalMillis;
+
+	public record Step(String name, long millis, String detail) {
+	}
+
+	public StartupWarmup(AttendanceService attendanceService,
+			DashboardReadService dashboardReadService,
+			TenantRegistry tenantRegistry,
+			PlatformTransactionManager transactionManager,
+			@Value("${warmup.enabled:true}") boolean enabled,
+			@Value("${warmup.http-iterations:200}") int httpIterations,
+			@Value("${warmup.max-seconds:60}") long maxSeconds) {
+		this.attendanceService = attendanceService;
+		this.dashboardReadService = dashboardReadService;
+		this.tenantRegistry = tenantRegistry;
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+		this.enabled = enabled;
+		this.httpIterations = httpIterations;
+		this.maxMillis = maxSeconds * 1000;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Order(Ordered.LOWEST_PRECEDENCE)
+	public void warmUp(ApplicationReadyEvent event) {
+		if (!enabled) {
+			state = "DISABLED";
+			return;
+		}
+		state = "RUNNING";
+		long start = System.nanoTime();
+		AtomicLong rollCallSubject = new AtomicLong();
+
+		step("subjects", () -> {
+			AtomicInteger subjects = new AtomicInteger();
+			tenantRegistry.forEachTenant(tenant -> {
+				List<Subject> list = dashboardReadService.getSubjects();
+				subjects.addAndGet(list.size());
+				if (tenant.equals(tenantRegistry.getDefaultTenant()) && !list.isEmpty()) {
+					rollCallSubject.set(list.get(0).getId());
+				}
+			});
+			return subjects.get() + " subjects";
+		});
+		step("today's attendance", () -> {
+			AtomicInteger rows = new AtomicInteger();
+			tenantRegistry.forEachTenant(tenant -> rows.addAndGet(
+					readOnlyTransaction.execute(status -> attendanceService.getTodayAttendance().size())));
+			return rows.get() + " rows";
+		});
+		step("dashboard aggregates", () -> {
+			tenantRegistry.forEachTenant(tenant -> {
+				dashboardReadService.getDashboardSummary();
+				dashboardReadService.getTodaySubjectWiseCounts();
+			});
+			return tenantRegistry.getTenants().size() + " tenants";
+		});
+		// No web server in mock-environment tests
+		if (event.getApplicationContext() instanceof WebServerApplicationContext web) {
+			long deadline = start + maxMillis * 1_000_000;
+			step("endpoints", () -> exerciseEndpoints(web.getWebServer().getPort(), rollCallSubject.get(), deadline));
+		}
+
+		totalMillis = (System.nanoTime() - start) / 1_000_000;
+		state = "DONE";
+		System.out.println("Warm-up: done in " + totalMillis + " ms, ready for traffic");
+	}
+
+	private String exerciseEndpoints(int port, long rollCallSubject, long deadline) {
+		List<String> paths = new ArrayList<>(List.of("/api/subjects", "/api/dashboard/summary",
+				"/api/dashboard/subjectCounts", "/api/students/search?q=a", "/api/attendance/changes?limit=50"));
+		if (rollCallSubject > 0) {
+			paths.add("/api/rollcall?subjectId=" + rollCallSubject);
+		}
+		HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+		int requests = 0;
+		int failed = 0;
+		for (int i = 0; i < httpIterations && System.nanoTime() < deadline; i++) {
+			for (String path : paths) {
+				HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+						.timeout(Duration.ofSeconds(5))
+						.header(TenantFilter.HEADER, tenantRegistry.getDefaultTenant())
+						.header(HEADER, "true")
+						.GET()
+						.build();
+				requests++;
+				try {
+					int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+					if (status >= 300) {
+						failed++;
+					}
+				} catch (Exception e) {
+					if (e instanceof InterruptedException) {
+						Thread.currentThread().interrupt();
+						return requests + " requests, interrupted";
+					}
+					failed++;
+				}
+			}
+		}
+		return requests + " requests over " + paths.size() + " endpoints, " + failed + " failed";
+	}
+
+	private void step(String name, Supplier<String> work) {
+		long start = System.nanoTime();
+		String detail;
+		try {
+			detail = work.get();
+		} catch (RuntimeException e) {
+			detail = "failed: " + e.getMessage();
+		}
+		long millis = (System.nanoTime() - start) / 1_000_000;
+		steps.add(new Step(name, millis, detail));
+		System.out.println("Warm-up: " + name + " took " + millis + " ms (" + detail + ")");
+	}
+
+	public Map<String, Object> getReport() {
+		Map<String, Object> res = new LinkedHashMap<>();
+		res.put("state", state);
+		res.put("totalMillis", totalMillis);
+		res.put("steps", List.copyOf(steps));
+		return res;
+	}
+}
@@ -0,0 +1,46 @@
+package com.example.backend.config;
+
+import com.example.backend.exception.InvalidCredentialsException;
+import com.example.backend.exception.ServiceBusyException;
+import com.example.backend.model.User;
+import com.example.backend.service.AuthService;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// HTTP Basic for the endpoints SecurityConfig protects. Checks the password through AuthService, so the hash
+// runs on the bounded hashing pool like a login, and makes the User the request's principal.
+@Component
+public class UserAuthenticationProvider implements AuthenticationProvider {
+	private final AuthService authService;
+
+	public UserAuthenticationProvider(AuthService authService) {
+		this.authService = authService;
+	}
+
+	@Override
+	public Authentication authenticate(Authentication authentication) {
+		String password = authentication.getCredentials() == null ? "" : authentication.getCredentials().toString();
+		User user;
+		try {
+			user = authService.login(authentication.getName(), password);
+		} catch (InvalidCredentialsException e) {
+			throw new BadCredentialsException(e.getMessage());
+		} catch (ServiceBusyException e) {
+			throw new AuthenticationServiceException(e.getMessage(), e);
+		}
+		return UsernamePasswordAuthenticationToken.authenticated(user, null,
+				List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())));
+	}
+
+	@Override
+	public boolean supports(Class<?> authentication) {
+		return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+	}
+}
@@ -0,0 +1,21 @@
+package com.example.backend.controller;
+
+import com.example.backend.service.AdmissionLimiter;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/admission")
+public class AdmissionStatsController {
+	private final AdmissionLimiter admissionLimiter;
+
+	public AdmissionStatsController(AdmissionLimiter admissionLimiter) {
+		this.admissionLimiter = admissionLimiter;
+	}
+
+	@GetMapping
+	public Map<String, Object> stats() {
+		return admissionLimiter.getStats();
+	}
+}
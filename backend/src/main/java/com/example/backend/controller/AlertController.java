@@ -0,0 +1,32 @@
+package com.example.backend.controller;
+
+import com.example.backend.model.AttendanceAlert;
+import com.example.backend.service.AttendanceAlertService;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/alerts")
+public class AlertController {
+	private final AttendanceAlertService alertService;
+
+	public AlertController(AttendanceAlertService alertService) {
+		this.alertService = alertService;
+	}
+
+	// Without "after" returns the currently open alerts; with it, a feed of alerts raised since that id
+	@GetMapping
+	public List<AttendanceAlert> alerts(@RequestParam(required = false) Long after) {
+		if (after != null) {
+			return alertService.getAlertsAfter(after);
+		}
+		return alertService.getOpenAlerts();
+	}
+
+	@GetMapping("/digest")
+	public Map<String, Object> digest() {
+		return alertService.getLastDigest();
+	}
+}
@@ -0,0 +1,110 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.ErrorResponse;
+import com.example.backend.exception.CircuitOpenException;
+import com.example.backend.exception.ConflictException;
+import com.example.backend.exception.InvalidCredentialsException;
+import com.example.backend.exception.InvalidRequestException;
+import com.example.backend.exception.NotFoundException;
+import com.example.backend.exception.ServiceBusyException;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+// Maps expected failures to their status and an { "error": ... } body, so controllers only handle the
+// success path. Anything not listed here is a bug and surfaces as Spring's default 500.
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+	@ExceptionHandler(NotFoundException.class)
+	public ResponseEntity<ErrorResponse> notFound(NotFoundException e) {
+		return error(HttpStatus.NOT_FOUND, e.getMessage());
+	}
+
+	@ExceptionHandler(InvalidRequestException.class)
+	public ResponseEntity<ErrorResponse> invalidRequest(InvalidRequestException e) {
+		return error(HttpStatus.BAD_REQUEST, e.getMessage());
+	}
+
+	@ExceptionHandler(ConflictException.class)
+	public ResponseEntity<ErrorResponse> conflict(ConflictException e) {
+		return error(HttpStatus.CONFLICT, e.getMessage());
+	}
+
+	@ExceptionHandler(InvalidCredentialsException.class)
+	public ResponseEntity<ErrorResponse> invalidCredentials(InvalidCredentialsException e) {
+		return error(HttpStatus.UNAUTHORIZED, e.getMessage());
+	}
+
+	@ExceptionHandler(ServiceBusyException.class)
+	public ResponseEntity<ErrorResponse> busy(ServiceBusyException e) {
+		return unavailable(e.getRetryAfterSeconds(), e.getMessage());
+	}
+
+	@ExceptionHandler(CircuitOpenException.class)
+	public ResponseEntity<ErrorResponse> circuitOpen(CircuitOpenException e) {
+		return unavailable(5, "Data is temporarily unavailable, please retry");
+	}
+
+	// Unique keys catch races the controllers' existence checks miss (two registrations of one username)
+	@ExceptionHandler(DataIntegrityViolationException.class)
+	public ResponseEntity<ErrorResponse> integrityViolation(DataIntegrityViolationException e) {
+		return error(HttpStatus.CONFLICT, "The request conflicts with existing data");
+	}
+
+	// Only failures a retry can get past; other data access errors (a bad query, a lookup that found two
+	// rows) are bugs and stay 500
+	@ExceptionHandler({ DataAccessResourceFailureException.class, TransientDataAccessException.class,
+			RecoverableDataAccessException.class })
+	public ResponseEntity<ErrorResponse> dataAccess(DataAccessException e) {
+		System.out.println("Data access failed: " + e.getMessage());
+		return unavailable(5, "Data is temporarily unavailable, please retry");
+	}
+
+	@ExceptionHandler(MethodArgumentNotValidException.class)
+	public ResponseEntity<ErrorResponse> invalidBody(MethodArgumentNotValidException e) {
+		FieldError field = e.getBindingResult().getFieldError();
+		return error(HttpStatus.BAD_REQUEST, field != null ? field.getDefaultMessage() : "Invalid request body");
+	}
+
+	@ExceptionHandler(HttpMessageNotReadableException.class)
+	public ResponseEntity<ErrorResponse> unreadableBody(HttpMessageNotReadableException e) {
+		if (e.getCause() instanceof InvalidFormatException format && !format.getPath().isEmpty()) {
+			return error(HttpStatus.BAD_REQUEST, "Invalid value for " + format.getPath().get(0).getFieldName());
+		}
+		return error(HttpStatus.BAD_REQUEST, "Malformed request body");
+	}
+
+	@ExceptionHandler(MissingServletRequestParameterException.class)
+	public ResponseEntity<ErrorResponse> missingParameter(MissingServletRequestParameterException e) {
+		return error(HttpStatus.BAD_REQUEST, e.getParameterName() + " is required");
+	}
+
+	@ExceptionHandler(MethodArgumentTypeMismatchException.class)
+	public ResponseEntity<ErrorResponse> typeMismatch(MethodArgumentTypeMismatchException e) {
+		return error(HttpStatus.BAD_REQUEST, "Invalid value for " + e.getName());
+	}
+
+	private static ResponseEntity<ErrorResponse> unavailable(int retryAfterSeconds, String message) {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+				.body(new ErrorResponse(message));
+	}
+
+	private static ResponseEntity<ErrorResponse> error(HttpStatus status, String message) {
+		return ResponseEntity.status(status).body(new ErrorResponse(message));
+	}
+}
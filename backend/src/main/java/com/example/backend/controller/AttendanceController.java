@@ -1,11 +1,29 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.AttendanceCalendar;
+import com.example.backend.dto.ChangesPage;
+import com.example.backend.dto.MarkCommand;
+import com.example.backend.dto.MarkRequest;
+import com.example.backend.dto.MonthlyAttendance;
+import com.example.backend.dto.RollCall;
+import com.example.backend.dto.StudentPage;
+import com.example.backend.dto.SubjectPercentage;
 import com.example.backend.model.*;
+import com.example.backend.service.AttendanceMonthService;
 import com.example.backend.service.AttendanceService;
+import com.example.backend.service.DashboardReadService;
+import com.example.backend.service.PendingMarkService;
+import com.example.backend.service.StreamingListWriter;
+import com.example.backend.service.StudentDirectoryService;
 import com.example.backend.service.UserService;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -14,55 +32,118 @@ import java.util.Map;
 public class AttendanceController {
 	private final AttendanceService attendanceService;
 	private final UserService userService;
+	private final StudentDirectoryService studentDirectoryService;
+	private final DashboardReadService dashboardReadService;
+	private final StreamingListWriter listWriter;
+	private final AttendanceMonthService attendanceMonthService;
+	private final PendingMarkService pendingMarkService;
 
 	public AttendanceController(AttendanceService attendanceService,
-			UserService userService) {
+			UserService userService,
+			StudentDirectoryService studentDirectoryService,
+			DashboardReadService dashboardReadService,
+			StreamingListWriter listWriter,
+			AttendanceMonthService attendanceMonthService,
+			PendingMarkService pendingMarkService) {
 		this.attendanceService = attendanceService;
 		this.userService = userService;
+		this.studentDirectoryService = studentDirectoryService;
+		this.dashboardReadService = dashboardReadService;
+		this.listWriter = listWriter;
+		this.attendanceMonthService = attendanceMonthService;
+		this.pendingMarkService = pendingMarkService;
 	}
 
+	// List endpoints stream their rows; Accept picks JSON (default), Smile or CBOR
 	@GetMapping("/students")
-	public List<User> listStudents() {
-		return userService.getAllStudents();
+	public ResponseEntity<StreamingResponseBody> listStudents(
+			@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+		return listWriter.write(accept, userService::streamAllStudents);
 	}
 
+	// mode=prefix (default) matches the start of username or name, mode=contains matches anywhere
+	@GetMapping("/students/search")
+	public StudentPage searchStudents(@RequestParam(defaultValue = "") String q,
+			@RequestParam(defaultValue = "prefix") String mode,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "" + StudentDirectoryService.DEFAULT_LIMIT) int limit) {
+		return studentDirectoryService.search(q, "contains".equalsIgnoreCase(mode), cursor, limit);
+	}
+
+	// 202 PENDING when the database is unavailable: the mark is in the local write-ahead log and is written
+	// once the database recovers
 	@PostMapping("/attendance/mark")
-	public ResponseEntity<?> mark(@RequestBody Map<String, String> body) {
-		try {
-			Long studentId = Long.valueOf(body.get("studentId"));
-			Long subjectId = Long.valueOf(body.get("subjectId"));
-			AttendanceStatus status = AttendanceStatus.valueOf(body.get("status"));
-			Long teacherId = Long.valueOf(body.get("teacherId")); // Get teacher ID from request
-
-			Attendance attendance = attendanceService.markAttendance(studentId, subjectId, status, teacherId);
-			return ResponseEntity.ok(attendance);
-		} catch (Exception e) {
-			return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+	public ResponseEntity<Object> mark(@Valid @RequestBody MarkRequest request) {
+		PendingMarkService.MarkResult result = pendingMarkService.mark(new MarkCommand(request.studentId(),
+				request.subjectId(), request.status(), request.teacherId()));
+		if (result.isPending()) {
+			return ResponseEntity.accepted().body(Map.of("status", "PENDING", "sequence", result.pendingSeq()));
 		}
+		return ResponseEntity.ok(result.attendance());
 	}
 
 	@GetMapping("/students/{studentId}/attendance")
-	public ResponseEntity<?> studentAttendance(@PathVariable Long studentId) {
-		try {
-			List<Attendance> attendance = attendanceService.getStudentAttendance(studentId);
-			return ResponseEntity.ok(attendance);
-		} catch (Exception e) {
-			return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
-		}
+	public ResponseEntity<StreamingResponseBody> studentAttendance(@PathVariable Long studentId,
+			@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+		return listWriter.write(accept, () -> attendanceService.streamStudentAttendance(studentId));
+	}
+
+	// Month-bitset reads; the range defaults to the last twelve months up to today
+	@GetMapping("/students/{studentId}/history")
+	public List<MonthlyAttendance> studentHistory(@PathVariable Long studentId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+		LocalDate end = to != null ? to : LocalDate.now();
+		return attendanceMonthService.getHistory(studentId, from != null ? from : yearBefore(end), end);
+	}
+
+	@GetMapping("/students/{studentId}/percentages")
+	public List<SubjectPercentage> studentPercentages(@PathVariable Long studentId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+		LocalDate end = to != null ? to : LocalDate.now();
+		return attendanceMonthService.getPercentages(studentId, from != null ? from : yearBefore(end), end);
+	}
+
+	@GetMapping("/students/{studentId}/calendar")
+	public AttendanceCalendar studentCalendar(@PathVariable Long studentId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+		LocalDate end = to != null ? to : LocalDate.now();
+		return attendanceMonthService.getCalendar(studentId, from != null ? from : yearBefore(end), end);
+	}
+
+	private static LocalDate yearBefore(LocalDate end) {
+		return end.minusMonths(11).withDayOfMonth(1);
+	}
+
+	@GetMapping("/rollcall")
+	public RollCall rollCall(@RequestParam Long subjectId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+		return attendanceService.getRollCall(subjectId, date != null ? date : LocalDate.now());
+	}
+
+	// Delta sync: pass the previous response's nextToken as since; omit it for a full initial sync
+	@GetMapping("/attendance/changes")
+	public ChangesPage getChanges(@RequestParam(required = false) String since,
+			@RequestParam(defaultValue = "500") int limit) {
+		return attendanceService.getChangesSince(since, limit);
 	}
 
 	@GetMapping("/attendance/today")
-	public List<Attendance> getTodayAttendance() {
-		return attendanceService.getTodayAttendance();
+	public ResponseEntity<StreamingResponseBody> getTodayAttendance(
+			@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+		return listWriter.write(accept, attendanceService::streamTodayAttendance);
 	}
 
+	// Dashboard reads come from the stale-while-revalidate layer; 503 only when nothing was ever loaded
 	@GetMapping("/dashboard/subjectCounts")
 	public Map<String, Long> subjectCounts() {
-		return attendanceService.getTodaySubjectWiseCounts();
+		return dashboardReadService.getTodaySubjectWiseCounts();
 	}
 
 	@GetMapping("/dashboard/summary")
 	public Map<String, Object> summary() {
-		return attendanceService.getDashboardSummary();
+		return dashboardReadService.getDashboardSummary();
 	}
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.example.backend.controller;
+
+import com.example.backend.service.CacheInvalidationBus;
+import com.example.backend.service.DashboardReadService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+public class CacheStatsController {
+	private static final List<String> REGIONS = List.of("users", "students", "subjects");
+
+	private final SessionFactory sessionFactory;
+	private final DashboardReadService dashboardReadService;
+	private final CacheInvalidationBus cacheInvalidationBus;
+
+	public CacheStatsController(EntityManagerFactory entityManagerFactory, DashboardReadService dashboardReadService,
+			CacheInvalidationBus cacheInvalidationBus) {
+		this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		this.dashboardReadService = dashboardReadService;
+		this.cacheInvalidationBus = cacheInvalidationBus;
+	}
+
+	@GetMapping
+	public Map<String, Object> stats() {
+		Statistics statistics = sessionFactory.getStatistics();
+		Map<String, Object> regions = new LinkedHashMap<>();
+		for (String region : REGIONS) {
+			CacheRegionStatistics rs = statistics.getDomainDataRegionStatistics(region);
+			long lookups = rs.getHitCount() + rs.getMissCount();
+			regions.put(region, Map.of(
+					"hits", rs.getHitCount(),
+					"misses", rs.getMissCount(),
+					"puts", rs.getPutCount(),
+					"hitRatio", lookups == 0 ? 0.0 : (double) rs.getHitCount() / lookups,
+					"elementsInMemory", rs.getElementCountInMemory()));
+		}
+
+		Map<String, Object> res = new LinkedHashMap<>();
+		res.put("regions", regions);
+		res.put("entityLoads", statistics.getEntityLoadCount());
+		res.put("entityFetches", statistics.getEntityFetchCount());
+		res.put("queryExecutions", statistics.getQueryExecutionCount());
+		res.put("dashboard", dashboardReadService.getStats());
+		res.put("invalidation", cacheInvalidationBus.getStats());
+		return res;
+	}
+
+	@DeleteMapping
+	public Map<String, Object> evictAll() {
+		sessionFactory.getCache().evictAllRegions();
+		dashboardReadService.clear();
+		return Map.of("evicted", true);
+	}
+}
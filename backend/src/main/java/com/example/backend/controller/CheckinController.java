@@ -0,0 +1,59 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.CheckinRequest;
+import com.example.backend.dto.MarkCommand;
+import com.example.backend.exception.NotFoundException;
+import com.example.backend.model.AttendanceStatus;
+import com.example.backend.model.User;
+import com.example.backend.repo.SubjectRepository;
+import com.example.backend.service.CheckinBuffer;
+import com.example.backend.service.CheckinTokenService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/checkin")
+public class CheckinController {
+	private final CheckinTokenService tokenService;
+	private final CheckinBuffer checkinBuffer;
+	private final SubjectRepository subjectRepository;
+
+	public CheckinController(CheckinTokenService tokenService, CheckinBuffer checkinBuffer,
+			SubjectRepository subjectRepository) {
+		this.tokenService = tokenService;
+		this.checkinBuffer = checkinBuffer;
+		this.subjectRepository = subjectRepository;
+	}
+
+	// Polled by the teacher's screen to render the current QR code. Teacher-only (HTTP Basic, see SecurityConfig);
+	// the code carries the signed-in teacher, so nobody can mint one in another teacher's name.
+	@GetMapping("/session")
+	public Map<String, Object> session(@RequestParam Long subjectId, @AuthenticationPrincipal User teacher) {
+		if (!subjectRepository.existsById(subjectId)) {
+			throw new NotFoundException("Subject not found with id: " + subjectId);
+		}
+		return Map.of(
+				"token", tokenService.issue(subjectId, teacher.getId()),
+				"rotationSeconds", tokenService.getRotationSeconds(),
+				"expiresInSeconds", tokenService.secondsUntilRotation());
+	}
+
+	// Student-only (HTTP Basic): the mark is for the signed-in student, never an id taken from the request
+	@PostMapping
+	public ResponseEntity<Map<String, String>> checkin(@Valid @RequestBody CheckinRequest request,
+			@AuthenticationPrincipal User student) {
+		CheckinTokenService.Session session = tokenService.validate(request.token());
+		checkinBuffer.submit(new MarkCommand(student.getId(), session.subjectId(), AttendanceStatus.PRESENT,
+				session.teacherId()));
+		return ResponseEntity.accepted().body(Map.of("status", "QUEUED"));
+	}
+
+	@GetMapping("/stats")
+	public Map<String, Object> stats() {
+		return checkinBuffer.getStats();
+	}
+}
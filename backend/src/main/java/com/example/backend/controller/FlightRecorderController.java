@@ -0,0 +1,65 @@
+package com.example.backend.controller;
+
+import com.example.backend.service.FlightRecorderService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+// Start a recording when latency spikes, dump it (while running or after stop) and open it in JDK Mission Control:
+//   curl -u ops:$JFR_ADMIN_PASSWORD -X POST localhost:8080/api/admin/jfr/start?settings=profile
+//   curl -u ops:$JFR_ADMIN_PASSWORD -o spike.jfr localhost:8080/api/admin/jfr/dump
+@RestController
+@RequestMapping("/api/admin/jfr")
+public class FlightRecorderController {
+	private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+	private final FlightRecorderService flightRecorderService;
+
+	public FlightRecorderController(FlightRecorderService flightRecorderService) {
+		this.flightRecorderService = flightRecorderService;
+	}
+
+	@GetMapping
+	public Map<String, Object> status() {
+		return flightRecorderService.getStatus();
+	}
+
+	// settings: a JDK configuration name ("default" or "profile")
+	@PostMapping("/start")
+	public Map<String, Object> start(@RequestParam(defaultValue = "default") String settings) {
+		return flightRecorderService.start(settings);
+	}
+
+	@PostMapping("/stop")
+	public Map<String, Object> stop() {
+		return flightRecorderService.stop();
+	}
+
+	@GetMapping("/dump")
+	public ResponseEntity<StreamingResponseBody> dump() throws IOException {
+		Path file = flightRecorderService.dump();
+		String name = "attendance-" + LocalDateTime.now().format(FILE_TIME) + ".jfr";
+		StreamingResponseBody body = out -> {
+			try {
+				Files.copy(file, out);
+			} finally {
+				Files.deleteIfExists(file);
+			}
+		};
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_OCTET_STREAM)
+				.contentLength(Files.size(file))
+				.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(name).build().toString())
+				.body(body);
+	}
+}
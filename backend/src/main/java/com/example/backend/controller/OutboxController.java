@@ -0,0 +1,28 @@
+package com.example.backend.controller;
+
+import com.example.backend.service.OutboxService;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/outbox")
+public class OutboxController {
+	private final OutboxService outboxService;
+
+	public OutboxController(OutboxService outboxService) {
+		this.outboxService = outboxService;
+	}
+
+	@GetMapping
+	public Map<String, Object> stats() {
+		return outboxService.getStats();
+	}
+
+	// Drain now instead of waiting for the next scheduled run
+	@PostMapping("/relay")
+	public Map<String, Object> relay() {
+		outboxService.relay();
+		return outboxService.getStats();
+	}
+}
@@ -0,0 +1,21 @@
+package com.example.backend.controller;
+
+import com.example.backend.service.PendingMarkService;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/pending-marks")
+public class PendingMarkController {
+	private final PendingMarkService pendingMarkService;
+
+	public PendingMarkController(PendingMarkService pendingMarkService) {
+		this.pendingMarkService = pendingMarkService;
+	}
+
+	@GetMapping
+	public Map<String, Object> stats() {
+		return pendingMarkService.getStats();
+	}
+}
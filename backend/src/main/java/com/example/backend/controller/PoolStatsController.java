@@ -0,0 +1,72 @@
+package com.example.backend.controller;
+
+import com.example.backend.reactive.R2dbcShardPools;
+import com.example.backend.tenant.TenantRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+// Live usage of the resources a blocking read holds: JDBC connections per shard, R2DBC connections per
+// shard (reactive profile only) and busy Tomcat request threads. Sampled by the read-stack benchmark.
+@RestController
+@RequestMapping("/api/admin/pools")
+public class PoolStatsController {
+	private final TenantRoutingDataSource dataSource;
+	private final ObjectProvider<R2dbcShardPools> r2dbcPools;
+	private final ApplicationContext applicationContext;
+
+	public PoolStatsController(TenantRoutingDataSource dataSource,
+			ObjectProvider<R2dbcShardPools> r2dbcPools,
+			ApplicationContext applicationContext) {
+		this.dataSource = dataSource;
+		this.r2dbcPools = r2dbcPools;
+		this.applicationContext = applicationContext;
+	}
+
+	@GetMapping
+	public Map<String, Object> stats() {
+		Map<String, Object> jdbc = new LinkedHashMap<>();
+		dataSource.getResolvedDataSources().forEach((shard, target) -> {
+			if (target instanceof HikariDataSource hikari && hikari.getHikariPoolMXBean() != null) {
+				HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+				jdbc.put(String.valueOf(shard), Map.of(
+						"active", pool.getActiveConnections(),
+						"idle", pool.getIdleConnections(),
+						"total", pool.getTotalConnections(),
+						"waiting", pool.getThreadsAwaitingConnection()));
+			}
+		});
+
+		Map<String, Object> res = new LinkedHashMap<>();
+		res.put("jdbc", jdbc);
+		R2dbcShardPools pools = r2dbcPools.getIfAvailable();
+		if (pools != null) {
+			res.put("r2dbc", pools.getStats());
+		}
+		res.put("servletThreads", servletThreads());
+		return res;
+	}
+
+	private Map<String, Object> servletThreads() {
+		if (applicationContext instanceof ServletWebServerApplicationContext context) {
+			WebServer webServer = context.getWebServer();
+			if (webServer instanceof TomcatWebServer tomcat) {
+				Executor executor = tomcat.getTomcat().getConnector().getProtocolHandler().getExecutor();
+				if (executor instanceof ThreadPoolExecutor pool) {
+					return Map.of("busy", pool.getActiveCount(), "max", pool.getMaximumPoolSize());
+				}
+			}
+		}
+		return Map.of();
+	}
+}
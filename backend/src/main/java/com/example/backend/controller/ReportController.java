@@ -0,0 +1,38 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.ReportSpec;
+import com.example.backend.exception.NotFoundException;
+import com.example.backend.service.ReportService;
+import com.example.backend.service.ReportService.ReportJob;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/reports/jobs")
+public class ReportController {
+	private final ReportService reportService;
+
+	public ReportController(ReportService reportService) {
+		this.reportService = reportService;
+	}
+
+	// Body: { "from": "2025-01-06", "to": "2025-04-04", "subjectIds": [1, 2] } (omit subjectIds for all).
+	// Returns 200 with the cached result when an identical report is already done at the current data version,
+	// otherwise 202 with a job to poll.
+	@PostMapping
+	public ResponseEntity<ReportJob> submit(@RequestBody ReportSpec spec) {
+		ReportJob job = reportService.submit(spec);
+		HttpStatus status = job.getStatus() == ReportJob.Status.DONE ? HttpStatus.OK : HttpStatus.ACCEPTED;
+		return ResponseEntity.status(status).body(job);
+	}
+
+	@GetMapping("/{id}")
+	public ReportJob get(@PathVariable String id) {
+		ReportJob job = reportService.getJob(id);
+		if (job == null) {
+			throw new NotFoundException("Report job not found or expired");
+		}
+		return job;
+	}
+}
@@ -1,53 +1,53 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.SubjectRequest;
+import com.example.backend.exception.ConflictException;
 import com.example.backend.model.Subject;
 import com.example.backend.repo.SubjectRepository;
+import com.example.backend.service.CacheInvalidationBus;
+import com.example.backend.service.DashboardReadService;
+import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/subjects")
 public class SubjectController {
 	private final SubjectRepository subjectRepository;
+	private final DashboardReadService dashboardReadService;
+	private final CacheInvalidationBus cacheInvalidationBus;
 
-	public SubjectController(SubjectRepository subjectRepository) {
+	public SubjectController(SubjectRepository subjectRepository, DashboardReadService dashboardReadService,
+			CacheInvalidationBus cacheInvalidationBus) {
 		this.subjectRepository = subjectRepository;
+		this.dashboardReadService = dashboardReadService;
+		this.cacheInvalidationBus = cacheInvalidationBus;
 	}
 
 	@GetMapping
 	public List<Subject> getAllSubjects() {
-		return subjectRepository.findAllOrderedByName();
+		return dashboardReadService.getSubjects();
 	}
 
 	@PostMapping
-	public ResponseEntity<?> create(@RequestBody Map<String, String> body) {
-		try {
-			String name = body.getOrDefault("name", "").trim();
-			String code = body.getOrDefault("code", "").trim();
-
-			if (name.isEmpty()) {
-				return ResponseEntity.badRequest().body(Map.of("error", "Name is required"));
-			}
-
-			if (subjectRepository.findByName(name).isPresent()) {
-				return ResponseEntity.badRequest().body(Map.of("error", "Subject with this name already exists"));
-			}
-
-			if (!code.isEmpty() && subjectRepository.findByCode(code).isPresent()) {
-				return ResponseEntity.badRequest().body(Map.of("error", "Subject with this code already exists"));
-			}
-
-			Subject subject = new Subject();
-			subject.setName(name);
-			subject.setCode(code.isEmpty() ? null : code);
-
-			return ResponseEntity.ok(subjectRepository.save(subject));
-		} catch (Exception e) {
-			return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+	public Subject create(@Valid @RequestBody SubjectRequest request) {
+		if (subjectRepository.findByName(request.name()).isPresent()) {
+			throw new ConflictException("Subject with this name already exists");
 		}
+		if (request.code() != null && subjectRepository.findByCode(request.code()).isPresent()) {
+			throw new ConflictException("Subject with this code already exists");
+		}
+
+		Subject subject = new Subject();
+		subject.setName(request.name());
+		subject.setCode(request.code());
+
+		Subject saved = subjectRepository.save(subject);
+		dashboardReadService.subjectsChanged();
+		cacheInvalidationBus.subjectsChanged();
+		return saved;
 	}
 
 	@GetMapping("/{id}")
@@ -0,0 +1,27 @@
+package com.example.backend.controller;
+
+import com.example.backend.tenant.TenantContext;
+import com.example.backend.tenant.TenantRegistry;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/tenants")
+public class TenantController {
+	private final TenantRegistry tenantRegistry;
+
+	public TenantController(TenantRegistry tenantRegistry) {
+		this.tenantRegistry = tenantRegistry;
+	}
+
+	@GetMapping
+	public Map<String, Object> tenants() {
+		Map<String, Object> res = new LinkedHashMap<>();
+		res.put("current", TenantContext.get());
+		res.put("defaultTenant", tenantRegistry.getDefaultTenant());
+		res.put("shardByTenant", tenantRegistry.getShardByTenant());
+		return res;
+	}
+}
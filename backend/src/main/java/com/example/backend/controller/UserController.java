@@ -1,26 +1,33 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.UserRequest;
+import com.example.backend.dto.UserResponse;
 import com.example.backend.model.User;
-import com.example.backend.model.UserRole;
+import com.example.backend.service.StreamingListWriter;
 import com.example.backend.service.UserService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
     private final UserService userService;
+    private final StreamingListWriter listWriter;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, StreamingListWriter listWriter) {
         this.userService = userService;
+        this.listWriter = listWriter;
     }
 
     @GetMapping("/students")
-    public List<User> getAllStudents() {
-        return userService.getAllStudents();
+    public ResponseEntity<StreamingResponseBody> getAllStudents(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return listWriter.write(accept, userService::streamAllStudents);
     }
 
     @GetMapping("/teachers")
@@ -29,35 +36,13 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getUser(@PathVariable Long id) {
-        try {
-            User user = userService.getUserById(id);
-            return ResponseEntity.ok(user);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
-        }
+    public User getUser(@PathVariable Long id) {
+        return userService.getUserById(id);
     }
 
     @PostMapping
-    public ResponseEntity<?> createUser(@RequestBody Map<String, String> body) {
-        try {
-            String username = body.getOrDefault("username", "");
-            String password = body.getOrDefault("password", "");
-            String roleStr = body.getOrDefault("role", "STUDENT");
-            String name = body.getOrDefault("name", username);
-            String email = body.getOrDefault("email", "");
-
-            UserRole role = UserRole.valueOf(roleStr.toUpperCase());
-            User user = userService.createUser(username, password, role, name, email);
-
-            return ResponseEntity.ok(Map.of(
-                    "id", user.getId(),
-                    "username", user.getUsername(),
-                    "role", user.getRole().name(),
-                    "name", user.getName(),
-                    "email", user.getEmail()));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
-        }
+    public UserResponse createUser(@Valid @RequestBody UserRequest request) {
+        return UserResponse.from(userService.createUser(request.username(), request.password(), request.role(),
+                request.name(), request.email()));
     }
 }
\ No newline at end of file
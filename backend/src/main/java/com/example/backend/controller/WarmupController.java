@@ -0,0 +1,21 @@
+package com.example.backend.controller;
+
+import com.example.backend.config.StartupWarmup;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/warmup")
+public class WarmupController {
+	private final StartupWarmup startupWarmup;
+
+	public WarmupController(StartupWarmup startupWarmup) {
+		this.startupWarmup = startupWarmup;
+	}
+
+	@GetMapping
+	public Map<String, Object> report() {
+		return startupWarmup.getReport();
+	}
+}
@@ -0,0 +1,11 @@
+package com.example.backend.dto;
+
+import java.time.LocalDate;
+
+// Columnar heatmap for one student: present[i] of marked[i] subjects on from.plusDays(i)
+public record AttendanceCalendar(Long studentId,
+		LocalDate from,
+		LocalDate to,
+		int[] present,
+		int[] marked) {
+}
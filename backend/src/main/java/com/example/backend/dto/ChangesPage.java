@@ -0,0 +1,9 @@
+package com.example.backend.dto;
+
+import com.example.backend.model.Attendance;
+
+import java.util.List;
+
+// Pass nextToken as "since" on the next call; keep calling while hasMore is true
+public record ChangesPage(List<Attendance> changes, String nextToken, boolean hasMore) {
+}
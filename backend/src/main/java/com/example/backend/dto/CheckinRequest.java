@@ -0,0 +1,7 @@
+package com.example.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+// The student is the signed-in user, see CheckinController
+public record CheckinRequest(@NotBlank(message = "token is required") String token) {
+}
@@ -0,0 +1,5 @@
+package com.example.backend.dto;
+
+// Body of every error response: { "error": "..." }, which the frontend shows as is
+public record ErrorResponse(String error) {
+}
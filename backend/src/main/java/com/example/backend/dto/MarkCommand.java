@@ -0,0 +1,15 @@
+package com.example.backend.dto;
+
+import com.example.backend.model.AttendanceStatus;
+
+import java.time.LocalDateTime;
+
+// One attendance mark queued for a batched write. markedAt is set when the mark is written later than it
+// was taken (replay from the write-ahead log); null means now.
+public record MarkCommand(Long studentId, Long subjectId, AttendanceStatus status, Long teacherId,
+		LocalDateTime markedAt) {
+
+	public MarkCommand(Long studentId, Long subjectId, AttendanceStatus status, Long teacherId) {
+		this(studentId, subjectId, status, teacherId, null);
+	}
+}
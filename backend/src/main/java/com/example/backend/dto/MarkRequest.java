@@ -0,0 +1,12 @@
+package com.example.backend.dto;
+
+import com.example.backend.model.AttendanceStatus;
+import jakarta.validation.constraints.NotNull;
+
+// Body of /api/attendance/mark. The frontend sends the ids as strings; Jackson coerces them to Long.
+public record MarkRequest(
+		@NotNull(message = "studentId is required") Long studentId,
+		@NotNull(message = "subjectId is required") Long subjectId,
+		@NotNull(message = "status is required") AttendanceStatus status,
+		@NotNull(message = "teacherId is required") Long teacherId) {
+}
@@ -0,0 +1,8 @@
+package com.example.backend.dto;
+
+import java.time.YearMonth;
+
+// One subject's month, one character per day: 'P' = PRESENT, 'A' = ABSENT, '-' = not marked
+// (days.charAt(0) is the 1st). Same codes as RollCall.statuses.
+public record MonthlyAttendance(Long subjectId, YearMonth month, String days) {
+}
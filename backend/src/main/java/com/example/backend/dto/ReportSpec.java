@@ -0,0 +1,14 @@
+package com.example.backend.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// What a term report covers. An empty subject list means every subject. Use normalized() before
+// comparing specs so equivalent requests share one cache entry.
+public record ReportSpec(LocalDate from, LocalDate to, List<Long> subjectIds) {
+
+	public ReportSpec normalized() {
+		List<Long> ids = subjectIds == null ? List.of() : subjectIds.stream().distinct().sorted().toList();
+		return new ReportSpec(from, to, ids);
+	}
+}
@@ -0,0 +1,12 @@
+package com.example.backend.dto;
+
+import java.time.LocalDate;
+
+// Columnar roll-call payload: ids[i], usernames[i] and statuses.charAt(i) describe the same student.
+// Status codes: 'P' = PRESENT, 'A' = ABSENT, '-' = not marked yet.
+public record RollCall(Long subjectId,
+		LocalDate date,
+		long[] ids,
+		String[] usernames,
+		String statuses) {
+}
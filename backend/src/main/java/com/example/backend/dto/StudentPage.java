@@ -0,0 +1,7 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+// One page of directory results; pass nextCursor back to get the following page (null when done)
+public record StudentPage(List<StudentSummary> items, String nextCursor) {
+}
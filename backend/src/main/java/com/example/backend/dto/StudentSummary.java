@@ -0,0 +1,4 @@
+package com.example.backend.dto;
+
+public record StudentSummary(Long id, String username, String name, String email) {
+}
@@ -0,0 +1,5 @@
+package com.example.backend.dto;
+
+// present of total marked sessions in the requested range; percentage is 0..1 like TermReport
+public record SubjectPercentage(Long subjectId, long present, long total, double percentage) {
+}
@@ -0,0 +1,12 @@
+package com.example.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+// Name and code arrive trimmed; a blank code means the subject has none
+public record SubjectRequest(@NotBlank(message = "Name is required") String name, String code) {
+
+	public SubjectRequest {
+		name = name == null ? null : name.trim();
+		code = code == null || code.isBlank() ? null : code.trim();
+	}
+}
@@ -0,0 +1,15 @@
+package com.example.backend.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// dataVersion is the attendance change sequence the report was computed at
+public record TermReport(LocalDate from, LocalDate to, long dataVersion, List<SubjectReport> subjects) {
+
+	public record SubjectReport(Long subjectId, String subjectName, int sessions, long present, long total,
+			List<StudentLine> students) {
+	}
+
+	public record StudentLine(Long studentId, String username, long present, long total, double percentage) {
+	}
+}
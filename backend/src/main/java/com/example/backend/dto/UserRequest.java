@@ -0,0 +1,25 @@
+package com.example.backend.dto;
+
+import com.example.backend.model.UserRole;
+import jakarta.validation.constraints.NotBlank;
+
+// Body of /api/auth/register and POST /api/users; role defaults to STUDENT and name to the username
+public record UserRequest(
+		@NotBlank(message = "username is required") String username,
+		@NotBlank(message = "password is required") String password,
+		UserRole role,
+		String name,
+		String email) {
+
+	public UserRequest {
+		if (role == null) {
+			role = UserRole.STUDENT;
+		}
+		if (name == null) {
+			name = username;
+		}
+		if (email == null) {
+			email = "";
+		}
+	}
+}
@@ -0,0 +1,14 @@
+package com.example.backend.dto;
+
+import com.example.backend.model.User;
+import com.example.backend.model.UserRole;
+
+// An account as the auth and user endpoints return it; name and email are never null
+public record UserResponse(Long id, String username, UserRole role, String name, String email) {
+
+	public static UserResponse from(User user) {
+		return new UserResponse(user.getId(), user.getUsername(), user.getRole(),
+				user.getName() != null ? user.getName() : user.getUsername(),
+				user.getEmail() != null ? user.getEmail() : "");
+	}
+}
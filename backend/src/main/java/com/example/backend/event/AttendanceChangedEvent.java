@@ -0,0 +1,23 @@
+package com.example.backend.event;
+
+import com.example.backend.model.AttendanceStatus;
+
+import java.time.LocalDate;
+
+// Published whenever an attendance row is created or its status changes.
+// previousStatus is null when the row did not exist before this change.
+public record AttendanceChangedEvent(Long attendanceId,
+		Long studentId,
+		Long subjectId,
+		LocalDate date,
+		AttendanceStatus previousStatus,
+		AttendanceStatus status) {
+
+	public boolean isNewRecord() {
+		return previousStatus == null;
+	}
+
+	public boolean isStatusChange() {
+		return previousStatus != status;
+	}
+}
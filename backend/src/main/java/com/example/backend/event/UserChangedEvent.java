@@ -0,0 +1,5 @@
+package com.example.backend.event;
+
+// Published when a user is created, updated or deleted
+public record UserChangedEvent(Long userId) {
+}
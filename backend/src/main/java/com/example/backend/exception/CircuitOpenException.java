@@ -0,0 +1,8 @@
+package com.example.backend.exception;
+
+// Thrown instead of calling a dependency whose circuit breaker is open
+public class CircuitOpenException extends DomainException {
+	public CircuitOpenException(String name) {
+		super("Circuit '" + name + "' is open");
+	}
+}
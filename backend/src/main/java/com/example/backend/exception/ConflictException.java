@@ -0,0 +1,8 @@
+package com.example.backend.exception;
+
+// The request would duplicate something unique, such as a username or subject name
+public class ConflictException extends DomainException {
+	public ConflictException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,10 @@
+package com.example.backend.exception;
+
+// Expected failures that are part of normal traffic (unknown ids, bad input, wrong passwords, shed load).
+// They carry no stack trace: filling one walks the whole servlet stack and costs more than the rest of a
+// rejected request. ApiExceptionHandler maps each subtype to its HTTP status.
+public abstract class DomainException extends RuntimeException {
+	protected DomainException(String message) {
+		super(message, null, false, false);
+	}
+}
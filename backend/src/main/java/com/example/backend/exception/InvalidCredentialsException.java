@@ -0,0 +1,8 @@
+package com.example.backend.exception;
+
+// Login with an unknown username or a wrong password
+public class InvalidCredentialsException extends DomainException {
+	public InvalidCredentialsException(String message) {
+		super(message);
+	}
+}
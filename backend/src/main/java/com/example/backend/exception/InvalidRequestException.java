@@ -0,0 +1,8 @@
+package com.example.backend.exception;
+
+// Input that passed binding but makes no sense: bad cursors and tokens, inverted or oversized ranges
+public class InvalidRequestException extends DomainException {
+	public InvalidRequestException(String message) {
+		super(message);
+	}
+}
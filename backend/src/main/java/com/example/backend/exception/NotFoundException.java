@@ -0,0 +1,8 @@
+package com.example.backend.exception;
+
+// A referenced student, subject, user or job does not exist (in the caller's tenant)
+public class NotFoundException extends DomainException {
+	public NotFoundException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,15 @@
+package com.example.backend.exception;
+
+// Thrown when a bounded worker pool rejects work; callers should retry after a short delay
+public class ServiceBusyException extends DomainException {
+	private final int retryAfterSeconds;
+
+	public ServiceBusyException(String message, int retryAfterSeconds) {
+		super(message);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	public int getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
@@ -0,0 +1,38 @@
+package com.example.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// One AttendanceService.markAttendance call. The duration excludes the commit, which the
+// transactional proxy runs after the method returns.
+@Name("com.example.attendance.Mark")
+@Label("Attendance Mark")
+@Category({ "Attendance App", "Attendance" })
+@Description("A teacher marking one student present or absent")
+@StackTrace(false)
+public class AttendanceMarkEvent extends jdk.jfr.Event {
+	@Label("Tenant")
+	public String tenant;
+
+	@Label("Student Id")
+	public long studentId;
+
+	@Label("Subject Id")
+	public long subjectId;
+
+	@Label("Teacher Id")
+	public long teacherId;
+
+	@Label("Status")
+	public String status;
+
+	@Label("Previous Status")
+	@Description("Empty when the mark created the row")
+	public String previousStatus;
+
+	@Label("Succeeded")
+	public boolean succeeded;
+}
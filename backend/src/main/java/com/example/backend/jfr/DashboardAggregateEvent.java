@@ -0,0 +1,24 @@
+package com.example.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// One database load of a dashboard aggregate (cache hits in DashboardReadService emit nothing)
+@Name("com.example.attendance.DashboardAggregate")
+@Label("Dashboard Aggregate")
+@Category({ "Attendance App", "Dashboard" })
+@Description("Computing today's dashboard summary or per-subject counts from the database")
+@StackTrace(false)
+public class DashboardAggregateEvent extends jdk.jfr.Event {
+	@Label("Tenant")
+	public String tenant;
+
+	@Label("Aggregate")
+	public String aggregate;
+
+	@Label("Subjects")
+	public int subjects;
+}
@@ -0,0 +1,29 @@
+package com.example.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// One AuthService login, including the wait for the hashing pool
+@Name("com.example.attendance.Login")
+@Label("Login")
+@Category({ "Attendance App", "Auth" })
+@Description("A login or auto-registration attempt")
+@StackTrace(false)
+public class LoginEvent extends jdk.jfr.Event {
+	@Label("Tenant")
+	public String tenant;
+
+	@Label("User Id")
+	@Description("0 when the username is unknown")
+	public long userId;
+
+	@Label("Outcome")
+	@Description("ok, registered, unknown-user, invalid-password or failed")
+	public String outcome;
+
+	@Label("Rehashed")
+	public boolean rehashed;
+}
@@ -0,0 +1,30 @@
+package com.example.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timestamp;
+
+// One tenant's pass of AttendanceResetScheduler, transaction included
+@Name("com.example.attendance.PresenceReset")
+@Label("Presence Reset")
+@Category({ "Attendance App", "Scheduler" })
+@Description("Resetting PRESENT rows older than the presence TTL to ABSENT")
+@StackTrace(false)
+public class PresenceResetEvent extends jdk.jfr.Event {
+	@Label("Tenant")
+	public String tenant;
+
+	@Label("Cutoff")
+	@Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+	public long cutoff;
+
+	@Label("Rows Reset")
+	public int rowsReset;
+
+	@Label("First Change Sequence")
+	@Description("The reset rows carry changeSeq values firstChangeSeq .. firstChangeSeq + rowsReset - 1; 0 when nothing was reset")
+	public long firstChangeSeq;
+}
@@ -1,18 +1,32 @@
 package com.example.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.TenantId;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "attendance", uniqueConstraints = {
 		@UniqueConstraint(columnNames = { "student_id", "subject_id", "attendance_date" })
+}, indexes = {
+		// Keep in sync with db/migration/V3__attendance_indexes.sql
+		@Index(name = "idx_attendance_date_status", columnList = "attendance_date, status, subject_id, student_id"),
+		@Index(name = "idx_attendance_subject_date", columnList = "subject_id, attendance_date"),
+		@Index(name = "idx_attendance_student_date", columnList = "student_id, attendance_date"),
+		@Index(name = "idx_attendance_status_marked_at", columnList = "status, marked_at"),
+		@Index(name = "idx_attendance_change_seq", columnList = "change_seq, id")
 })
 public class Attendance {
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 
+	@TenantId
+	@Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+	@JsonIgnore
+	private String tenantId; // set by Hibernate from the current tenant
+
 	@ManyToOne(optional = false)
 	@JoinColumn(name = "student_id")
 	private Student student;
@@ -31,13 +45,16 @@ public class Attendance {
 	@Column(name = "marked_at")
 	private LocalDateTime markedAt; // when set to PRESENT
 
-	@ManyToOne(optional = false)
+	@ManyToOne
 	@JoinColumn(name = "marked_by")
-	private User markedBy; // Which teacher marked the attendance
+	private User markedBy; // Which teacher marked the attendance; null on rows the rollover job created
 
 	@Column(name = "updated_at")
 	private LocalDateTime updatedAt = LocalDateTime.now();
 
+	@Column(name = "change_seq")
+	private Long changeSeq; // position in the changes feed, bumped on every status change
+
 	@PreUpdate
 	public void onUpdate() {
 		this.updatedAt = LocalDateTime.now();
@@ -133,4 +150,16 @@ public class Attendance {
 	public void setUpdatedAt(LocalDateTime updatedAt) {
 		this.updatedAt = updatedAt;
 	}
-}
\ No newline at end of file
+
+	public Long getChangeSeq() {
+		return changeSeq;
+	}
+
+	public void setChangeSeq(Long changeSeq) {
+		this.changeSeq = changeSeq;
+	}
+
+	public String getTenantId() {
+		return tenantId;
+	}
+}
@@ -0,0 +1,107 @@
+package com.example.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.hibernate.annotations.TenantId;
+import java.time.LocalDateTime;
+
+// Raised when a student's attendance in a subject drops below the configured threshold
+@Entity
+@Table(name = "attendance_alerts")
+public class AttendanceAlert {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@TenantId
+	@Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+	@JsonIgnore
+	private String tenantId; // set by Hibernate from the current tenant
+
+	@ManyToOne(optional = false)
+	@JoinColumn(name = "student_id")
+	private Student student;
+
+	@ManyToOne(optional = false)
+	@JoinColumn(name = "subject_id")
+	private Subject subject;
+
+	@Column(name = "present_count", nullable = false)
+	private long presentCount;
+
+	@Column(name = "total_count", nullable = false)
+	private long totalCount;
+
+	@Column(name = "raised_at", nullable = false)
+	private LocalDateTime raisedAt = LocalDateTime.now();
+
+	@Column(name = "resolved_at")
+	private LocalDateTime resolvedAt; // set once attendance recovers above the threshold
+
+	public AttendanceAlert() {
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Student getStudent() {
+		return student;
+	}
+
+	public void setStudent(Student student) {
+		this.student = student;
+	}
+
+	public Subject getSubject() {
+		return subject;
+	}
+
+	public void setSubject(Subject subject) {
+		this.subject = subject;
+	}
+
+	public long getPresentCount() {
+		return presentCount;
+	}
+
+	public void setPresentCount(long presentCount) {
+		this.presentCount = presentCount;
+	}
+
+	public long getTotalCount() {
+		return totalCount;
+	}
+
+	public void setTotalCount(long totalCount) {
+		this.totalCount = totalCount;
+	}
+
+	public double getPercentage() {
+		return totalCount == 0 ? 0.0 : presentCount * 100.0 / totalCount;
+	}
+
+	public LocalDateTime getRaisedAt() {
+		return raisedAt;
+	}
+
+	public void setRaisedAt(LocalDateTime raisedAt) {
+		this.raisedAt = raisedAt;
+	}
+
+	public LocalDateTime getResolvedAt() {
+		return resolvedAt;
+	}
+
+	public void setResolvedAt(LocalDateTime resolvedAt) {
+		this.resolvedAt = resolvedAt;
+	}
+
+	public String getTenantId() {
+		return tenantId;
+	}
+}
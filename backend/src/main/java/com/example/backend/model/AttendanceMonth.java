@@ -0,0 +1,88 @@
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+// One student's attendance in one subject for one calendar month, packed into two bitsets:
+// bit (day - 1) of markedDays is set when the day was marked, the same bit of presentDays when
+// the student was present. Maintained alongside the detailed attendance rows.
+@Entity
+@Table(name = "attendance_months", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_attendance_months", columnNames = { "student_id", "month_start", "subject_id" })
+})
+public class AttendanceMonth {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "student_id", nullable = false)
+	private Long studentId;
+
+	@Column(name = "subject_id", nullable = false)
+	private Long subjectId;
+
+	@Column(name = "month_start", nullable = false)
+	private LocalDate monthStart;
+
+	@Column(name = "marked_days", nullable = false)
+	private int markedDays;
+
+	@Column(name = "present_days", nullable = false)
+	private int presentDays;
+
+	public AttendanceMonth() {
+	}
+
+	public static int dayBit(LocalDate date) {
+		return 1 << (date.getDayOfMonth() - 1);
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getStudentId() {
+		return studentId;
+	}
+
+	public void setStudentId(Long studentId) {
+		this.studentId = studentId;
+	}
+
+	public Long getSubjectId() {
+		return subjectId;
+	}
+
+	public void setSubjectId(Long subjectId) {
+		this.subjectId = subjectId;
+	}
+
+	public LocalDate getMonthStart() {
+		return monthStart;
+	}
+
+	public void setMonthStart(LocalDate monthStart) {
+		this.monthStart = monthStart;
+	}
+
+	public int getMarkedDays() {
+		return markedDays;
+	}
+
+	public void setMarkedDays(int markedDays) {
+		this.markedDays = markedDays;
+	}
+
+	public int getPresentDays() {
+		return presentDays;
+	}
+
+	public void setPresentDays(int presentDays) {
+		this.presentDays = presentDays;
+	}
+}
@@ -0,0 +1,69 @@
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+
+// Running per-student, per-subject counters maintained incrementally from attendance changes
+@Entity
+@Table(name = "attendance_tallies", uniqueConstraints = {
+		@UniqueConstraint(columnNames = { "student_id", "subject_id" })
+})
+public class AttendanceTally {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "student_id", nullable = false)
+	private Long studentId;
+
+	@Column(name = "subject_id", nullable = false)
+	private Long subjectId;
+
+	@Column(name = "present_count", nullable = false)
+	private long presentCount;
+
+	@Column(name = "total_count", nullable = false)
+	private long totalCount;
+
+	public AttendanceTally() {
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getStudentId() {
+		return studentId;
+	}
+
+	public void setStudentId(Long studentId) {
+		this.studentId = studentId;
+	}
+
+	public Long getSubjectId() {
+		return subjectId;
+	}
+
+	public void setSubjectId(Long subjectId) {
+		this.subjectId = subjectId;
+	}
+
+	public long getPresentCount() {
+		return presentCount;
+	}
+
+	public void setPresentCount(long presentCount) {
+		this.presentCount = presentCount;
+	}
+
+	public long getTotalCount() {
+		return totalCount;
+	}
+
+	public void setTotalCount(long totalCount) {
+		this.totalCount = totalCount;
+	}
+}
@@ -0,0 +1,60 @@
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.TenantId;
+import java.time.LocalDateTime;
+
+// Version of one entity type's data for a tenant. Any instance that changes the data bumps it; the others
+// poll the versions and drop their cached copies when one moves. origin is the instance that bumped last.
+@Entity
+@Table(name = "cache_versions", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_cache_versions_tenant_entity", columnNames = { "tenant_id", "entity" })
+})
+public class CacheVersion {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@TenantId
+	@Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+	private String tenantId; // set by Hibernate from the current tenant
+
+	@Column(nullable = false, length = 32)
+	private String entity;
+
+	@Column(nullable = false)
+	private long version;
+
+	@Column(nullable = false, length = 64)
+	private String origin;
+
+	@Column(name = "updated_at", nullable = false)
+	private LocalDateTime updatedAt;
+
+	public CacheVersion() {
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getTenantId() {
+		return tenantId;
+	}
+
+	public String getEntity() {
+		return entity;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public String getOrigin() {
+		return origin;
+	}
+
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+}
@@ -0,0 +1,40 @@
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+
+// Named monotonically increasing counter. Writers lock the row while allocating, so values
+// become visible in commit order and a reader never skips a value that commits later.
+@Entity
+@Table(name = "change_sequences")
+public class ChangeSequence {
+	@Id
+	@Column(length = 96) // room for per-tenant names such as "outbox_relay:<tenant>"
+	private String name;
+
+	@Column(name = "current_value", nullable = false)
+	private long value;
+
+	public ChangeSequence() {
+	}
+
+	public ChangeSequence(String name, long value) {
+		this.name = name;
+		this.value = value;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public long getValue() {
+		return value;
+	}
+
+	public void setValue(long value) {
+		this.value = value;
+	}
+}
@@ -0,0 +1,86 @@
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.TenantId;
+import java.time.LocalDateTime;
+
+// Change event written in the same transaction as the attendance row it describes. The relay
+// publishes rows in id order and tracks its position in change_sequences ("outbox_relay").
+@Entity
+@Table(name = "outbox_events", indexes = {
+		@Index(name = "idx_outbox_events_tenant", columnList = "tenant_id, id")
+})
+public class OutboxEvent {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@TenantId
+	@Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+	private String tenantId; // set by Hibernate from the current tenant
+
+	@Column(name = "aggregate_id", nullable = false)
+	private Long aggregateId; // student id; consumers partition on it
+
+	@Column(name = "event_type", nullable = false, length = 64)
+	private String eventType;
+
+	@Column(nullable = false, columnDefinition = "TEXT")
+	private String payload;
+
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt = LocalDateTime.now();
+
+	public OutboxEvent() {
+	}
+
+	public OutboxEvent(Long aggregateId, String eventType, String payload) {
+		this.aggregateId = aggregateId;
+		this.eventType = eventType;
+		this.payload = payload;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getAggregateId() {
+		return aggregateId;
+	}
+
+	public void setAggregateId(Long aggregateId) {
+		this.aggregateId = aggregateId;
+	}
+
+	public String getEventType() {
+		return eventType;
+	}
+
+	public void setEventType(String eventType) {
+		this.eventType = eventType;
+	}
+
+	public String getPayload() {
+		return payload;
+	}
+
+	public void setPayload(String payload) {
+		this.payload = payload;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public String getTenantId() {
+		return tenantId;
+	}
+}
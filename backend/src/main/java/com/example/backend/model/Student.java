@@ -1,27 +1,49 @@
 package com.example.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.TenantId;
 import java.time.LocalDateTime;
 
+// A student shares its primary key with its User row (students.user_id -> users.id)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "students")
 @Table(name = "students")
 public class Student {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 
-	@Column(nullable = false, unique = true)
-	private String username;
+	@TenantId
+	@Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+	@JsonIgnore
+	private String tenantId; // set by Hibernate from the current tenant
+
+	@MapsId
+	@OneToOne(optional = false)
+	@JoinColumn(name = "user_id")
+	@JsonIgnore
+	private User user;
 
 	@Column(nullable = false)
 	private LocalDateTime createdAt = LocalDateTime.now();
 
+	public Student() {
+	}
+
+	public Student(User user) {
+		this.user = user;
+	}
+
 	public Long getId() { return id; }
 	public void setId(Long id) { this.id = id; }
-	public String getUsername() { return username; }
-	public void setUsername(String username) { this.username = username; }
+	public User getUser() { return user; }
+	public void setUser(User user) { this.user = user; }
+	public String getUsername() { return user != null ? user.getUsername() : null; }
 	public LocalDateTime getCreatedAt() { return createdAt; }
 	public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
-}
-
 
+	public String getTenantId() { return tenantId; }
+}
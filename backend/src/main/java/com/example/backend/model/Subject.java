@@ -1,18 +1,31 @@
 package com.example.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.TenantId;
 
 @Entity
-@Table(name = "subjects")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "subjects")
+@Table(name = "subjects", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_subjects_tenant_name", columnNames = { "tenant_id", "name" }),
+		@UniqueConstraint(name = "uk_subjects_tenant_code", columnNames = { "tenant_id", "code" })
+})
 public class Subject {
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 
-	@Column(nullable = false, unique = true)
+	@TenantId
+	@Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+	@JsonIgnore
+	private String tenantId; // set by Hibernate from the current tenant
+
+	@Column(nullable = false)
 	private String name;
 
-	@Column(unique = true)
 	private String code; // Subject code like "MATH101"
 
 	// Constructors
@@ -48,4 +61,8 @@ public class Subject {
 	public void setCode(String code) {
 		this.code = code;
 	}
-}
\ No newline at end of file
+
+	public String getTenantId() {
+		return tenantId;
+	}
+}
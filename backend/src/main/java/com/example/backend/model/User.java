@@ -1,10 +1,19 @@
 package com.example.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.TenantId;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@Table(name = "users", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_users_tenant_username", columnNames = { "tenant_id", "username" })
+})
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "user_type", discriminatorType = DiscriminatorType.STRING)
 public class User {
@@ -12,11 +21,17 @@ public class User {
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 
-	@Column(unique = true, nullable = false)
-	private String username;
+	@TenantId
+	@Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+	@JsonIgnore
+	private String tenantId; // set by Hibernate from the current tenant
 
 	@Column(nullable = false)
-	private String password; // Will be hashed
+	private String username; // unique per tenant
+
+	@Column(nullable = false)
+	@JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+	private String password; // BCrypt hash; legacy plaintext rows are rehashed on login
 
 	@Column(nullable = false)
 	@Enumerated(EnumType.STRING)
@@ -97,4 +112,8 @@ public class User {
 	public void setCreatedAt(LocalDateTime createdAt) {
 		this.createdAt = createdAt;
 	}
-}
\ No newline at end of file
+
+	public String getTenantId() {
+		return tenantId;
+	}
+}
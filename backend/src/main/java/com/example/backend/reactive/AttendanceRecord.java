@@ -0,0 +1,23 @@
+package com.example.backend.reactive;
+
+import com.example.backend.model.AttendanceStatus;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Read-only R2DBC view of the attendance table; the endpoints return AttendanceView rows joined in SQL
+@Table("attendance")
+public record AttendanceRecord(@Id Long id,
+		String tenantId,
+		Long studentId,
+		Long subjectId,
+		AttendanceStatus status,
+		@Column("attendance_date") LocalDate date,
+		LocalDateTime markedAt,
+		Long markedBy,
+		LocalDateTime updatedAt,
+		Long changeSeq) {
+}
@@ -0,0 +1,64 @@
+package com.example.backend.reactive;
+
+import com.example.backend.model.AttendanceStatus;
+import com.example.backend.model.UserRole;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Same JSON shape as a serialized JPA Attendance (nested student, subject and markedBy), built from one
+// joined row instead of lazy loads
+public record AttendanceView(Long id,
+		StudentRef student,
+		SubjectRef subject,
+		AttendanceStatus status,
+		LocalDate date,
+		LocalDateTime markedAt,
+		UserRef markedBy,
+		LocalDateTime updatedAt,
+		Long changeSeq) {
+
+	public record StudentRef(Long id, String username, LocalDateTime createdAt) {
+	}
+
+	public record SubjectRef(Long id, String name, String code) {
+	}
+
+	public record UserRef(Long id, String username, UserRole role, String name, String email,
+			LocalDateTime createdAt) {
+	}
+
+	// Column aliases of the history queries in ReactiveAttendanceRepository
+	public record Row(Long id,
+			AttendanceStatus status,
+			LocalDate attendanceDate,
+			LocalDateTime markedAt,
+			LocalDateTime updatedAt,
+			Long changeSeq,
+			Long studentId,
+			String studentUsername,
+			LocalDateTime studentCreatedAt,
+			Long subjectId,
+			String subjectName,
+			String subjectCode,
+			Long teacherId,
+			String teacherUsername,
+			UserRole teacherRole,
+			String teacherName,
+			String teacherEmail,
+			LocalDateTime teacherCreatedAt) {
+	}
+
+	static AttendanceView from(Row row) {
+		return new AttendanceView(row.id(),
+				new StudentRef(row.studentId(), row.studentUsername(), row.studentCreatedAt()),
+				new SubjectRef(row.subjectId(), row.subjectName(), row.subjectCode()),
+				row.status(),
+				row.attendanceDate(),
+				row.markedAt(),
+				row.teacherId() == null ? null : new UserRef(row.teacherId(), row.teacherUsername(), row.teacherRole(),
+						row.teacherName(), row.teacherEmail(), row.teacherCreatedAt()),
+				row.updatedAt(),
+				row.changeSeq());
+	}
+}
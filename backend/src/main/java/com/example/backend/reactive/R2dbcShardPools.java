@@ -0,0 +1,42 @@
+package com.example.backend.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import jakarta.annotation.PreDestroy;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// The reactive stack's connection pools, by shard
+public class R2dbcShardPools {
+	private final Map<String, ConnectionPool> pools;
+
+	public R2dbcShardPools(Map<String, ConnectionPool> pools) {
+		this.pools = pools;
+	}
+
+	public Map<String, ConnectionPool> getPools() {
+		return pools;
+	}
+
+	public Map<String, Object> getStats() {
+		Map<String, Object> res = new LinkedHashMap<>();
+		pools.forEach((shard, pool) -> pool.getMetrics().ifPresent(metrics -> res.put(shard, stats(metrics))));
+		return res;
+	}
+
+	private static Map<String, Object> stats(PoolMetrics metrics) {
+		Map<String, Object> res = new LinkedHashMap<>();
+		res.put("acquired", metrics.acquiredSize());
+		res.put("idle", metrics.idleSize());
+		res.put("allocated", metrics.allocatedSize());
+		res.put("pending", metrics.pendingAcquireSize());
+		res.put("max", metrics.getMaxAllocatedSize());
+		return res;
+	}
+
+	@PreDestroy
+	public void close() {
+		pools.values().forEach(ConnectionPool::dispose);
+	}
+}
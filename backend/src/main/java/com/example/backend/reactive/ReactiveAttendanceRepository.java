@@ -0,0 +1,45 @@
+package com.example.backend.reactive;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+// Native SQL twins of the JPA dashboard and history queries; each one filters on tenant_id explicitly
+public interface ReactiveAttendanceRepository extends R2dbcRepository<AttendanceRecord, Long> {
+
+	String VIEW_SELECT = "SELECT a.id, a.status, a.attendance_date, a.marked_at, a.updated_at, a.change_seq, "
+			+ "st.user_id AS student_id, su.username AS student_username, st.created_at AS student_created_at, "
+			+ "s.id AS subject_id, s.name AS subject_name, s.code AS subject_code, "
+			+ "t.id AS teacher_id, t.username AS teacher_username, t.role AS teacher_role, t.name AS teacher_name, "
+			+ "t.email AS teacher_email, t.created_at AS teacher_created_at "
+			+ "FROM attendance a "
+			+ "JOIN students st ON st.user_id = a.student_id "
+			+ "JOIN users su ON su.id = st.user_id "
+			+ "JOIN subjects s ON s.id = a.subject_id "
+			+ "LEFT JOIN users t ON t.id = a.marked_by ";
+
+	@Query(VIEW_SELECT + "WHERE a.tenant_id = :tenantId AND a.student_id = :studentId ORDER BY a.attendance_date, a.id")
+	Flux<AttendanceView.Row> findViewsByStudent(@Param("tenantId") String tenantId, @Param("studentId") Long studentId);
+
+	@Query(VIEW_SELECT + "WHERE a.tenant_id = :tenantId AND a.attendance_date = :date ORDER BY a.id")
+	Flux<AttendanceView.Row> findViewsByDate(@Param("tenantId") String tenantId, @Param("date") LocalDate date);
+
+	@Query("SELECT COUNT(DISTINCT a.student_id) FROM attendance a "
+			+ "WHERE a.tenant_id = :tenantId AND a.attendance_date = :date AND a.status = 'PRESENT'")
+	Mono<Long> countPresentStudents(@Param("tenantId") String tenantId, @Param("date") LocalDate date);
+
+	@Query("SELECT COUNT(DISTINCT a.student_id) FROM attendance a "
+			+ "WHERE a.tenant_id = :tenantId AND a.attendance_date = :date AND a.marked_by IS NOT NULL")
+	Mono<Long> countMarkedStudents(@Param("tenantId") String tenantId, @Param("date") LocalDate date);
+
+	@Query("SELECT s.name AS name, COUNT(*) AS present FROM attendance a JOIN subjects s ON s.id = a.subject_id "
+			+ "WHERE a.tenant_id = :tenantId AND a.attendance_date = :date AND a.status = 'PRESENT' GROUP BY s.name")
+	Flux<SubjectCount> countPresentBySubject(@Param("tenantId") String tenantId, @Param("date") LocalDate date);
+
+	record SubjectCount(String name, Long present) {
+	}
+}
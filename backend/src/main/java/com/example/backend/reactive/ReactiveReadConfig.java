@@ -0,0 +1,83 @@
+package com.example.backend.reactive;
+
+import com.example.backend.tenant.TenancyProperties;
+import com.example.backend.tenant.TenantRegistry;
+import com.example.backend.tenant.TenantRoutingConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Non-blocking read stack, enabled with the "reactive" profile: one R2DBC pool per shard behind a routing
+// connection factory, mirroring TenantConfig's JDBC setup. Spring Boot's R2DBC data auto-configuration
+// builds the entity template on top of the DatabaseClient defined here.
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(R2dbcProperties.class)
+@EnableR2dbcRepositories(basePackageClasses = ReactiveReadConfig.class)
+public class ReactiveReadConfig {
+
+	@Bean
+	public R2dbcShardPools r2dbcShardPools(R2dbcProperties r2dbc,
+			TenancyProperties tenancy,
+			@Value("${reactive.pool.max-size:5}") int maxSize,
+			@Value("${reactive.pool.max-acquire-ms:20000}") long maxAcquireMillis) {
+		if (r2dbc.getUrl() == null) {
+			throw new IllegalStateException("The reactive profile needs spring.r2dbc.url for shard 'main'");
+		}
+		Map<String, ConnectionPool> pools = new LinkedHashMap<>();
+		pools.put(TenantRegistry.MAIN_SHARD, pool(TenantRegistry.MAIN_SHARD, r2dbc.getUrl(), r2dbc.getUsername(),
+				r2dbc.getPassword(), maxSize, maxAcquireMillis));
+		tenancy.shards().forEach((name, shard) -> {
+			if (shard.r2dbcUrl() == null) {
+				throw new IllegalStateException("The reactive profile needs tenancy.shards." + name + ".r2dbc-url");
+			}
+			pools.put(name, pool(name, shard.r2dbcUrl(), shard.username(), shard.password(), maxSize, maxAcquireMillis));
+		});
+		return new R2dbcShardPools(pools);
+	}
+
+	private static ConnectionPool pool(String shard, String url, String username, String password, int maxSize,
+			long maxAcquireMillis) {
+		ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+		if (username != null) {
+			options.option(ConnectionFactoryOptions.USER, username);
+		}
+		if (password != null) {
+			options.option(ConnectionFactoryOptions.PASSWORD, password);
+		}
+		return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+				.name("r2dbc-" + shard)
+				.initialSize(0)
+				.maxSize(maxSize)
+				.maxAcquireTime(Duration.ofMillis(maxAcquireMillis))
+				.build());
+	}
+
+	@Bean
+	public TenantRoutingConnectionFactory connectionFactory(R2dbcShardPools pools, TenantRegistry tenantRegistry) {
+		TenantRoutingConnectionFactory routing = new TenantRoutingConnectionFactory(tenantRegistry);
+		routing.setTargetConnectionFactories(new LinkedHashMap<>(pools.getPools()));
+		// Only used for connection metadata (dialect detection); lookups never fall back to it
+		routing.setDefaultTargetConnectionFactory(pools.getPools().get(TenantRegistry.MAIN_SHARD));
+		return routing;
+	}
+
+	@Bean
+	public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+		return DatabaseClient.create(connectionFactory);
+	}
+}
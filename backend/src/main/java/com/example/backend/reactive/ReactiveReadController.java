@@ -0,0 +1,73 @@
+package com.example.backend.reactive;
+
+import com.example.backend.tenant.TenantContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+// The read endpoints of AttendanceController and SubjectController on the reactive stack, under /api/rx.
+// Spring MVC subscribes to the returned Mono and releases the servlet thread until it completes.
+// The tenant is read here, on the request thread, and handed to the pipeline explicitly.
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/rx")
+public class ReactiveReadController {
+	private final ReactiveReadService readService;
+
+	public ReactiveReadController(ReactiveReadService readService) {
+		this.readService = readService;
+	}
+
+	@GetMapping("/dashboard/summary")
+	public Mono<ResponseEntity<?>> summary() {
+		return readService.getDashboardSummary(TenantContext.get())
+				.<ResponseEntity<?>>map(ResponseEntity::ok)
+				.onErrorResume(e -> Mono.just(unavailable("Dashboard data", e)));
+	}
+
+	@GetMapping("/dashboard/subjectCounts")
+	public Mono<ResponseEntity<?>> subjectCounts() {
+		return readService.getTodaySubjectWiseCounts(TenantContext.get())
+				.<ResponseEntity<?>>map(ResponseEntity::ok)
+				.onErrorResume(e -> Mono.just(unavailable("Dashboard data", e)));
+	}
+
+	@GetMapping("/subjects")
+	public Mono<ResponseEntity<?>> subjects() {
+		return readService.getSubjects(TenantContext.get()).collectList()
+				.<ResponseEntity<?>>map(ResponseEntity::ok)
+				.onErrorResume(e -> Mono.just(unavailable("Subjects", e)));
+	}
+
+	@GetMapping("/subjects/{id}")
+	public Mono<ResponseEntity<?>> subject(@PathVariable Long id) {
+		return readService.getSubject(TenantContext.get(), id)
+				.<ResponseEntity<?>>map(ResponseEntity::ok)
+				.defaultIfEmpty(ResponseEntity.notFound().build());
+	}
+
+	@GetMapping("/students/{studentId}/attendance")
+	public Mono<ResponseEntity<?>> studentAttendance(@PathVariable Long studentId) {
+		return readService.getStudentAttendance(TenantContext.get(), studentId).collectList()
+				.<ResponseEntity<?>>map(ResponseEntity::ok)
+				.onErrorResume(e -> Mono.just(ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())))));
+	}
+
+	@GetMapping("/attendance/today")
+	public Mono<ResponseEntity<?>> todayAttendance() {
+		return readService.getTodayAttendance(TenantContext.get()).collectList()
+				.<ResponseEntity<?>>map(ResponseEntity::ok)
+				.onErrorResume(e -> Mono.just(ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())))));
+	}
+
+	private static ResponseEntity<?> unavailable(String what, Throwable e) {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, "5")
+				.body(Map.of("error", what + " is temporarily unavailable: " + e.getMessage()));
+	}
+}
@@ -0,0 +1,89 @@
+package com.example.backend.reactive;
+
+import com.example.backend.model.UserRole;
+import com.example.backend.reactive.ReactiveAttendanceRepository.SubjectCount;
+import com.example.backend.tenant.TenantRoutingConnectionFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+// Reactive versions of the dashboard, subject and history reads. Results match the MVC endpoints;
+// a connection is held only while a query runs, and no thread waits on it.
+@Service
+@Profile("reactive")
+public class ReactiveReadService {
+	private final ReactiveAttendanceRepository attendanceRepository;
+	private final ReactiveSubjectRepository subjectRepository;
+	private final ReactiveUserRepository userRepository;
+
+	public ReactiveReadService(ReactiveAttendanceRepository attendanceRepository,
+			ReactiveSubjectRepository subjectRepository,
+			ReactiveUserRepository userRepository) {
+		this.attendanceRepository = attendanceRepository;
+		this.subjectRepository = subjectRepository;
+		this.userRepository = userRepository;
+	}
+
+	public Mono<Map<String, Object>> getDashboardSummary(String tenant) {
+		LocalDate today = LocalDate.now();
+		return Mono.zip(userRepository.countByTenantIdAndRole(tenant, UserRole.STUDENT),
+				subjectRepository.countByTenantId(tenant),
+				attendanceRepository.countPresentStudents(tenant, today).defaultIfEmpty(0L),
+				attendanceRepository.countMarkedStudents(tenant, today).defaultIfEmpty(0L),
+				subjectCounts(tenant, today))
+				.map(t -> {
+					Map<String, Object> res = new HashMap<>();
+					res.put("totalStudents", t.getT1());
+					res.put("totalSubjects", t.getT2());
+					res.put("presentTotal", t.getT3());
+					res.put("absentTotal", Math.max(0, t.getT4() - t.getT3()));
+					res.put("perSubject", t.getT5());
+					return res;
+				})
+				.contextWrite(TenantRoutingConnectionFactory.withTenant(tenant));
+	}
+
+	public Mono<Map<String, Long>> getTodaySubjectWiseCounts(String tenant) {
+		return subjectCounts(tenant, LocalDate.now())
+				.contextWrite(TenantRoutingConnectionFactory.withTenant(tenant));
+	}
+
+	// Every subject appears, with zero when nobody is present
+	private Mono<Map<String, Long>> subjectCounts(String tenant, LocalDate date) {
+		return Mono.zip(attendanceRepository.countPresentBySubject(tenant, date)
+						.collectMap(SubjectCount::name, SubjectCount::present),
+				subjectRepository.findByTenantIdOrderByName(tenant).map(SubjectRecord::name).collectList())
+				.map(t -> {
+					Map<String, Long> result = new HashMap<>(t.getT1());
+					t.getT2().forEach(name -> result.putIfAbsent(name, 0L));
+					return result;
+				});
+	}
+
+	public Flux<SubjectRecord> getSubjects(String tenant) {
+		return subjectRepository.findByTenantIdOrderByName(tenant)
+				.contextWrite(TenantRoutingConnectionFactory.withTenant(tenant));
+	}
+
+	public Mono<SubjectRecord> getSubject(String tenant, Long id) {
+		return subjectRepository.findByIdAndTenantId(id, tenant)
+				.contextWrite(TenantRoutingConnectionFactory.withTenant(tenant));
+	}
+
+	public Flux<AttendanceView> getStudentAttendance(String tenant, Long studentId) {
+		return attendanceRepository.findViewsByStudent(tenant, studentId)
+				.map(AttendanceView::from)
+				.contextWrite(TenantRoutingConnectionFactory.withTenant(tenant));
+	}
+
+	public Flux<AttendanceView> getTodayAttendance(String tenant) {
+		return attendanceRepository.findViewsByDate(tenant, LocalDate.now())
+				.map(AttendanceView::from)
+				.contextWrite(TenantRoutingConnectionFactory.withTenant(tenant));
+	}
+}
@@ -0,0 +1,15 @@
+package com.example.backend.reactive;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// R2DBC has no tenant filter, so every finder names the tenant
+public interface ReactiveSubjectRepository extends R2dbcRepository<SubjectRecord, Long> {
+
+	Flux<SubjectRecord> findByTenantIdOrderByName(String tenantId);
+
+	Mono<SubjectRecord> findByIdAndTenantId(Long id, String tenantId);
+
+	Mono<Long> countByTenantId(String tenantId);
+}
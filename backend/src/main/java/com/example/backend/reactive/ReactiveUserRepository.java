@@ -0,0 +1,10 @@
+package com.example.backend.reactive;
+
+import com.example.backend.model.UserRole;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserRepository extends R2dbcRepository<UserRecord, Long> {
+
+	Mono<Long> countByTenantIdAndRole(String tenantId, UserRole role);
+}
@@ -0,0 +1,10 @@
+package com.example.backend.reactive;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+// Read-only R2DBC view of the subjects table; serializes like the JPA Subject
+@Table("subjects")
+public record SubjectRecord(@Id Long id, @JsonIgnore String tenantId, String name, String code) {
+}
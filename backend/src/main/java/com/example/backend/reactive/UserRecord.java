@@ -0,0 +1,13 @@
+package com.example.backend.reactive;
+
+import com.example.backend.model.UserRole;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+// Read-only R2DBC view of the users table (no password)
+@Table("users")
+public record UserRecord(@Id Long id, String tenantId, String username, UserRole role, String name, String email,
+		LocalDateTime createdAt) {
+}
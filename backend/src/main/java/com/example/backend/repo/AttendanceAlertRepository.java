@@ -0,0 +1,23 @@
+package com.example.backend.repo;
+
+import com.example.backend.model.AttendanceAlert;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface AttendanceAlertRepository extends JpaRepository<AttendanceAlert, Long> {
+	Optional<AttendanceAlert> findFirstByStudentIdAndSubjectIdAndResolvedAtIsNull(Long studentId, Long subjectId);
+
+	List<AttendanceAlert> findByResolvedAtIsNullOrderByRaisedAtDesc();
+
+	// Feed: alerts raised after the last id the client has seen
+	List<AttendanceAlert> findTop100ByIdGreaterThanOrderByIdAsc(Long afterId);
+
+	@Modifying
+	@Query("DELETE FROM AttendanceAlert a WHERE a.tenantId = :tenantId AND a.student.id = :studentId")
+	int deleteByStudentId(@Param("tenantId") String tenantId, @Param("studentId") Long studentId);
+}
@@ -0,0 +1,44 @@
+package com.example.backend.repo;
+
+import com.example.backend.model.AttendanceMonth;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AttendanceMonthRepository extends JpaRepository<AttendanceMonth, Long> {
+	// One row per subject and month of the range, served by the (student_id, month_start, subject_id) key
+	List<AttendanceMonth> findByStudentIdAndMonthStartBetweenOrderByMonthStartAscSubjectIdAsc(Long studentId,
+			LocalDate from, LocalDate to);
+
+	@Modifying
+	@Query("DELETE FROM AttendanceMonth m WHERE m.studentId = :studentId")
+	int deleteByStudentId(@Param("studentId") Long studentId);
+
+	// Sets or clears one day in place; atomic like the tally upsert, so concurrent marks of other days
+	// in the same month never overwrite each other
+	@Modifying
+	@Query(value = "INSERT INTO attendance_months (student_id, subject_id, month_start, marked_days, present_days) "
+			+ "VALUES (:studentId, :subjectId, :monthStart, :dayBit, IF(:present, :dayBit, 0)) "
+			+ "ON DUPLICATE KEY UPDATE marked_days = marked_days | :dayBit, "
+			+ "present_days = IF(:present, present_days | :dayBit, present_days & ~:dayBit)",
+			nativeQuery = true)
+	void setDay(@Param("studentId") Long studentId, @Param("subjectId") Long subjectId,
+			@Param("monthStart") LocalDate monthStart, @Param("dayBit") int dayBit, @Param("present") boolean present);
+
+	// Rebuilds every month row of the shard from the detailed table (rows nobody has marked yet don't
+	// count); rows a concurrent mark already created are overwritten with the full month
+	@Modifying
+	@Query(value = "INSERT INTO attendance_months (student_id, subject_id, month_start, marked_days, present_days) "
+			+ "SELECT * FROM (SELECT a.student_id, a.subject_id, "
+			+ "DATE_SUB(a.attendance_date, INTERVAL DAYOFMONTH(a.attendance_date) - 1 DAY) AS month_start, "
+			+ "BIT_OR(1 << (DAYOFMONTH(a.attendance_date) - 1)) AS marked, "
+			+ "BIT_OR(IF(a.status = 'PRESENT', 1 << (DAYOFMONTH(a.attendance_date) - 1), 0)) AS present "
+			+ "FROM attendance a WHERE a.marked_by IS NOT NULL GROUP BY a.student_id, a.subject_id, month_start) AS h "
+			+ "ON DUPLICATE KEY UPDATE marked_days = h.marked, present_days = h.present",
+			nativeQuery = true)
+	int rebuildAll();
+}
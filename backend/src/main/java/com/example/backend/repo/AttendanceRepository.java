@@ -2,20 +2,42 @@ package com.example.backend.repo;
 
 import com.example.backend.model.Attendance;
 import com.example.backend.model.AttendanceStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
 
 	// Find attendance by student, subject, and date (for daily tracking)
 	Optional<Attendance> findByStudentIdAndSubjectIdAndDate(Long studentId, Long subjectId, LocalDate date);
 
+	// Creates the day's row unmarked if it is missing (the rollover job may be inserting it at the same time),
+	// so that it can be locked with findForUpdate
+	@Modifying
+	@Query(value = "INSERT INTO attendance (student_id, subject_id, status, attendance_date, updated_at, tenant_id) "
+			+ "VALUES (:studentId, :subjectId, 'ABSENT', :date, NOW(6), :tenantId) ON DUPLICATE KEY UPDATE id = id",
+			nativeQuery = true)
+	void ensureExists(@Param("tenantId") String tenantId, @Param("studentId") Long studentId,
+			@Param("subjectId") Long subjectId, @Param("date") LocalDate date);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT a FROM Attendance a WHERE a.student.id = :studentId AND a.subject.id = :subjectId AND a.date = :date")
+	Optional<Attendance> findForUpdate(@Param("studentId") Long studentId, @Param("subjectId") Long subjectId,
+			@Param("date") LocalDate date);
+
 	// Find all attendance for a student
 	List<Attendance> findByStudentId(Long studentId);
 
@@ -25,13 +47,65 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
 	// Find today's attendance for a subject
 	List<Attendance> findBySubjectIdAndDate(Long subjectId, LocalDate date);
 
+	// Batch marks: creates the missing rows of the given students unmarked, locking the batch's rows in
+	// student order (as the rollover job does) so that concurrent batches cannot deadlock. Ids that are not
+	// students are skipped.
+	@Modifying
+	@Query(value = "INSERT INTO attendance (student_id, subject_id, status, attendance_date, updated_at, tenant_id) "
+			+ "SELECT s.user_id, :subjectId, 'ABSENT', :date, NOW(6), s.tenant_id FROM students s "
+			+ "WHERE s.tenant_id = :tenantId AND s.user_id IN :studentIds ORDER BY s.user_id "
+			+ "ON DUPLICATE KEY UPDATE id = id", nativeQuery = true)
+	int ensureExistsForStudents(@Param("tenantId") String tenantId, @Param("subjectId") Long subjectId,
+			@Param("date") LocalDate date, @Param("studentIds") Collection<Long> studentIds);
+
+	// ... and then reads them back under lock
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT a FROM Attendance a WHERE a.subject.id = :subjectId AND a.date = :date "
+			+ "AND a.student.id IN :studentIds ORDER BY a.student.id")
+	List<Attendance> findForUpdateBySubject(@Param("subjectId") Long subjectId, @Param("date") LocalDate date,
+			@Param("studentIds") Collection<Long> studentIds);
+
 	// Find all attendance for a specific date
 	List<Attendance> findByDate(LocalDate date);
 
-	// Method for automatic daily reset - UPDATED for new model
+	// User deletion keeps anyone with attendance a teacher has marked, see UserService.deleteUser
+	boolean existsByStudentIdAndMarkedByIsNotNull(Long studentId);
+
+	boolean existsByMarkedById(Long teacherId);
+
 	@Modifying
-	@Query("UPDATE Attendance a SET a.status = 'ABSENT' WHERE a.date = :date")
-	void resetAttendanceForDate(@Param("date") LocalDate date);
+	@Query("DELETE FROM Attendance a WHERE a.tenantId = :tenantId AND a.student.id = :studentId AND a.markedBy IS NULL")
+	int deleteUnmarkedByStudentId(@Param("tenantId") String tenantId, @Param("studentId") Long studentId);
+
+	// Method for automatic daily reset; only rows that actually change get a new change sequence.
+	// Bulk statements name the tenant explicitly (a shard can hold several tenants).
+	@Modifying
+	@Query("UPDATE Attendance a SET a.status = 'ABSENT', a.updatedAt = CURRENT_TIMESTAMP, a.changeSeq = :changeSeq "
+			+ "WHERE a.tenantId = :tenantId AND a.date = :date AND a.status = 'PRESENT'")
+	int resetAttendanceForDate(@Param("tenantId") String tenantId, @Param("date") LocalDate date,
+			@Param("changeSeq") Long changeSeq);
+
+	// Rollover job: every student x subject pair of the tenant without a row on the date. countMissingSessions
+	// sizes the change sequence block; insertMissingSessions numbers the new ABSENT rows from firstChangeSeq
+	// and stops at the block's end should a student have been added in between. IGNORE skips a pair a
+	// concurrent mark inserted after the NOT EXISTS check; its number in the block is left unused.
+	@Query(value = "SELECT COUNT(*) FROM students s JOIN subjects sub ON sub.tenant_id = s.tenant_id "
+			+ "WHERE s.tenant_id = :tenantId AND NOT EXISTS (SELECT 1 FROM attendance a "
+			+ "WHERE a.student_id = s.user_id AND a.subject_id = sub.id AND a.attendance_date = :date)",
+			nativeQuery = true)
+	long countMissingSessions(@Param("tenantId") String tenantId, @Param("date") LocalDate date);
+
+	@Modifying
+	@Query(value = "INSERT IGNORE INTO attendance (student_id, subject_id, status, attendance_date, updated_at, change_seq, tenant_id) "
+			+ "SELECT s.user_id, sub.id, 'ABSENT', :date, NOW(6), "
+			+ ":firstChangeSeq - 1 + ROW_NUMBER() OVER (ORDER BY sub.id, s.user_id), s.tenant_id "
+			+ "FROM students s JOIN subjects sub ON sub.tenant_id = s.tenant_id "
+			+ "WHERE s.tenant_id = :tenantId AND NOT EXISTS (SELECT 1 FROM attendance a "
+			+ "WHERE a.student_id = s.user_id AND a.subject_id = sub.id AND a.attendance_date = :date) "
+			+ "ORDER BY sub.id, s.user_id LIMIT :limit",
+			nativeQuery = true)
+	int insertMissingSessions(@Param("tenantId") String tenantId, @Param("date") LocalDate date,
+			@Param("firstChangeSeq") long firstChangeSeq, @Param("limit") long limit);
 
 	// Get today's attendance for dashboard - UPDATED for new model
 	@Query("SELECT a FROM Attendance a WHERE a.date = CURRENT_DATE")
@@ -41,6 +115,11 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
 	@Query("SELECT COUNT(DISTINCT a.student) FROM Attendance a WHERE a.date = :date AND a.status = 'PRESENT'")
 	Long countPresentStudentsByDate(@Param("date") LocalDate date);
 
+	// Students a teacher has marked in at least one subject on the date; rows the rollover job created
+	// don't count until then
+	@Query("SELECT COUNT(DISTINCT a.student) FROM Attendance a WHERE a.date = :date AND a.markedBy IS NOT NULL")
+	Long countMarkedStudentsByDate(@Param("date") LocalDate date);
+
 	@Query("SELECT a.subject.name, COUNT(a) FROM Attendance a WHERE a.date = :date AND a.status = 'PRESENT' GROUP BY a.subject.name")
 	List<Object[]> countAttendanceBySubjectAndDate(@Param("date") LocalDate date);
 
@@ -50,7 +129,17 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
 	// Additional useful queries
 	List<Attendance> findByStudentIdAndStatusAndDate(Long studentId, AttendanceStatus status, LocalDate date);
 
-	List<Attendance> findByStatusAndDate(AttendanceStatus status, LocalDate date);
+	// Daily reset: the rows the bulk update will flip, locked so none is marked in between
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	List<Attendance> findForUpdateByStatusAndDate(AttendanceStatus status, LocalDate date);
+
+	// Presence expiry: only rows still PRESENT and marked before the cutoff. The count sizes the change
+	// sequence block before the rows are locked; a row marked again in between drops out of the locked read.
+	long countByStatusAndMarkedAtBefore(AttendanceStatus status, LocalDateTime cutoff);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	List<Attendance> findForUpdateByStatusAndMarkedAtBefore(AttendanceStatus status, LocalDateTime cutoff,
+			Pageable pageable);
 
 	@Query("SELECT a FROM Attendance a WHERE a.student.id = :studentId ORDER BY a.date DESC")
 	List<Attendance> findRecentAttendanceByStudentId(@Param("studentId") Long studentId);
@@ -58,4 +147,35 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
 	@Query("SELECT a FROM Attendance a WHERE a.date BETWEEN :startDate AND :endDate ORDER BY a.date DESC")
 	List<Attendance> findAttendanceByDateRange(@Param("startDate") LocalDate startDate,
 			@Param("endDate") LocalDate endDate);
-}
\ No newline at end of file
+
+	// Changes feed: rows after the (changeSeq, id) cursor, in feed order
+	@Query("SELECT a FROM Attendance a WHERE a.changeSeq >= :seq AND (a.changeSeq > :seq OR a.id > :id) "
+			+ "ORDER BY a.changeSeq, a.id")
+	List<Attendance> findChangesAfter(@Param("seq") Long seq, @Param("id") Long id, Pageable pageable);
+
+	// One-off aggregate used to seed the running tallies: studentId, subjectId, present, total (marked rows only)
+	@Query("SELECT a.student.id, a.subject.id, SUM(CASE WHEN a.status = 'PRESENT' THEN 1 ELSE 0 END), COUNT(a) "
+			+ "FROM Attendance a WHERE a.markedBy IS NOT NULL GROUP BY a.student.id, a.subject.id")
+	List<Object[]> countPresentAndTotalByStudentAndSubject();
+
+	// Term reports: (studentId, username, date, status) of one subject's marked rows, streamed row by row. A
+	// fetch size of Integer.MIN_VALUE makes MySQL Connector/J stream instead of buffering the whole result; the
+	// caller must consume it inside a transaction and close the stream.
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+	@Query("SELECT s.id, u.username, a.date, a.status FROM Attendance a JOIN a.student s JOIN s.user u "
+			+ "WHERE a.subject.id = :subjectId AND a.date BETWEEN :start AND :end AND a.markedBy IS NOT NULL")
+	Stream<Object[]> streamSubjectAttendance(@Param("subjectId") Long subjectId, @Param("start") LocalDate start,
+			@Param("end") LocalDate end);
+
+	// Streamed rows for the list endpoints. Associations are fetched in the same statement: while a streaming
+	// result set is open, MySQL accepts no other query on that connection.
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+	@Query("SELECT a FROM Attendance a JOIN FETCH a.student s JOIN FETCH s.user JOIN FETCH a.subject "
+			+ "LEFT JOIN FETCH a.markedBy WHERE a.student.id = :studentId ORDER BY a.date, a.id")
+	Stream<Attendance> streamByStudentId(@Param("studentId") Long studentId);
+
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+	@Query("SELECT a FROM Attendance a JOIN FETCH a.student s JOIN FETCH s.user JOIN FETCH a.subject "
+			+ "LEFT JOIN FETCH a.markedBy WHERE a.date = :date ORDER BY a.id")
+	Stream<Attendance> streamByDate(@Param("date") LocalDate date);
+}
@@ -0,0 +1,30 @@
+package com.example.backend.repo;
+
+import com.example.backend.model.AttendanceTally;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface AttendanceTallyRepository extends JpaRepository<AttendanceTally, Long> {
+	Optional<AttendanceTally> findByStudentIdAndSubjectId(Long studentId, Long subjectId);
+
+	@Modifying
+	@Query("DELETE FROM AttendanceTally t WHERE t.studentId = :studentId")
+	int deleteByStudentId(@Param("studentId") Long studentId);
+
+	// Creates the pair's row at zero if it is missing, so that it can be locked with findForUpdate
+	@Modifying
+	@Query(value = "INSERT INTO attendance_tallies (student_id, subject_id, present_count, total_count) "
+			+ "VALUES (:studentId, :subjectId, 0, 0) ON DUPLICATE KEY UPDATE id = id",
+			nativeQuery = true)
+	void ensureExists(@Param("studentId") Long studentId, @Param("subjectId") Long subjectId);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT t FROM AttendanceTally t WHERE t.studentId = :studentId AND t.subjectId = :subjectId")
+	Optional<AttendanceTally> findForUpdate(@Param("studentId") Long studentId, @Param("subjectId") Long subjectId);
+}
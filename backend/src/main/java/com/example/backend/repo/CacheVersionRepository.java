@@ -0,0 +1,20 @@
+package com.example.backend.repo;
+
+import com.example.backend.model.CacheVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface CacheVersionRepository extends JpaRepository<CacheVersion, Long> {
+	// Native, so the tenant is passed explicitly; the row lock is held only for this statement
+	@Modifying
+	@Query(value = "INSERT INTO cache_versions (tenant_id, entity, version, origin, updated_at) "
+			+ "VALUES (:tenantId, :entity, 1, :origin, :now) "
+			+ "ON DUPLICATE KEY UPDATE version = version + 1, origin = VALUES(origin), updated_at = VALUES(updated_at)",
+			nativeQuery = true)
+	int bump(@Param("tenantId") String tenantId, @Param("entity") String entity, @Param("origin") String origin,
+			@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,26 @@
+package com.example.backend.repo;
+
+import com.example.backend.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+	List<OutboxEvent> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+	Optional<OutboxEvent> findFirstByIdGreaterThanOrderByIdAsc(Long id);
+
+	long countByIdGreaterThan(Long id);
+
+	// Published rows only (id at or below the tenant's relay position)
+	@Modifying
+	@Query("DELETE FROM OutboxEvent e WHERE e.tenantId = :tenantId AND e.id <= :publishedId AND e.createdAt < :before")
+	int deletePublishedBefore(@Param("tenantId") String tenantId, @Param("publishedId") Long publishedId,
+			@Param("before") LocalDateTime before);
+}
@@ -2,11 +2,23 @@ package com.example.backend.repo;
 
 import com.example.backend.model.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import java.util.Optional;
+import java.time.LocalDate;
+import java.util.List;
 
 public interface StudentRepository extends JpaRepository<Student, Long> {
-	Optional<Student> findByUsername(String username);
+	// Roster with each student's status for one subject and date (null when not marked, including rows the
+	// rollover job created): id, username, status. Driven from the subject, so an unknown subject returns no
+	// rows and a subject without students a single row of nulls.
+	@Query("SELECT s.id, u.username, a.status FROM Subject sub "
+			+ "LEFT JOIN Student s ON s.tenantId = sub.tenantId LEFT JOIN s.user u "
+			+ "LEFT JOIN Attendance a ON a.student = s AND a.subject = sub AND a.date = :date "
+			+ "AND a.markedBy IS NOT NULL "
+			+ "WHERE sub.id = :subjectId "
+			+ "ORDER BY u.username")
+	List<Object[]> findRollCall(@Param("subjectId") Long subjectId, @Param("date") LocalDate date);
 }
 
 
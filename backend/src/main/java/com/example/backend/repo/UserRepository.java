@@ -1,12 +1,17 @@
 package com.example.backend.repo;
 
+import com.example.backend.dto.StudentSummary;
 import com.example.backend.model.User;
 import com.example.backend.model.UserRole;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 	Optional<User> findByUsername(String username);
@@ -14,6 +19,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	// FIXED: Use UserRole enum instead of String
 	List<User> findByRole(UserRole role);
 
+	// Streamed row by row for the list endpoints (see AttendanceRepository.streamSubjectAttendance)
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+	@Query("SELECT u FROM User u WHERE u.role = :role ORDER BY u.id")
+	Stream<User> streamByRole(@Param("role") UserRole role);
+
 	boolean existsByUsername(String username);
 
 	// New methods for user management
@@ -22,4 +32,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
 	@Query("SELECT u FROM User u WHERE u.role = 'TEACHER' ORDER BY u.name")
 	List<User> findAllTeachers();
+
+	// Lightweight projection used to build the in-memory student directory
+	@Query("SELECT new com.example.backend.dto.StudentSummary(u.id, u.username, u.name, u.email) "
+			+ "FROM User u WHERE u.role = 'STUDENT'")
+	List<StudentSummary> findStudentSummaries();
 }
\ No newline at end of file
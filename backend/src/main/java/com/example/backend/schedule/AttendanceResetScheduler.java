@@ -1,35 +1,88 @@
 package com.example.backend.schedule;
 
+import com.example.backend.event.AttendanceChangedEvent;
+import com.example.backend.jfr.PresenceResetEvent;
+import com.example.backend.model.Attendance;
 import com.example.backend.model.AttendanceStatus;
 import com.example.backend.repo.AttendanceRepository;
+import com.example.backend.service.ChangeSequenceService;
+import com.example.backend.tenant.TenantRegistry;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
 
 @Component
 @EnableScheduling
 public class AttendanceResetScheduler {
+	private static final Duration PRESENCE_TTL = Duration.ofHours(12);
+
 	private final AttendanceRepository attendanceRepository;
+	private final ChangeSequenceService changeSequenceService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TenantRegistry tenantRegistry;
+	private final TransactionTemplate transactionTemplate;
 
-	public AttendanceResetScheduler(AttendanceRepository attendanceRepository) {
+	public AttendanceResetScheduler(AttendanceRepository attendanceRepository,
+			ChangeSequenceService changeSequenceService,
+			ApplicationEventPublisher eventPublisher,
+			TenantRegistry tenantRegistry,
+			PlatformTransactionManager transactionManager) {
 		this.attendanceRepository = attendanceRepository;
+		this.changeSequenceService = changeSequenceService;
+		this.eventPublisher = eventPublisher;
+		this.tenantRegistry = tenantRegistry;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
 	}
 
-	// Run every 15 minutes
+	// Run every 15 minutes; one transaction per tenant since the tenant picks the shard
 	@Scheduled(fixedRate = 15 * 60 * 1000)
 	public void resetExpiredPresence() {
-		LocalDateTime now = LocalDateTime.now();
-		attendanceRepository.findAll().forEach(a -> {
-			if (a.getStatus() == AttendanceStatus.PRESENT && a.getMarkedAt() != null) {
-				if (Duration.between(a.getMarkedAt(), now).toHours() >= 12) {
-					a.setStatus(AttendanceStatus.ABSENT);
-					a.setMarkedAt(null);
-					attendanceRepository.save(a);
-				}
+		tenantRegistry.forEachTenant(tenant -> {
+			PresenceResetEvent event = new PresenceResetEvent();
+			event.begin();
+			event.tenant = tenant;
+			try {
+				transactionTemplate.executeWithoutResult(status -> resetTenant(event));
+			} finally {
+				event.commit();
 			}
 		});
 	}
+
+	private void resetTenant(PresenceResetEvent event) {
+		LocalDateTime cutoff = LocalDateTime.now().minus(PRESENCE_TTL);
+		event.cutoff = cutoff.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+		long candidates = attendanceRepository.countByStatusAndMarkedAtBefore(AttendanceStatus.PRESENT, cutoff);
+		if (candidates == 0) {
+			return;
+		}
+		// The sequence row is locked before the attendance rows, as when marking. Reading the rows under
+		// lock skips any a teacher marked again since the count; their numbers in the block stay unused.
+		int limit = Math.toIntExact(candidates);
+		long changeSeq = changeSequenceService.allocate(ChangeSequenceService.ATTENDANCE, limit);
+		List<Attendance> expired = attendanceRepository.findForUpdateByStatusAndMarkedAtBefore(AttendanceStatus.PRESENT,
+				cutoff, PageRequest.of(0, limit));
+		if (expired.isEmpty()) {
+			return;
+		}
+		event.rowsReset = expired.size();
+		event.firstChangeSeq = changeSeq;
+		for (Attendance a : expired) {
+			a.setStatus(AttendanceStatus.ABSENT);
+			a.setMarkedAt(null);
+			a.setChangeSeq(changeSeq++);
+			attendanceRepository.save(a);
+			eventPublisher.publishEvent(new AttendanceChangedEvent(a.getId(), a.getStudent().getId(),
+					a.getSubject().getId(), a.getDate(), AttendanceStatus.PRESENT, AttendanceStatus.ABSENT));
+		}
+	}
 }
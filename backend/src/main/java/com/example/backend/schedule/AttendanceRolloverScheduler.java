@@ -0,0 +1,82 @@
+package com.example.backend.schedule;
+
+import com.example.backend.repo.AttendanceRepository;
+import com.example.backend.service.ChangeSequenceService;
+import com.example.backend.tenant.TenantContext;
+import com.example.backend.tenant.TenantRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Day rollover: shortly after midnight in the campus time zone, pre-creates an ABSENT row for every
+// student x subject of the new day (school days only), so the morning roll call updates rows in place
+// instead of inserting them. Idempotent: pairs that already have a row are skipped, so a repeated run
+// (restart, DST fall-back) only fills gaps. Also runs once at startup for the current day.
+// The rows have no markedBy and count nowhere (tallies, month bitsets, reports, dashboard, roll call) until
+// a teacher marks them: without a timetable, not every subject actually meets on every school day.
+@Component
+public class AttendanceRolloverScheduler {
+	private final AttendanceRepository attendanceRepository;
+	private final ChangeSequenceService changeSequenceService;
+	private final TenantRegistry tenantRegistry;
+	private final TransactionTemplate transactionTemplate;
+	private final boolean enabled;
+	private final ZoneId zone;
+	private final Set<DayOfWeek> schoolDays;
+
+	public AttendanceRolloverScheduler(AttendanceRepository attendanceRepository,
+			ChangeSequenceService changeSequenceService,
+			TenantRegistry tenantRegistry,
+			PlatformTransactionManager transactionManager,
+			@Value("${attendance.rollover.enabled:true}") boolean enabled,
+			@Value("${attendance.rollover.zone:}") String zone,
+			@Value("${attendance.rollover.school-days:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY}") Set<DayOfWeek> schoolDays) {
+		this.attendanceRepository = attendanceRepository;
+		this.changeSequenceService = changeSequenceService;
+		this.tenantRegistry = tenantRegistry;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.enabled = enabled;
+		this.zone = zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone);
+		this.schoolDays = schoolDays.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(schoolDays);
+	}
+
+	// Before the startup warm-up, which loads today's rows
+	@EventListener(ApplicationReadyEvent.class)
+	@Order(Ordered.LOWEST_PRECEDENCE - 1)
+	public void catchUp() {
+		rollover();
+	}
+
+	@Scheduled(cron = "${attendance.rollover.cron:0 30 0 * * *}", zone = "${attendance.rollover.zone:}")
+	public void rollover() {
+		LocalDate day = LocalDate.now(zone);
+		if (!enabled || !schoolDays.contains(day.getDayOfWeek())) {
+			return;
+		}
+		// One transaction per tenant since the tenant picks the shard
+		tenantRegistry.forEachTenant(tenant -> transactionTemplate.executeWithoutResult(status -> createSessions(day)));
+	}
+
+	private void createSessions(LocalDate day) {
+		String tenant = TenantContext.get();
+		long missing = attendanceRepository.countMissingSessions(tenant, day);
+		if (missing == 0) {
+			return;
+		}
+		long first = changeSequenceService.allocate(ChangeSequenceService.ATTENDANCE, Math.toIntExact(missing));
+		int inserted = attendanceRepository.insertMissingSessions(tenant, day, first, missing);
+		System.out.println("Pre-created " + inserted + " attendance rows for " + day + " (tenant " + tenant + ")");
+	}
+}
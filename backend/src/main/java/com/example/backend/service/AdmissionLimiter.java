@@ -0,0 +1,181 @@
+package com.example.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Adaptive limit on concurrently executing API requests. The limit follows request latency with a
+// gradient rule: while recent latency stays near the long-term baseline it grows, and when the database
+// slows down (recent latency rises above the baseline) it shrinks. Each priority class may only use a
+// share of the limit, so lower classes are turned away first; marking and login wait briefly for a slot
+// instead of being rejected outright.
+@Service
+public class AdmissionLimiter {
+	public enum Priority {
+		MARKING(1.0, true),
+		LOGIN(0.9, true),
+		DASHBOARD(0.7, false),
+		REPORT(0.5, false);
+
+		final double share;
+		final boolean queues;
+
+		Priority(double share, boolean queues) {
+			this.share = share;
+			this.queues = queues;
+		}
+	}
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final long queueTimeoutNanos;
+	private final int maxQueued;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition slotFreed = lock.newCondition();
+	private int inFlight;
+	private int queued;
+	private double limit;
+	private double shortRttMillis;
+	private double longRttMillis;
+
+	private final Map<Priority, Counters> counters = new EnumMap<>(Priority.class);
+
+	public AdmissionLimiter(@Value("${admission.initial-limit:20}") int initialLimit,
+			@Value("${admission.min-limit:4}") int minLimit,
+			@Value("${admission.max-limit:200}") int maxLimit,
+			@Value("${admission.queue-timeout-ms:2000}") long queueTimeoutMillis,
+			@Value("${admission.max-queued:100}") int maxQueued) {
+		this.limit = initialLimit;
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+		this.maxQueued = maxQueued;
+		for (Priority priority : Priority.values()) {
+			counters.put(priority, new Counters());
+		}
+	}
+
+	// Returns false if the request should be shed. Every true must be paired with release().
+	public boolean tryAcquire(Priority priority) throws InterruptedException {
+		Counters c = counters.get(priority);
+		lock.lock();
+		try {
+			if (inFlight < threshold(priority)) {
+				inFlight++;
+				c.admitted.incrementAndGet();
+				return true;
+			}
+			if (!priority.queues || queued >= maxQueued) {
+				c.shed.incrementAndGet();
+				return false;
+			}
+
+			queued++;
+			c.queued.incrementAndGet();
+			try {
+				long remaining = queueTimeoutNanos;
+				while (inFlight >= threshold(priority)) {
+					if (remaining <= 0) {
+						c.shed.incrementAndGet();
+						return false;
+					}
+					remaining = slotFreed.awaitNanos(remaining);
+				}
+			} finally {
+				queued--;
+			}
+			inFlight++;
+			c.admitted.incrementAndGet();
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// rttNanos < 0 releases the slot without feeding the latency estimate (e.g. CPU-bound logins)
+	public void release(long rttNanos) {
+		lock.lock();
+		try {
+			inFlight--;
+			if (rttNanos >= 0) {
+				update(rttNanos / 1_000_000.0);
+			}
+			slotFreed.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// Seconds a shed client should wait: roughly the time for the current in-flight work to drain
+	public int retryAfterSeconds() {
+		lock.lock();
+		try {
+			return (int) Math.max(1, Math.min(30, Math.ceil(shortRttMillis * Math.max(1, queued) / 1000.0)));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private double threshold(Priority priority) {
+		return Math.max(1, Math.floor(limit * priority.share));
+	}
+
+	private void update(double rttMillis) {
+		if (longRttMillis == 0) {
+			shortRttMillis = rttMillis;
+			longRttMillis = rttMillis;
+			return;
+		}
+		shortRttMillis += 0.2 * (rttMillis - shortRttMillis);
+		longRttMillis += 0.01 * (rttMillis - longRttMillis);
+		// After a long overload the baseline itself has drifted up; pull it back so the limit can recover
+		if (longRttMillis > 2 * shortRttMillis) {
+			longRttMillis *= 0.95;
+		}
+
+		double gradient = Math.max(0.5, Math.min(1.0, 1.5 * longRttMillis / shortRttMillis));
+		if (gradient >= 1.0 && inFlight + 1 < limit / 2) {
+			return; // healthy but far below the limit: the limit wasn't tested, so don't inflate it
+		}
+		double target = limit * gradient + Math.sqrt(limit);
+		limit = Math.max(minLimit, Math.min(maxLimit, 0.8 * limit + 0.2 * target));
+	}
+
+	public Map<String, Object> getStats() {
+		Map<String, Object> res = new LinkedHashMap<>();
+		lock.lock();
+		try {
+			res.put("limit", Math.round(limit * 10) / 10.0);
+			res.put("inFlight", inFlight);
+			res.put("queued", queued);
+			res.put("shortRttMs", Math.round(shortRttMillis * 10) / 10.0);
+			res.put("baselineRttMs", Math.round(longRttMillis * 10) / 10.0);
+		} finally {
+			lock.unlock();
+		}
+		Map<String, Object> classes = new LinkedHashMap<>();
+		for (Priority priority : Priority.values()) {
+			Counters c = counters.get(priority);
+			classes.put(priority.name(), Map.of(
+					"admitted", c.admitted.get(),
+					"queued", c.queued.get(),
+					"shed", c.shed.get()));
+		}
+		res.put("classes", classes);
+		return res;
+	}
+
+	private static class Counters {
+		final AtomicLong admitted = new AtomicLong();
+		final AtomicLong queued = new AtomicLong();
+		final AtomicLong shed = new AtomicLong();
+	}
+}
@@ -0,0 +1,197 @@
+package com.example.backend.service;
+
+import com.example.backend.event.AttendanceChangedEvent;
+import com.example.backend.model.AttendanceAlert;
+import com.example.backend.model.AttendanceStatus;
+import com.example.backend.model.AttendanceTally;
+import com.example.backend.repo.AttendanceAlertRepository;
+import com.example.backend.repo.AttendanceRepository;
+import com.example.backend.repo.AttendanceTallyRepository;
+import com.example.backend.repo.StudentRepository;
+import com.example.backend.repo.SubjectRepository;
+import com.example.backend.tenant.TenantContext;
+import com.example.backend.tenant.TenantRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Keeps running present/total tallies per student and subject and raises alerts when a
+// student's percentage crosses the threshold. Each change costs one upsert and one locked row read.
+@Service
+public class AttendanceAlertService {
+	private final AttendanceTallyRepository tallyRepository;
+	private final AttendanceAlertRepository alertRepository;
+	private final AttendanceRepository attendanceRepository;
+	private final StudentRepository studentRepository;
+	private final SubjectRepository subjectRepository;
+	private final TenantRegistry tenantRegistry;
+	private final TransactionTemplate transactionTemplate;
+	private final double threshold;
+	private final long minSessions;
+
+	private final Map<String, Map<String, Object>> lastDigestByTenant = new ConcurrentHashMap<>();
+
+	public AttendanceAlertService(AttendanceTallyRepository tallyRepository,
+			AttendanceAlertRepository alertRepository,
+			AttendanceRepository attendanceRepository,
+			StudentRepository studentRepository,
+			SubjectRepository subjectRepository,
+			TenantRegistry tenantRegistry,
+			PlatformTransactionManager transactionManager,
+			@Value("${attendance.alerts.threshold:0.75}") double threshold,
+			@Value("${attendance.alerts.min-sessions:5}") long minSessions) {
+		this.tallyRepository = tallyRepository;
+		this.alertRepository = alertRepository;
+		this.attendanceRepository = attendanceRepository;
+		this.studentRepository = studentRepository;
+		this.subjectRepository = subjectRepository;
+		this.tenantRegistry = tenantRegistry;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.threshold = threshold;
+		this.minSessions = minSessions;
+	}
+
+	@Async
+	@TransactionalEventListener(fallbackExecution = true)
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public void onAttendanceChanged(AttendanceChangedEvent event) {
+		if (!event.isStatusChange()) {
+			return;
+		}
+
+		long presentDelta;
+		long totalDelta;
+		if (event.isNewRecord()) {
+			presentDelta = event.status() == AttendanceStatus.PRESENT ? 1 : 0;
+			totalDelta = 1;
+		} else {
+			presentDelta = event.status() == AttendanceStatus.PRESENT ? 1 : -1;
+			totalDelta = 0;
+		}
+
+		// Changes for one pair apply one at a time under its row lock, so each sees the previous one's
+		// counts as its "before" and a threshold crossing is seen exactly once
+		tallyRepository.ensureExists(event.studentId(), event.subjectId());
+		AttendanceTally tally = tallyRepository.findForUpdate(event.studentId(), event.subjectId()).orElseThrow();
+		long presentBefore = tally.getPresentCount();
+		long totalBefore = tally.getTotalCount();
+		tally.setPresentCount(presentBefore + presentDelta);
+		tally.setTotalCount(totalBefore + totalDelta);
+		evaluate(tally, presentBefore, totalBefore);
+	}
+
+	// Only the before/after values of this one change are compared, never the history
+	private void evaluate(AttendanceTally tally, long presentBefore, long totalBefore) {
+		boolean wasBelow = isBelowThreshold(presentBefore, totalBefore);
+		boolean isBelow = isBelowThreshold(tally.getPresentCount(), tally.getTotalCount());
+
+		if (isBelow && !wasBelow) {
+			raise(tally);
+		} else if (!isBelow && wasBelow) {
+			alertRepository.findFirstByStudentIdAndSubjectIdAndResolvedAtIsNull(tally.getStudentId(), tally.getSubjectId())
+					.ifPresent(alert -> {
+						alert.setPresentCount(tally.getPresentCount());
+						alert.setTotalCount(tally.getTotalCount());
+						alert.setResolvedAt(LocalDateTime.now());
+						alertRepository.save(alert);
+					});
+		}
+	}
+
+	// Callers hold the tally row lock; uk_attendance_alerts_open backs this check up
+	private void raise(AttendanceTally tally) {
+		if (alertRepository.findFirstByStudentIdAndSubjectIdAndResolvedAtIsNull(tally.getStudentId(), tally.getSubjectId())
+				.isPresent()) {
+			return;
+		}
+		AttendanceAlert alert = new AttendanceAlert();
+		alert.setStudent(studentRepository.getReferenceById(tally.getStudentId()));
+		alert.setSubject(subjectRepository.getReferenceById(tally.getSubjectId()));
+		alert.setPresentCount(tally.getPresentCount());
+		alert.setTotalCount(tally.getTotalCount());
+		alertRepository.save(alert);
+	}
+
+	private boolean isBelowThreshold(long present, long total) {
+		return total >= minSessions && present < threshold * total;
+	}
+
+	// The tallies table starts empty on existing installs; build it once from history. Tallies live per
+	// shard, so a shard is seeded only while it has none, for every tenant on it.
+	@EventListener(ApplicationReadyEvent.class)
+	public void initializeTallies() {
+		tenantRegistry.getTenantsByShard().forEach((shard, tenants) -> {
+			if (TenantContext.call(tenants.get(0), tallyRepository::count) > 0) {
+				return;
+			}
+			for (String tenant : tenants) {
+				TenantContext.run(tenant, () -> transactionTemplate.executeWithoutResult(status -> initializeTenantTallies()));
+			}
+		});
+	}
+
+	private void initializeTenantTallies() {
+		List<Object[]> rows = attendanceRepository.countPresentAndTotalByStudentAndSubject();
+		for (Object[] row : rows) {
+			AttendanceTally tally = new AttendanceTally();
+			tally.setStudentId((Long) row[0]);
+			tally.setSubjectId((Long) row[1]);
+			tally.setPresentCount(((Number) row[2]).longValue());
+			tally.setTotalCount(((Number) row[3]).longValue());
+			tallyRepository.save(tally);
+			evaluate(tally, 0, 0);
+		}
+		System.out.println("Initialized attendance tallies for " + rows.size() + " student/subject pairs of tenant "
+				+ TenantContext.get());
+	}
+
+	public List<AttendanceAlert> getOpenAlerts() {
+		return alertRepository.findByResolvedAtIsNullOrderByRaisedAtDesc();
+	}
+
+	public List<AttendanceAlert> getAlertsAfter(Long afterId) {
+		return alertRepository.findTop100ByIdGreaterThanOrderByIdAsc(afterId);
+	}
+
+	public Map<String, Object> getLastDigest() {
+		return lastDigestByTenant.getOrDefault(TenantContext.get(), Map.of());
+	}
+
+	@Scheduled(cron = "${attendance.alerts.digest-cron:0 0 22 * * *}")
+	public void buildDigests() {
+		tenantRegistry.forEachTenant(tenant -> transactionTemplate.executeWithoutResult(status -> buildDigest(tenant)));
+	}
+
+	private void buildDigest(String tenant) {
+		List<AttendanceAlert> open = getOpenAlerts();
+		Map<String, Integer> perSubject = new LinkedHashMap<>();
+		for (AttendanceAlert alert : open) {
+			perSubject.merge(alert.getSubject().getName(), 1, Integer::sum);
+		}
+
+		Map<String, Object> digest = new HashMap<>();
+		digest.put("generatedAt", LocalDateTime.now());
+		digest.put("openAlerts", open.size());
+		digest.put("perSubject", perSubject);
+		digest.put("alerts", open);
+		lastDigestByTenant.put(tenant, digest);
+
+		System.out.println("Attendance alert digest for " + tenant + ": " + open.size() + " students below "
+				+ Math.round(threshold * 100) + "% " + perSubject);
+	}
+}
@@ -0,0 +1,159 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.AttendanceCalendar;
+import com.example.backend.dto.MonthlyAttendance;
+import com.example.backend.dto.SubjectPercentage;
+import com.example.backend.event.AttendanceChangedEvent;
+import com.example.backend.exception.InvalidRequestException;
+import com.example.backend.exception.NotFoundException;
+import com.example.backend.model.AttendanceMonth;
+import com.example.backend.model.AttendanceStatus;
+import com.example.backend.repo.AttendanceMonthRepository;
+import com.example.backend.repo.StudentRepository;
+import com.example.backend.tenant.TenantContext;
+import com.example.backend.tenant.TenantRegistry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Month bitsets (attendance_months) next to the detailed attendance rows. Every change updates its
+// month row in the same transaction as the attendance write, so the two never disagree after a commit;
+// history, percentage and calendar reads then cost one row per subject and month instead of one per day.
+@Service
+public class AttendanceMonthService {
+	// Reads span whole months; two school years is plenty for one request
+	static final int MAX_MONTHS = 24;
+
+	private final AttendanceMonthRepository monthRepository;
+	private final StudentRepository studentRepository;
+	private final TenantRegistry tenantRegistry;
+	private final TransactionTemplate transactionTemplate;
+
+	public AttendanceMonthService(AttendanceMonthRepository monthRepository,
+			StudentRepository studentRepository,
+			TenantRegistry tenantRegistry,
+			PlatformTransactionManager transactionManager) {
+		this.monthRepository = monthRepository;
+		this.studentRepository = studentRepository;
+		this.tenantRegistry = tenantRegistry;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	// Synchronous on purpose: joins the marking (or reset) transaction instead of running after commit
+	@EventListener
+	@Transactional
+	public void onAttendanceChanged(AttendanceChangedEvent event) {
+		if (!event.isStatusChange()) {
+			return;
+		}
+		monthRepository.setDay(event.studentId(), event.subjectId(), event.date().withDayOfMonth(1),
+				AttendanceMonth.dayBit(event.date()), event.status() == AttendanceStatus.PRESENT);
+	}
+
+	// Existing installs (and the sample data, which is written without events) start with an empty table;
+	// rebuild a shard from its attendance rows while it has no month rows. One statement covers every
+	// tenant on the shard, since the rows are keyed by ids.
+	@EventListener(ApplicationReadyEvent.class)
+	public void initializeMonths() {
+		tenantRegistry.getTenantsByShard().forEach((shard, tenants) -> TenantContext.run(tenants.get(0), () -> {
+			if (monthRepository.count() > 0) {
+				return;
+			}
+			Integer rows = transactionTemplate.execute(status -> monthRepository.rebuildAll());
+			System.out.println("Initialized attendance month bitsets on shard " + shard + " (" + rows + " rows written)");
+		}));
+	}
+
+	public List<MonthlyAttendance> getHistory(Long studentId, LocalDate from, LocalDate to) {
+		List<MonthlyAttendance> history = new ArrayList<>();
+		for (AttendanceMonth month : loadMonths(studentId, from, to)) {
+			int mask = rangeMask(month.getMonthStart(), from, to);
+			int marked = month.getMarkedDays() & mask;
+			if (marked == 0) {
+				continue;
+			}
+			int present = month.getPresentDays() & mask;
+			char[] days = new char[month.getMonthStart().lengthOfMonth()];
+			for (int d = 0; d < days.length; d++) {
+				int bit = 1 << d;
+				days[d] = (marked & bit) == 0 ? '-' : (present & bit) != 0 ? 'P' : 'A';
+			}
+			history.add(new MonthlyAttendance(month.getSubjectId(), YearMonth.from(month.getMonthStart()),
+					new String(days)));
+		}
+		return history;
+	}
+
+	public List<SubjectPercentage> getPercentages(Long studentId, LocalDate from, LocalDate to) {
+		Map<Long, long[]> counts = new LinkedHashMap<>(); // subjectId -> {present, total}
+		for (AttendanceMonth month : loadMonths(studentId, from, to)) {
+			int mask = rangeMask(month.getMonthStart(), from, to);
+			long[] c = counts.computeIfAbsent(month.getSubjectId(), id -> new long[2]);
+			c[0] += Integer.bitCount(month.getPresentDays() & mask);
+			c[1] += Integer.bitCount(month.getMarkedDays() & mask);
+		}
+		List<SubjectPercentage> result = new ArrayList<>(counts.size());
+		counts.forEach((subjectId, c) -> {
+			if (c[1] > 0) {
+				result.add(new SubjectPercentage(subjectId, c[0], c[1], (double) c[0] / c[1]));
+			}
+		});
+		result.sort(Comparator.comparing(SubjectPercentage::subjectId));
+		return result;
+	}
+
+	public AttendanceCalendar getCalendar(Long studentId, LocalDate from, LocalDate to) {
+		int length = (int) ChronoUnit.DAYS.between(from, to) + 1;
+		int[] present = new int[length];
+		int[] marked = new int[length];
+		for (AttendanceMonth month : loadMonths(studentId, from, to)) {
+			LocalDate monthStart = month.getMonthStart();
+			int mask = rangeMask(monthStart, from, to);
+			int offset = (int) ChronoUnit.DAYS.between(from, monthStart); // negative when from is mid-month
+			for (int bits = month.getMarkedDays() & mask; bits != 0; bits &= bits - 1) {
+				int d = Integer.numberOfTrailingZeros(bits);
+				marked[offset + d]++;
+				if ((month.getPresentDays() & (1 << d)) != 0) {
+					present[offset + d]++;
+				}
+			}
+		}
+		return new AttendanceCalendar(studentId, from, to, present, marked);
+	}
+
+	private List<AttendanceMonth> loadMonths(Long studentId, LocalDate from, LocalDate to) {
+		if (from.isAfter(to)) {
+			throw new InvalidRequestException("from must not be after to");
+		}
+		if (ChronoUnit.MONTHS.between(YearMonth.from(from), YearMonth.from(to)) >= MAX_MONTHS) {
+			throw new InvalidRequestException("Range is limited to " + MAX_MONTHS + " months");
+		}
+		// Month rows carry no tenant, so check the student against the caller's tenant first
+		if (!studentRepository.existsById(studentId)) {
+			throw new NotFoundException("Student not found");
+		}
+		return monthRepository.findByStudentIdAndMonthStartBetweenOrderByMonthStartAscSubjectIdAsc(studentId,
+				from.withDayOfMonth(1), to.withDayOfMonth(1));
+	}
+
+	// Bits of the month's days that fall inside [from, to]
+	static int rangeMask(LocalDate monthStart, LocalDate from, LocalDate to) {
+		int first = from.isAfter(monthStart) ? from.getDayOfMonth() : 1;
+		LocalDate monthEnd = monthStart.withDayOfMonth(monthStart.lengthOfMonth());
+		int last = to.isBefore(monthEnd) ? to.getDayOfMonth() : monthEnd.getDayOfMonth();
+		// Bits first-1 .. last-1; last is at most 31, so the shift never overflows
+		return ((1 << last) - 1) & ~((1 << (first - 1)) - 1);
+	}
+}
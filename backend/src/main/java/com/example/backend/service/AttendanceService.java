@@ -1,18 +1,33 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.ChangesPage;
+import com.example.backend.dto.MarkCommand;
+import com.example.backend.dto.RollCall;
+import com.example.backend.event.AttendanceChangedEvent;
+import com.example.backend.exception.InvalidRequestException;
+import com.example.backend.exception.NotFoundException;
+import com.example.backend.jfr.AttendanceMarkEvent;
+import com.example.backend.jfr.DashboardAggregateEvent;
 import com.example.backend.model.*;
 import com.example.backend.repo.AttendanceRepository;
 import com.example.backend.repo.StudentRepository;
 import com.example.backend.repo.UserRepository;
 import com.example.backend.repo.SubjectRepository;
+import com.example.backend.tenant.TenantContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 @Service
 public class AttendanceService {
@@ -20,58 +35,223 @@ public class AttendanceService {
 	private final StudentRepository studentRepository;
 	private final UserRepository userRepository;
 	private final SubjectRepository subjectRepository;
+	private final ChangeSequenceService changeSequenceService;
+	private final ApplicationEventPublisher eventPublisher;
 
 	public AttendanceService(AttendanceRepository attendanceRepository,
 			StudentRepository studentRepository,
 			UserRepository userRepository,
-			SubjectRepository subjectRepository) {
+			SubjectRepository subjectRepository,
+			ChangeSequenceService changeSequenceService,
+			ApplicationEventPublisher eventPublisher) {
 		this.attendanceRepository = attendanceRepository;
 		this.studentRepository = studentRepository;
 		this.userRepository = userRepository;
 		this.subjectRepository = subjectRepository;
+		this.changeSequenceService = changeSequenceService;
+		this.eventPublisher = eventPublisher;
 	}
 
 	@Transactional
 	public Attendance markAttendance(Long studentId, Long subjectId, AttendanceStatus status, Long teacherId) {
+		AttendanceMarkEvent event = new AttendanceMarkEvent();
+		event.begin();
+		try {
+			return markAttendance(studentId, subjectId, status, teacherId, event);
+		} finally {
+			if (event.shouldCommit()) {
+				event.tenant = TenantContext.get();
+				event.studentId = studentId != null ? studentId : 0;
+				event.subjectId = subjectId != null ? subjectId : 0;
+				event.teacherId = teacherId != null ? teacherId : 0;
+				event.status = String.valueOf(status);
+				event.commit();
+			}
+		}
+	}
+
+	private Attendance markAttendance(Long studentId, Long subjectId, AttendanceStatus status, Long teacherId,
+			AttendanceMarkEvent event) {
 		LocalDate today = LocalDate.now();
 
-		// Find existing attendance for today or create new
+		// The sequence row is locked before the attendance row, as in the rollover job, so the two cannot
+		// deadlock on each other's rows
+		long changeSeq = changeSequenceService.allocate(ChangeSequenceService.ATTENDANCE, 1);
+
+		// Find existing attendance for today or create it. A missing row is inserted unmarked and then locked,
+		// instead of saved as a new entity: the rollover job or another mark may insert the same row meanwhile,
+		// and a plain insert would then fail on the (student, subject, date) key.
+		// The row is locked before its status is read, so previousStatus is the one this mark replaces
 		Attendance attendance = attendanceRepository
-				.findByStudentIdAndSubjectIdAndDate(studentId, subjectId, today)
+				.findForUpdate(studentId, subjectId, today)
 				.orElseGet(() -> {
-					Attendance a = new Attendance();
-					Student student = studentRepository.findById(studentId)
-							.orElseThrow(() -> new RuntimeException("Student not found"));
-					Subject subject = subjectRepository.findById(subjectId)
-							.orElseThrow(() -> new RuntimeException("Subject not found"));
-					User teacher = userRepository.findById(teacherId)
-							.orElseThrow(() -> new RuntimeException("Teacher not found"));
-
-					a.setStudent(student);
-					a.setSubject(subject);
-					a.setMarkedBy(teacher);
-					a.setDate(today);
-					return a;
+					// findById rather than existsById: students and subjects are served from the second-level cache
+					studentRepository.findById(studentId).orElseThrow(() -> new NotFoundException("Student not found"));
+					subjectRepository.findById(subjectId).orElseThrow(() -> new NotFoundException("Subject not found"));
+					attendanceRepository.ensureExists(TenantContext.get(), studentId, subjectId, today);
+					return attendanceRepository.findForUpdate(studentId, subjectId, today).orElseThrow();
 				});
 
+		// A row the rollover job pre-created counts as a session only from its first mark, which records the
+		// teacher and is published as a new record
+		AttendanceStatus previousStatus = attendance.getMarkedBy() != null ? attendance.getStatus() : null;
+		if (attendance.getMarkedBy() == null) {
+			attendance.setMarkedBy(userRepository.findById(teacherId)
+					.orElseThrow(() -> new NotFoundException("Teacher not found")));
+		}
+		applyStatus(attendance, status);
+		attendance.setChangeSeq(changeSeq);
+
+		Attendance saved = attendanceRepository.save(attendance);
+		publishChange(saved, previousStatus, saved.getStatus());
+		event.previousStatus = previousStatus != null ? previousStatus.name() : "";
+		event.succeeded = true;
+		return saved;
+	}
+
+	// Group-commit path for buffered marks: same semantics as markAttendance, but one transaction and
+	// one lookup per subject for the whole batch. Marks for unknown students or teachers are skipped.
+	@Transactional
+	public int markAttendanceBatch(List<MarkCommand> commands) {
+		return markBatch(LocalDate.now(), commands);
+	}
+
+	// Replay of marks taken on the given day, possibly before midnight (see PendingMarkService)
+	@Transactional
+	public int markAttendanceBatch(LocalDate date, List<MarkCommand> commands) {
+		return markBatch(date, commands);
+	}
+
+	private int markBatch(LocalDate date, List<MarkCommand> commands) {
+		// Last mark wins for a student/subject pair within the batch; subjects in id order, like the rollover job
+		Map<Long, Map<Long, MarkCommand>> bySubject = new TreeMap<>();
+		for (MarkCommand command : commands) {
+			bySubject.computeIfAbsent(command.subjectId(), k -> new LinkedHashMap<>()).put(command.studentId(), command);
+		}
+		if (bySubject.isEmpty()) {
+			return 0;
+		}
+
+		// The sequence row is locked before any attendance row, as in markAttendance. Values left over by
+		// skipped marks are gaps the changes feed does not care about.
+		int marked = bySubject.values().stream().mapToInt(Map::size).sum();
+		long changeSeq = changeSequenceService.allocate(ChangeSequenceService.ATTENDANCE, marked);
+
+		List<Attendance> changed = new ArrayList<>(marked);
+		List<AttendanceStatus> previous = new ArrayList<>(marked);
+		for (Map.Entry<Long, Map<Long, MarkCommand>> entry : bySubject.entrySet()) {
+			Subject subject = subjectRepository.findById(entry.getKey()).orElse(null);
+			if (subject == null) {
+				continue;
+			}
+			Map<Long, MarkCommand> marks = entry.getValue();
+
+			// Missing rows are inserted unmarked, as in markAttendance: the rollover job or another mark may
+			// be inserting the same rows. All rows are then read under lock, so previousStatus is the status
+			// each mark replaces.
+			attendanceRepository.ensureExistsForStudents(TenantContext.get(), subject.getId(), date, marks.keySet());
+			Map<Long, Attendance> existing = new HashMap<>();
+			attendanceRepository.findForUpdateBySubject(subject.getId(), date, marks.keySet())
+					.forEach(a -> existing.put(a.getStudent().getId(), a));
+
+			for (MarkCommand command : marks.values()) {
+				Attendance attendance = existing.get(command.studentId());
+				if (attendance == null) {
+					continue;
+				}
+				AttendanceStatus previousStatus = null;
+				if (attendance.getMarkedBy() != null) {
+					previousStatus = attendance.getStatus();
+				} else {
+					// Pre-created by the rollover job or above: the first mark makes it a session, as in
+					// markAttendance
+					User teacher = userRepository.findById(command.teacherId()).orElse(null);
+					if (teacher == null) {
+						continue;
+					}
+					attendance.setMarkedBy(teacher);
+				}
+				applyStatus(attendance, command.status(), command.markedAt());
+				attendance.setChangeSeq(changeSeq++);
+				changed.add(attendance);
+				previous.add(previousStatus);
+			}
+		}
+		if (changed.isEmpty()) {
+			return 0;
+		}
+
+		List<Attendance> saved = attendanceRepository.saveAll(changed);
+		for (int i = 0; i < saved.size(); i++) {
+			publishChange(saved.get(i), previous.get(i), saved.get(i).getStatus());
+		}
+		return saved.size();
+	}
+
+	private void applyStatus(Attendance attendance, AttendanceStatus status) {
+		applyStatus(attendance, status, null);
+	}
+
+	private void applyStatus(Attendance attendance, AttendanceStatus status, LocalDateTime markedAt) {
 		attendance.setStatus(status);
 		if (status == AttendanceStatus.PRESENT) {
-			attendance.setMarkedAt(LocalDateTime.now());
+			attendance.setMarkedAt(markedAt != null ? markedAt : LocalDateTime.now());
 		} else {
 			attendance.setMarkedAt(null);
 		}
+	}
 
-		return attendanceRepository.save(attendance);
+	private void publishChange(Attendance attendance, AttendanceStatus previousStatus, AttendanceStatus status) {
+		if (previousStatus == status) {
+			return;
+		}
+		eventPublisher.publishEvent(new AttendanceChangedEvent(attendance.getId(),
+				attendance.getStudent().getId(),
+				attendance.getSubject().getId(),
+				attendance.getDate(),
+				previousStatus,
+				status));
 	}
 
 	public List<Attendance> getStudentAttendance(Long studentId) {
 		return attendanceRepository.findByStudentId(studentId);
 	}
 
+	// Streaming variants for the list endpoints; consume inside a transaction (see StreamingListWriter)
+	public Stream<Attendance> streamStudentAttendance(Long studentId) {
+		return attendanceRepository.streamByStudentId(studentId);
+	}
+
+	public Stream<Attendance> streamTodayAttendance() {
+		return attendanceRepository.streamByDate(LocalDate.now());
+	}
+
 	public List<Attendance> getStudentAttendanceByDateRange(Long studentId, LocalDate start, LocalDate end) {
 		return attendanceRepository.findByStudentIdAndDateBetween(studentId, start, end);
 	}
 
+	public RollCall getRollCall(Long subjectId, LocalDate date) {
+		// One query for the subject check and the roster, see findRollCall
+		List<Object[]> rows = studentRepository.findRollCall(subjectId, date);
+		if (rows.isEmpty()) {
+			throw new NotFoundException("Subject not found");
+		}
+		if (rows.get(0)[0] == null) {
+			rows = List.of();
+		}
+		long[] ids = new long[rows.size()];
+		String[] usernames = new String[rows.size()];
+		char[] statuses = new char[rows.size()];
+		for (int i = 0; i < rows.size(); i++) {
+			Object[] row = rows.get(i);
+			ids[i] = (Long) row[0];
+			usernames[i] = (String) row[1];
+			AttendanceStatus status = (AttendanceStatus) row[2];
+			statuses[i] = status == null ? '-' : status == AttendanceStatus.PRESENT ? 'P' : 'A';
+		}
+		return new RollCall(subjectId, date, ids, usernames, new String(statuses));
+	}
+
 	public List<Attendance> getTodayAttendance() {
 		return attendanceRepository.findByDate(LocalDate.now());
 	}
@@ -88,6 +268,8 @@ public class AttendanceService {
 	}
 
 	public Map<String, Long> getTodaySubjectWiseCounts() {
+		DashboardAggregateEvent event = new DashboardAggregateEvent();
+		event.begin();
 		Map<String, Long> result = new HashMap<>();
 		LocalDate today = LocalDate.now();
 
@@ -103,29 +285,82 @@ public class AttendanceService {
 			result.putIfAbsent(subject.getName(), 0L);
 		});
 
+		commit(event, "subjectCounts", result.size());
 		return result;
 	}
 
 	public Map<String, Object> getDashboardSummary() {
+		DashboardAggregateEvent event = new DashboardAggregateEvent();
+		event.begin();
 		long studentCount = userRepository.findByRole(UserRole.STUDENT).size();
 		long subjectCount = subjectRepository.count();
 
 		LocalDate today = LocalDate.now();
 		Long presentTotal = attendanceRepository.countPresentStudentsByDate(today);
+		// Students a teacher has marked today who attended none of their subjects
+		Long markedTotal = attendanceRepository.countMarkedStudentsByDate(today);
 
 		Map<String, Object> res = new HashMap<>();
 		res.put("totalStudents", studentCount);
 		res.put("totalSubjects", subjectCount);
 		res.put("presentTotal", presentTotal != null ? presentTotal : 0L);
-		res.put("absentTotal", Math.max(0, studentCount - (presentTotal != null ? presentTotal : 0L)));
-		res.put("perSubject", getTodaySubjectWiseCounts());
+		res.put("absentTotal", Math.max(0, (markedTotal != null ? markedTotal : 0L)
+				- (presentTotal != null ? presentTotal : 0L)));
+		Map<String, Long> perSubject = getTodaySubjectWiseCounts();
+		res.put("perSubject", perSubject);
 
+		commit(event, "summary", perSubject.size());
 		return res;
 	}
 
+	private static void commit(DashboardAggregateEvent event, String aggregate, int subjects) {
+		if (event.shouldCommit()) {
+			event.tenant = TenantContext.get();
+			event.aggregate = aggregate;
+			event.subjects = subjects;
+			event.commit();
+		}
+	}
+
 	@Transactional
 	public void resetDailyAttendance() {
 		LocalDate today = LocalDate.now();
-		attendanceRepository.resetAttendanceForDate(today);
+		// All reset rows share one sequence value; the feed cursor breaks ties by id. Allocated before the
+		// rows are locked, as in markAttendance.
+		long changeSeq = changeSequenceService.allocate(ChangeSequenceService.ATTENDANCE, 1);
+		// Capture the rows the bulk update will flip so listeners still see every change
+		List<Attendance> present = attendanceRepository.findForUpdateByStatusAndDate(AttendanceStatus.PRESENT, today);
+		if (present.isEmpty()) {
+			return;
+		}
+		attendanceRepository.resetAttendanceForDate(TenantContext.get(), today, changeSeq);
+		present.forEach(a -> publishChange(a, AttendanceStatus.PRESENT, AttendanceStatus.ABSENT));
+	}
+
+	// Delta sync: rows changed after the token, oldest change first. Tokens are "<changeSeq>.<id>".
+	public ChangesPage getChangesSince(String token, int limit) {
+		long seq = 0;
+		long id = 0;
+		if (token != null && !token.isEmpty()) {
+			String[] parts = token.split("\\.");
+			try {
+				seq = Long.parseLong(parts[0]);
+				id = parts.length > 1 ? Long.parseLong(parts[1]) : 0;
+			} catch (NumberFormatException e) {
+				throw new InvalidRequestException("Invalid change token");
+			}
+		}
+
+		int pageSize = Math.max(1, Math.min(limit, 1000));
+		List<Attendance> rows = attendanceRepository.findChangesAfter(seq, id, PageRequest.of(0, pageSize + 1));
+		boolean hasMore = rows.size() > pageSize;
+		List<Attendance> changes = hasMore ? rows.subList(0, pageSize) : rows;
+
+		String nextToken = token == null || token.isEmpty() ? "0.0" : token;
+		if (!changes.isEmpty()) {
+			Attendance last = changes.get(changes.size() - 1);
+			nextToken = last.getChangeSeq() + "." + last.getId();
+		}
+		return new ChangesPage(changes, nextToken, hasMore);
 	}
 }
\ No newline at end of file
@@ -1,79 +1,99 @@
 package com.example.backend.service;
 
+import com.example.backend.exception.InvalidCredentialsException;
+import com.example.backend.jfr.LoginEvent;
 import com.example.backend.model.*;
 import com.example.backend.repo.UserRepository;
+import com.example.backend.tenant.TenantContext;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Service
 public class AuthService {
 	private final UserRepository userRepository;
+	private final UserService userService;
+	private final PasswordHashingService passwordHashingService;
 
-	public AuthService(UserRepository userRepository) {
+	public AuthService(UserRepository userRepository, UserService userService,
+			PasswordHashingService passwordHashingService) {
 		this.userRepository = userRepository;
+		this.userService = userService;
+		this.passwordHashingService = passwordHashingService;
 	}
 
-	@Transactional
+	// Not transactional: the hash check must not hold a DB connection while it waits for the hashing pool
 	public User login(String username, String password) {
-		Optional<User> userOpt = userRepository.findByUsername(username);
+		LoginEvent event = new LoginEvent();
+		event.begin();
+		try {
+			Optional<User> userOpt = userRepository.findByUsername(username);
 
-		if (userOpt.isPresent()) {
-			User user = userOpt.get();
-			// Simple password check (no hashing as requested)
-			if (user.getPassword().equals(password)) {
-				return user;
+			if (userOpt.isPresent()) {
+				return verify(userOpt.get(), password, event);
 			} else {
-				throw new RuntimeException("Invalid password");
+				event.outcome = "unknown-user";
+				throw new InvalidCredentialsException("User not found");
 			}
-		} else {
-			throw new RuntimeException("User not found");
+		} finally {
+			commit(event);
 		}
 	}
 
-	@Transactional
 	public User register(String username, String password, UserRole role, String name, String email) {
-		if (userRepository.existsByUsername(username)) {
-			throw new RuntimeException("Username already exists");
-		}
-
-		User user = new User();
-		user.setUsername(username);
-		user.setPassword(password); // Stored as plain text (as requested)
-		user.setRole(role);
-		user.setName(name);
-		user.setEmail(email);
-
-		return userRepository.save(user);
+		return userService.createUser(username, password, role, name, email);
 	}
 
-	@Transactional
 	public User loginOrRegister(String username, String password) {
-		Optional<User> userOpt = userRepository.findByUsername(username);
+		LoginEvent event = new LoginEvent();
+		event.begin();
+		try {
+			Optional<User> userOpt = userRepository.findByUsername(username);
 
-		if (userOpt.isPresent()) {
-			// Login existing user
-			User user = userOpt.get();
-			if (user.getPassword().equals(password)) {
-				return user;
+			if (userOpt.isPresent()) {
+				// Login existing user
+				return verify(userOpt.get(), password, event);
 			} else {
-				throw new RuntimeException("Invalid password");
+				// Auto-register new user as STUDENT, using username as default name and a default email
+				User user = userService.createUser(username, password, UserRole.STUDENT, username,
+						username + "@student.edu");
+				event.userId = user.getId();
+				event.outcome = "registered";
+				return user;
 			}
-		} else {
-			// Auto-register new user as STUDENT
-			User user = new User();
-			user.setUsername(username);
-			user.setPassword(password);
-			user.setRole(UserRole.STUDENT);
-			user.setName(username); // Use username as default name
-			user.setEmail(username + "@student.edu"); // Default email
-
-			return userRepository.save(user);
+		} finally {
+			commit(event);
 		}
 	}
 
 	public Optional<User> findByUsername(String username) {
 		return userRepository.findByUsername(username);
 	}
-}
\ No newline at end of file
+
+	private User verify(User user, String password, LoginEvent event) {
+		event.userId = user.getId();
+		if (!passwordHashingService.matches(password, user.getPassword())) {
+			event.outcome = "invalid-password";
+			throw new InvalidCredentialsException("Invalid password");
+		}
+		// Transparently move legacy plaintext (or weaker) hashes to the current encoder
+		if (passwordHashingService.needsRehash(user.getPassword())) {
+			user.setPassword(passwordHashingService.encode(password));
+			userRepository.save(user);
+			event.rehashed = true;
+		}
+		event.outcome = "ok";
+		return user;
+	}
+
+	// Attempts that ended any other way (a full hashing pool, a database error) are recorded as failed
+	private static void commit(LoginEvent event) {
+		if (event.shouldCommit()) {
+			event.tenant = TenantContext.get();
+			if (event.outcome == null) {
+				event.outcome = "failed";
+			}
+			event.commit();
+		}
+	}
+}
@@ -0,0 +1,221 @@
+package com.example.backend.service;
+
+import com.example.backend.event.AttendanceChangedEvent;
+import com.example.backend.event.UserChangedEvent;
+import com.example.backend.model.Student;
+import com.example.backend.model.Subject;
+import com.example.backend.model.User;
+import com.example.backend.tenant.TenantContext;
+import com.example.backend.tenant.TenantRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.ClassUtils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keeps each instance's in-process caches coherent when several backend instances share a database.
+// Writes on this instance already refresh its own caches through the usual listeners; the bus tells the
+// others. After commit a write notes which entity type it changed, and every interval-ms a dedicated thread
+// publishes the types changed since the last tick (one version bump per tenant and type, however many
+// writes) and reads every type's version. A version that moved since the last read, other than by this
+// instance's own bump, drops the matching caches here:
+//   subjects   - Hibernate's subjects region, the dashboard's subject list, summary and per-subject counts
+//   users      - the users and students regions, the student directory and the dashboard summary
+//   attendance - the dashboard summary and per-subject counts
+// A write therefore reaches the other instances within about two intervals. Hibernate can't evict one entry
+// of a multi-tenant entity by id, so whole regions go; users and subjects change rarely. A failed publish
+// is retried on the next tick, and while the transport is down caches fall back on their own expiry.
+@Service
+public class CacheInvalidationBus {
+	public static final String SUBJECTS = "subjects";
+	public static final String USERS = "users";
+	public static final String ATTENDANCE = "attendance";
+
+	private final InvalidationTransport transport;
+	private final TenantRegistry tenantRegistry;
+	private final DashboardReadService dashboardReadService;
+	private final StudentDirectoryService studentDirectoryService;
+	private final Cache secondLevelCache;
+	private final boolean enabled;
+	private final long intervalMillis;
+	private final String origin = UUID.randomUUID().toString();
+	private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread t = new Thread(r, "cache-invalidation");
+		t.setDaemon(true);
+		return t;
+	});
+
+	// Entity types changed here and not yet published, per tenant. Sets are only touched inside
+	// compute/remove, so a change can't slip in between taking a set and publishing it.
+	private final Map<String, Set<String>> outgoing = new ConcurrentHashMap<>();
+	// Versions read on the last tick, per tenant; poller thread only
+	private final Map<String, Map<String, Long>> seen = new HashMap<>();
+
+	private final AtomicLong published = new AtomicLong();
+	private final AtomicLong received = new AtomicLong();
+	private final AtomicLong failures = new AtomicLong();
+	private volatile long lastTickMillis;
+	private volatile String lastError;
+
+	public CacheInvalidationBus(InvalidationTransport transport,
+			TenantRegistry tenantRegistry,
+			DashboardReadService dashboardReadService,
+			StudentDirectoryService studentDirectoryService,
+			EntityManagerFactory entityManagerFactory,
+			@Value("${cache.invalidation.enabled:true}") boolean enabled,
+			@Value("${cache.invalidation.interval-ms:500}") long intervalMillis) {
+		this.transport = transport;
+		this.tenantRegistry = tenantRegistry;
+		this.dashboardReadService = dashboardReadService;
+		this.studentDirectoryService = studentDirectoryService;
+		this.secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+		this.enabled = enabled;
+		this.intervalMillis = intervalMillis;
+	}
+
+	// Own thread rather than @Scheduled, so a long rollover or digest job can't delay invalidations.
+	// Starts before the warm-up fills the caches, so the first read only records the versions.
+	@PostConstruct
+	public void start() {
+		if (enabled) {
+			poller.scheduleWithFixedDelay(this::tick, 0, intervalMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserChanged(UserChangedEvent event) {
+		changed(USERS);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onAttendanceChanged(AttendanceChangedEvent event) {
+		changed(ATTENDANCE);
+	}
+
+	public void subjectsChanged() {
+		changed(SUBJECTS);
+	}
+
+	private void changed(String entity) {
+		if (!enabled) {
+			return;
+		}
+		outgoing.compute(TenantContext.get(), (tenant, entities) -> {
+			Set<String> res = entities != null ? entities : new HashSet<>();
+			res.add(entity);
+			return res;
+		});
+	}
+
+	void tick() {
+		long start = System.nanoTime();
+		tenantRegistry.forEachTenant(tenant -> {
+			publish(tenant);
+			poll(tenant);
+		});
+		lastTickMillis = (System.nanoTime() - start) / 1_000_000;
+	}
+
+	private void publish(String tenant) {
+		Set<String> entities = outgoing.remove(tenant);
+		if (entities == null) {
+			return;
+		}
+		try {
+			transport.publish(origin, entities);
+			published.addAndGet(entities.size());
+		} catch (Exception e) {
+			outgoing.compute(tenant, (t, newer) -> {
+				Set<String> res = newer != null ? newer : new HashSet<>();
+				res.addAll(entities);
+				return res;
+			});
+			failed("publish", e);
+		}
+	}
+
+	private void poll(String tenant) {
+		Map<String, Long> versions;
+		Set<String> changed = new HashSet<>();
+		try {
+			Map<String, Long> previous = seen.get(tenant);
+			versions = new HashMap<>();
+			for (InvalidationTransport.Version version : transport.versions()) {
+				versions.put(version.entity(), version.version());
+				long last = previous == null ? version.version() : previous.getOrDefault(version.entity(), 0L);
+				// Exactly one bump since the last read, and it was ours: nothing to drop
+				boolean ownBump = origin.equals(version.origin()) && version.version() == last + 1;
+				if (version.version() != last && !ownBump) {
+					changed.add(version.entity());
+				}
+			}
+		} catch (Exception e) {
+			failed("poll", e);
+			return;
+		}
+		seen.put(tenant, versions);
+		if (!changed.isEmpty()) {
+			received.addAndGet(changed.size());
+			apply(changed);
+		}
+	}
+
+	private void apply(Set<String> changed) {
+		if (changed.contains(SUBJECTS)) {
+			secondLevelCache.evictEntityData(Subject.class);
+			dashboardReadService.subjectsChanged();
+		}
+		if (changed.contains(USERS)) {
+			secondLevelCache.evictEntityData(User.class);
+			secondLevelCache.evictEntityData(Student.class);
+			studentDirectoryService.scheduleRebuild();
+			dashboardReadService.usersChanged();
+		}
+		if (changed.contains(ATTENDANCE)) {
+			dashboardReadService.attendanceChanged();
+		}
+	}
+
+	private void failed(String step, Exception e) {
+		failures.incrementAndGet();
+		lastError = e.getMessage();
+		System.out.println("Cache invalidation " + step + " failed for tenant " + TenantContext.get() + ": "
+				+ e.getMessage());
+	}
+
+	public Map<String, Object> getStats() {
+		Map<String, Object> res = new LinkedHashMap<>();
+		res.put("enabled", enabled);
+		res.put("transport", ClassUtils.getUserClass(transport).getSimpleName());
+		res.put("origin", origin);
+		res.put("intervalMs", intervalMillis);
+		res.put("published", published.get());
+		res.put("received", received.get());
+		res.put("failures", failures.get());
+		res.put("lastTickMs", lastTickMillis);
+		res.put("lastError", lastError);
+		return res;
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		poller.shutdown();
+		poller.awaitTermination(5, TimeUnit.SECONDS);
+	}
+}
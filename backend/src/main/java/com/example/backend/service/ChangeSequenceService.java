@@ -0,0 +1,35 @@
+package com.example.backend.service;
+
+import com.example.backend.model.ChangeSequence;
+import com.example.backend.repo.ChangeSequenceRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class ChangeSequenceService {
+	public static final String ATTENDANCE = "attendance";
+
+	private final ChangeSequenceRepository changeSequenceRepository;
+
+	public ChangeSequenceService(ChangeSequenceRepository changeSequenceRepository) {
+		this.changeSequenceRepository = changeSequenceRepository;
+	}
+
+	// Reserves count values and returns the first. Must run inside the writer's transaction: the sequence
+	// row stays locked until that transaction commits. Writers call it before locking any attendance row,
+	// so every path takes the two locks in the same order.
+	@Transactional(propagation = Propagation.MANDATORY)
+	public long allocate(String name, int count) {
+		ChangeSequence sequence = changeSequenceRepository.findForUpdate(name)
+				.orElseGet(() -> changeSequenceRepository.save(new ChangeSequence(name, 0)));
+		long first = sequence.getValue() + 1;
+		sequence.setValue(sequence.getValue() + count);
+		return first;
+	}
+
+	@Transactional(readOnly = true)
+	public long current(String name) {
+		return changeSequenceRepository.findById(name).map(ChangeSequence::getValue).orElse(0L);
+	}
+}
@@ -0,0 +1,159 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.MarkCommand;
+import com.example.backend.exception.ServiceBusyException;
+import com.example.backend.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Absorbs check-in bursts: requests only enqueue, and a single flusher writes the queue to the
+// attendance table in batches, one transaction (one commit) per batch. Batches go through PendingMarkService,
+// so while the database is unreachable they land in the write-ahead log instead of being retried here.
+@Service
+public class CheckinBuffer {
+	private final PendingMarkService pendingMarkService;
+	private final BlockingQueue<Pending> queue;
+	private final long flushIntervalMillis;
+	private final int maxBatchSize;
+	private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread t = new Thread(r, "checkin-flusher");
+		t.setDaemon(true);
+		return t;
+	});
+
+	private final AtomicLong accepted = new AtomicLong();
+	private final AtomicLong rejected = new AtomicLong();
+	private final AtomicLong flushed = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private final AtomicLong logged = new AtomicLong();
+	private final AtomicLong requeued = new AtomicLong();
+	private final AtomicLong batches = new AtomicLong();
+	private volatile long lastBatchMillis;
+
+	public CheckinBuffer(PendingMarkService pendingMarkService,
+			@Value("${checkin.buffer.capacity:10000}") int capacity,
+			@Value("${checkin.buffer.flush-interval-ms:200}") long flushIntervalMillis,
+			@Value("${checkin.buffer.max-batch-size:500}") int maxBatchSize) {
+		this.pendingMarkService = pendingMarkService;
+		this.queue = new ArrayBlockingQueue<>(capacity);
+		this.flushIntervalMillis = flushIntervalMillis;
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	@PostConstruct
+	public void start() {
+		flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	public void submit(MarkCommand command) {
+		if (!queue.offer(new Pending(TenantContext.get(), command))) {
+			rejected.incrementAndGet();
+			throw new ServiceBusyException("Check-in is busy, please scan again", 1);
+		}
+		accepted.incrementAndGet();
+	}
+
+	// Drains everything queued so far, in batches of at most maxBatchSize. A batch holding marks of
+	// several tenants is written as one transaction per tenant, since each tenant may live on another shard.
+	// Marks that had to go back on the queue end the run; the next interval tries them again.
+	void flush() {
+		List<Pending> drained = new ArrayList<>(maxBatchSize);
+		while (queue.drainTo(drained, maxBatchSize) > 0) {
+			long start = System.nanoTime();
+			Map<String, List<MarkCommand>> byTenant = new LinkedHashMap<>();
+			for (Pending pending : drained) {
+				byTenant.computeIfAbsent(pending.tenant(), k -> new ArrayList<>()).add(pending.command());
+			}
+			int back = 0;
+			for (Map.Entry<String, List<MarkCommand>> entry : byTenant.entrySet()) {
+				back += TenantContext.call(entry.getKey(), () -> write(entry.getValue()));
+			}
+			lastBatchMillis = (System.nanoTime() - start) / 1_000_000;
+			flushed.addAndGet(drained.size() - back);
+			batches.incrementAndGet();
+			drained.clear();
+			if (back > 0) {
+				return;
+			}
+		}
+	}
+
+	// Returns how many marks went back on the queue
+	private int write(List<MarkCommand> batch) {
+		try {
+			logged.addAndGet(pendingMarkService.markBatch(batch));
+			return 0;
+		} catch (RuntimeException e) {
+			if (isUnavailable(e)) {
+				return requeue(batch);
+			}
+			System.out.println("Check-in batch of " + batch.size() + " failed (" + e.getMessage()
+					+ "), retrying individually");
+		}
+		// One bad mark must not lose the rest of the batch: retry individually
+		for (int i = 0; i < batch.size(); i++) {
+			try {
+				logged.addAndGet(pendingMarkService.markBatch(List.of(batch.get(i))));
+			} catch (RuntimeException ex) {
+				if (isUnavailable(ex)) {
+					return requeue(batch.subList(i, batch.size()));
+				}
+				failed.incrementAndGet();
+			}
+		}
+		return 0;
+	}
+
+	// Neither the database nor the write-ahead log (when disabled or failing) could take the marks
+	private static boolean isUnavailable(RuntimeException e) {
+		return PendingMarkService.isUnavailable(e) || e instanceof ServiceBusyException;
+	}
+
+	private int requeue(List<MarkCommand> commands) {
+		String tenant = TenantContext.get();
+		for (MarkCommand command : commands) {
+			if (queue.offer(new Pending(tenant, command))) {
+				requeued.incrementAndGet();
+			} else {
+				failed.incrementAndGet();
+			}
+		}
+		return commands.size();
+	}
+
+	public Map<String, Object> getStats() {
+		return Map.of(
+				"queued", queue.size(),
+				"accepted", accepted.get(),
+				"rejected", rejected.get(),
+				"flushed", flushed.get(),
+				"failed", failed.get(),
+				"logged", logged.get(),
+				"requeued", requeued.get(),
+				"batches", batches.get(),
+				"lastBatchMillis", lastBatchMillis);
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		flusher.shutdown();
+		flusher.awaitTermination(5, TimeUnit.SECONDS);
+		flush(); // don't drop check-ins accepted before shutdown
+	}
+
+	private record Pending(String tenant, MarkCommand command) {
+	}
+}
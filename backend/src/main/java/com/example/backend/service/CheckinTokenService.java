@@ -0,0 +1,102 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.InvalidRequestException;
+import com.example.backend.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+// Issues and validates the rotating tokens shown as a QR code in the classroom.
+// A token binds subject + teacher to a time window and is accepted for the current and previous window.
+@Service
+public class CheckinTokenService {
+	private static final int MAC_BYTES = 16;
+
+	private final byte[] secret;
+	private final long rotationSeconds;
+
+	public record Session(Long subjectId, Long teacherId) {
+	}
+
+	public CheckinTokenService(@Value("${checkin.token.secret:}") String secret,
+			@Value("${checkin.token.rotation-seconds:30}") long rotationSeconds) {
+		if (secret.isEmpty()) {
+			// Fine for a single node; set checkin.token.secret when running several
+			byte[] random = new byte[32];
+			new SecureRandom().nextBytes(random);
+			this.secret = random;
+		} else {
+			this.secret = secret.getBytes(StandardCharsets.UTF_8);
+		}
+		this.rotationSeconds = rotationSeconds;
+	}
+
+	public String issue(Long subjectId, Long teacherId) {
+		return token(subjectId, teacherId, currentWindow());
+	}
+
+	public long getRotationSeconds() {
+		return rotationSeconds;
+	}
+
+	public long secondsUntilRotation() {
+		long now = System.currentTimeMillis() / 1000;
+		return rotationSeconds - (now % rotationSeconds);
+	}
+
+	public Session validate(String token) {
+		String[] parts = token == null ? new String[0] : token.split("\\.");
+		if (parts.length != 2) {
+			throw new InvalidRequestException("Invalid check-in code");
+		}
+
+		String[] fields;
+		byte[] mac;
+		try {
+			fields = new String(Base64.getUrlDecoder().decode(parts[0]), StandardCharsets.UTF_8).split(":");
+			mac = Base64.getUrlDecoder().decode(parts[1]);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidRequestException("Invalid check-in code");
+		}
+		if (fields.length != 3 || !MessageDigest.isEqual(mac, sign(parts[0]))) {
+			throw new InvalidRequestException("Invalid check-in code");
+		}
+
+		long window = Long.parseLong(fields[2]);
+		long current = currentWindow();
+		if (window != current && window != current - 1) {
+			throw new InvalidRequestException("Check-in code has expired, scan the current one");
+		}
+		return new Session(Long.valueOf(fields[0]), Long.valueOf(fields[1]));
+	}
+
+	private long currentWindow() {
+		return System.currentTimeMillis() / 1000 / rotationSeconds;
+	}
+
+	private String token(Long subjectId, Long teacherId, long window) {
+		String payload = Base64.getUrlEncoder().withoutPadding()
+				.encodeToString((subjectId + ":" + teacherId + ":" + window).getBytes(StandardCharsets.UTF_8));
+		return payload + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(sign(payload));
+	}
+
+	// The tenant is part of the signed input, so a code shown on one campus is rejected on another
+	private byte[] sign(String payload) {
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+			mac.update((TenantContext.get() + "|").getBytes(StandardCharsets.UTF_8));
+			return Arrays.copyOf(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)), MAC_BYTES);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("HmacSHA256 unavailable", e);
+		}
+	}
+}
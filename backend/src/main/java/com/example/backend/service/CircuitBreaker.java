@@ -0,0 +1,131 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.CircuitOpenException;
+import com.example.backend.exception.DomainException;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Count-based breaker over the last windowSize calls. It opens when at least half of them failed or took
+// longer than slowCallMillis, rejects calls for openMillis, then lets single trial calls through
+// (half-open) until one succeeds quickly.
+public class CircuitBreaker {
+	public enum State { CLOSED, OPEN, HALF_OPEN }
+
+	private final String name;
+	private final long slowCallNanos;
+	private final long openNanos;
+	private final int minCalls;
+	private final boolean[] badOutcomes;
+
+	private State state = State.CLOSED;
+	private int position;
+	private int recorded;
+	private int badCount;
+	private long openedAt;
+	private boolean trialInFlight;
+	private long rejected;
+	private long opened;
+
+	public CircuitBreaker(String name, int windowSize, int minCalls, long slowCallMillis, long openMillis) {
+		this.name = name;
+		this.badOutcomes = new boolean[windowSize];
+		this.minCalls = minCalls;
+		this.slowCallNanos = slowCallMillis * 1_000_000L;
+		this.openNanos = openMillis * 1_000_000L;
+	}
+
+	public <T> T call(Supplier<T> supplier) {
+		boolean trial = acquire();
+		long start = System.nanoTime();
+		boolean bad = true;
+		try {
+			T result = supplier.get();
+			bad = System.nanoTime() - start > slowCallNanos;
+			return result;
+		} catch (DomainException e) {
+			// The caller's fault (unknown id, bad input), not a sign the dependency is failing
+			bad = System.nanoTime() - start > slowCallNanos;
+			throw e;
+		} finally {
+			record(bad, trial);
+		}
+	}
+
+	// Returns true for the half-open trial call
+	private synchronized boolean acquire() {
+		if (state == State.OPEN) {
+			if (System.nanoTime() - openedAt < openNanos) {
+				rejected++;
+				throw new CircuitOpenException(name);
+			}
+			state = State.HALF_OPEN;
+		}
+		if (state == State.HALF_OPEN) {
+			if (trialInFlight) {
+				rejected++;
+				throw new CircuitOpenException(name);
+			}
+			trialInFlight = true;
+			return true;
+		}
+		return false;
+	}
+
+	private synchronized void record(boolean bad, boolean trial) {
+		if (state == State.HALF_OPEN) {
+			// Only the trial decides; a call admitted before the circuit opened may finish late, while
+			// the trial is still running
+			if (!trial) {
+				return;
+			}
+			trialInFlight = false;
+			if (bad) {
+				open();
+			} else {
+				state = State.CLOSED;
+				position = 0;
+				recorded = 0;
+				badCount = 0;
+				Arrays.fill(badOutcomes, false);
+			}
+			return;
+		}
+		if (state != State.CLOSED) {
+			return;
+		}
+
+		if (recorded == badOutcomes.length && badOutcomes[position]) {
+			badCount--;
+		}
+		badOutcomes[position] = bad;
+		if (bad) {
+			badCount++;
+		}
+		position = (position + 1) % badOutcomes.length;
+		recorded = Math.min(recorded + 1, badOutcomes.length);
+
+		if (recorded >= minCalls && badCount * 2 >= recorded) {
+			open();
+		}
+	}
+
+	private void open() {
+		state = State.OPEN;
+		openedAt = System.nanoTime();
+		opened++;
+		System.out.println("Circuit '" + name + "' opened");
+	}
+
+	public synchronized Map<String, Object> getStats() {
+		Map<String, Object> res = new LinkedHashMap<>();
+		res.put("state", state.name());
+		res.put("recentCalls", recorded);
+		res.put("recentBadCalls", badCount);
+		res.put("timesOpened", opened);
+		res.put("rejected", rejected);
+		return res;
+	}
+}
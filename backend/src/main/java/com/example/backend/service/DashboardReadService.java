@@ -0,0 +1,135 @@
+package com.example.backend.service;
+
+import com.example.backend.event.AttendanceChangedEvent;
+import com.example.backend.model.Subject;
+import com.example.backend.repo.SubjectRepository;
+import com.example.backend.tenant.TenantContext;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Dashboard reads served stale-while-revalidate, with every database load going through one circuit
+// breaker. When MySQL is slow or down the dashboards keep showing the last good numbers, and once the
+// breaker opens, refreshes stop adding queries to a struggling database until a trial call succeeds.
+// Keys are prefixed with the tenant, and refreshes run under the tenant of the read that triggered them.
+@Service
+public class DashboardReadService {
+	private static final String SUBJECTS = "subjects";
+
+	private final AttendanceService attendanceService;
+	private final SubjectRepository subjectRepository;
+	private final CircuitBreaker breaker;
+	private final ThreadPoolExecutor refreshExecutor;
+	private final StaleWhileRevalidateCache<Map<String, Object>> summaryCache;
+	private final StaleWhileRevalidateCache<Map<String, Long>> subjectCountsCache;
+	private final StaleWhileRevalidateCache<List<Subject>> subjectsCache;
+
+	public DashboardReadService(AttendanceService attendanceService,
+			SubjectRepository subjectRepository,
+			@Value("${dashboard.cache.ttl-ms:5000}") long ttlMillis,
+			@Value("${dashboard.cache.max-stale-ms:600000}") long maxStaleMillis,
+			@Value("${dashboard.breaker.window:20}") int window,
+			@Value("${dashboard.breaker.min-calls:10}") int minCalls,
+			@Value("${dashboard.breaker.slow-call-ms:2000}") long slowCallMillis,
+			@Value("${dashboard.breaker.open-ms:10000}") long openMillis) {
+		this.attendanceService = attendanceService;
+		this.subjectRepository = subjectRepository;
+		this.breaker = new CircuitBreaker("dashboard-db", window, minCalls, slowCallMillis, openMillis);
+		// One refresher is enough (three keys); a full queue just means a refresh is already pending
+		this.refreshExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(8),
+				r -> {
+					Thread t = new Thread(r, "dashboard-refresh");
+					t.setDaemon(true);
+					return t;
+				},
+				new ThreadPoolExecutor.AbortPolicy());
+		Executor tenantRefresh = command -> refreshExecutor.execute(TenantContext.wrap(command));
+		this.summaryCache = new StaleWhileRevalidateCache<>(ttlMillis, maxStaleMillis, tenantRefresh);
+		this.subjectCountsCache = new StaleWhileRevalidateCache<>(ttlMillis, maxStaleMillis, tenantRefresh);
+		this.subjectsCache = new StaleWhileRevalidateCache<>(ttlMillis, maxStaleMillis, tenantRefresh);
+	}
+
+	// Keyed by date so the first read after midnight doesn't show yesterday's totals
+	public Map<String, Object> getDashboardSummary() {
+		return summaryCache.get(todayKey(),
+				() -> breaker.call(attendanceService::getDashboardSummary));
+	}
+
+	public Map<String, Long> getTodaySubjectWiseCounts() {
+		return subjectCountsCache.get(todayKey(),
+				() -> breaker.call(attendanceService::getTodaySubjectWiseCounts));
+	}
+
+	public List<Subject> getSubjects() {
+		return subjectsCache.get(key(SUBJECTS), () -> breaker.call(subjectRepository::findAllOrderedByName));
+	}
+
+	// After commit, so the refresh it triggers can see the change
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onAttendanceChanged(AttendanceChangedEvent event) {
+		attendanceChanged();
+	}
+
+	public void attendanceChanged() {
+		summaryCache.markStale(todayKey());
+		subjectCountsCache.markStale(todayKey());
+	}
+
+	// The summary counts students
+	public void usersChanged() {
+		summaryCache.markStale(todayKey());
+	}
+
+	public void subjectsChanged() {
+		subjectsCache.markStale(key(SUBJECTS));
+		summaryCache.markStale(todayKey());
+		subjectCountsCache.markStale(todayKey());
+	}
+
+	// Summary and subject counts are keyed per day, so yesterday's entries are never read again
+	@Scheduled(cron = "${dashboard.cache.prune-cron:0 5 0 * * *}")
+	public void prunePastDays() {
+		String today = ":" + LocalDate.now();
+		summaryCache.removeIf(key -> !key.endsWith(today));
+		subjectCountsCache.removeIf(key -> !key.endsWith(today));
+	}
+
+	private static String todayKey() {
+		return key(LocalDate.now().toString());
+	}
+
+	private static String key(String name) {
+		return TenantContext.get() + ":" + name;
+	}
+
+	public void clear() {
+		summaryCache.clear();
+		subjectCountsCache.clear();
+		subjectsCache.clear();
+	}
+
+	public Map<String, Object> getStats() {
+		Map<String, Object> res = new LinkedHashMap<>();
+		res.put("breaker", breaker.getStats());
+		res.put("summary", summaryCache.getStats());
+		res.put("subjectCounts", subjectCountsCache.getStats());
+		res.put("subjects", subjectsCache.getStats());
+		return res;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		refreshExecutor.shutdownNow();
+	}
+}
@@ -0,0 +1,41 @@
+package com.example.backend.service;
+
+import com.example.backend.repo.CacheVersionRepository;
+import com.example.backend.tenant.TenantContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Default transport: the cache_versions table on the tenant's shard. A poll reads at most a few rows
+// per tenant, and a publish is one upsert per changed entity type, whatever the number of writes behind it.
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.transport", havingValue = "db", matchIfMissing = true)
+public class DbInvalidationTransport implements InvalidationTransport {
+	private final CacheVersionRepository cacheVersionRepository;
+
+	public DbInvalidationTransport(CacheVersionRepository cacheVersionRepository) {
+		this.cacheVersionRepository = cacheVersionRepository;
+	}
+
+	@Override
+	@Transactional
+	public void publish(String origin, Collection<String> entities) {
+		LocalDateTime now = LocalDateTime.now();
+		// Sorted, so two instances bumping the same rows lock them in the same order
+		for (String entity : entities.stream().sorted().toList()) {
+			cacheVersionRepository.bump(TenantContext.get(), entity, origin, now);
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Version> versions() {
+		return cacheVersionRepository.findAll().stream()
+				.map(v -> new Version(v.getEntity(), v.getVersion(), v.getOrigin()))
+				.toList();
+	}
+}
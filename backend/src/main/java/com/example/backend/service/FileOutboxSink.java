@@ -0,0 +1,59 @@
+package com.example.backend.service;
+
+import com.example.backend.model.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Local stand-in for a broker: appends one JSON object per event to a file and fsyncs before
+// reporting success. Replace by setting outbox.sink to something else and providing an OutboxSink bean.
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "file", matchIfMissing = true)
+public class FileOutboxSink implements OutboxSink {
+	private final Path path;
+	private final ObjectMapper objectMapper;
+
+	public FileOutboxSink(@Value("${outbox.file.path:outbox/attendance-events.jsonl}") String path,
+			ObjectMapper objectMapper) {
+		this.path = Path.of(path);
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	public void publish(List<OutboxEvent> batch) throws IOException {
+		StringBuilder lines = new StringBuilder();
+		for (OutboxEvent event : batch) {
+			ObjectNode line = objectMapper.createObjectNode();
+			line.put("id", event.getId());
+			line.put("tenant", event.getTenantId());
+			line.put("type", event.getEventType());
+			line.put("key", event.getAggregateId());
+			line.put("createdAt", event.getCreatedAt().toString());
+			line.set("payload", objectMapper.readTree(event.getPayload()));
+			lines.append(objectMapper.writeValueAsString(line)).append('\n');
+		}
+
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND)) {
+			ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(false);
+		}
+	}
+}
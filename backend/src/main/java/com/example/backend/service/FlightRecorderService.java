@@ -0,0 +1,133 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.ConflictException;
+import com.example.backend.exception.InvalidRequestException;
+import com.example.backend.exception.NotFoundException;
+import com.example.backend.jfr.AttendanceMarkEvent;
+import com.example.backend.jfr.DashboardAggregateEvent;
+import com.example.backend.jfr.LoginEvent;
+import com.example.backend.jfr.PresenceResetEvent;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// One on-demand flight recording of the live service, driven from /api/admin/jfr. It records the JDK
+// events of the chosen settings ("default" costs about 1%, "profile" adds allocation and lock sampling)
+// plus every application event in com.example.backend.jfr. Old chunks are dropped by age and size, so a
+// recording that is never stopped doesn't fill the disk. Starting a new recording discards the last one.
+@Service
+public class FlightRecorderService {
+	private static final List<Class<? extends Event>> APP_EVENTS = List.of(AttendanceMarkEvent.class,
+			DashboardAggregateEvent.class, LoginEvent.class, PresenceResetEvent.class);
+	// JDK events that copy the environment, system properties and JVM arguments into the file, which is
+	// where the datasource password and other secrets live
+	private static final List<String> SECRET_EVENTS = List.of("jdk.InitialEnvironmentVariable",
+			"jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+	private final Duration maxAge;
+	private final long maxSizeBytes;
+	private Recording recording;
+	private String settings;
+
+	public FlightRecorderService(@Value("${jfr.recording.max-age-minutes:30}") long maxAgeMinutes,
+			@Value("${jfr.recording.max-size-mb:250}") long maxSizeMb) {
+		this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+		this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+	}
+
+	public synchronized Map<String, Object> start(String settingsName) {
+		if (isRunning()) {
+			throw new ConflictException("A recording is already running");
+		}
+		Configuration configuration;
+		try {
+			configuration = Configuration.getConfiguration(settingsName);
+		} catch (IOException | ParseException e) {
+			throw new InvalidRequestException("Unknown JFR settings: " + settingsName);
+		}
+
+		Recording next = new Recording(configuration);
+		next.setName("attendance");
+		next.setToDisk(true);
+		next.setMaxAge(maxAge);
+		next.setMaxSize(maxSizeBytes);
+		for (Class<? extends Event> type : APP_EVENTS) {
+			next.enable(type).withoutThreshold();
+		}
+		for (String name : SECRET_EVENTS) {
+			next.disable(name);
+		}
+		if (recording != null) {
+			recording.close();
+		}
+		next.start();
+		recording = next;
+		settings = settingsName;
+		System.out.println("JFR recording started with settings " + settingsName);
+		return getStatus();
+	}
+
+	// The stopped recording stays available for dump until the next start
+	public synchronized Map<String, Object> stop() {
+		if (!isRunning()) {
+			throw new ConflictException("No recording is running");
+		}
+		recording.stop();
+		System.out.println("JFR recording stopped, " + recording.getSize() + " bytes");
+		return getStatus();
+	}
+
+	// Writes a snapshot of a running recording (or all of a stopped one) to a temp file the caller deletes
+	public synchronized Path dump() throws IOException {
+		if (recording == null) {
+			throw new NotFoundException("No recording to dump, start one first");
+		}
+		Path file = Files.createTempFile("attendance-", ".jfr");
+		try {
+			recording.dump(file);
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(file);
+			throw e;
+		}
+		return file;
+	}
+
+	public synchronized Map<String, Object> getStatus() {
+		Map<String, Object> res = new LinkedHashMap<>();
+		res.put("state", recording == null ? "NONE" : recording.getState().name());
+		if (recording != null) {
+			res.put("settings", settings);
+			res.put("startTime", recording.getStartTime());
+			res.put("stopTime", recording.getStopTime());
+			res.put("sizeBytes", recording.getSize());
+		}
+		res.put("maxAgeMinutes", maxAge.toMinutes());
+		res.put("maxSizeBytes", maxSizeBytes);
+		return res;
+	}
+
+	private boolean isRunning() {
+		return recording != null && recording.getState() == RecordingState.RUNNING;
+	}
+
+	@PreDestroy
+	public synchronized void shutdown() {
+		if (recording != null) {
+			recording.close();
+			recording = null;
+		}
+	}
+}
@@ -0,0 +1,16 @@
+package com.example.backend.service;
+
+import java.util.Collection;
+import java.util.List;
+
+// Carries CacheInvalidationBus messages between backend instances. Messages are entity versions per tenant:
+// publish bumps the current tenant's version of each entity type, and versions returns them all, so a
+// message lost in transit is caught up by the next version read. Both run with the tenant already set.
+public interface InvalidationTransport {
+	record Version(String entity, long version, String origin) {
+	}
+
+	void publish(String origin, Collection<String> entities) throws Exception;
+
+	List<Version> versions() throws Exception;
+}
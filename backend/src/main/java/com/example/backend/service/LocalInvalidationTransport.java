@@ -0,0 +1,37 @@
+package com.example.backend.service;
+
+import com.example.backend.tenant.TenantContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory stand-in for a broker, shared by every instance in this JVM: enough for one node or for tests
+// that run several buses side by side. Select with cache.invalidation.transport=local.
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.transport", havingValue = "local")
+public class LocalInvalidationTransport implements InvalidationTransport {
+	private static final Map<String, Map<String, Version>> VERSIONS = new ConcurrentHashMap<>();
+
+	@Override
+	public void publish(String origin, Collection<String> entities) {
+		Map<String, Version> tenantVersions = VERSIONS.computeIfAbsent(TenantContext.get(), t -> new ConcurrentHashMap<>());
+		for (String entity : entities) {
+			tenantVersions.merge(entity, new Version(entity, 1, origin),
+					(current, bump) -> new Version(entity, current.version() + 1, origin));
+		}
+	}
+
+	@Override
+	public List<Version> versions() {
+		return List.copyOf(VERSIONS.getOrDefault(TenantContext.get(), Map.of()).values());
+	}
+
+	// Forgets every version; for tests
+	public static void reset() {
+		VERSIONS.clear();
+	}
+}
@@ -0,0 +1,368 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.MarkCommand;
+import com.example.backend.model.AttendanceStatus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Append-only log of attendance marks in memory-mapped segment files, used by PendingMarkService while
+// the database is unavailable. Each record is
+//   int bodyLength | int crc32(body) | long seq | long markedAt (epoch ms) | long studentId | long subjectId
+//   | long teacherId | byte status ('P'/'A') | short tenantLength | tenant (UTF-8)
+// Segments are pre-sized and zero-filled, so a zero length ends the data. A record with a bad CRC or an
+// unexpected sequence number was torn by a crash before it was acknowledged, and ends the log too; the
+// rest of that segment is zeroed on recovery so later appends can never run into stale bytes.
+// append() returns only once its record is forced to disk. Appenders that arrive while another thread is
+// forcing wait for it and usually find their record already covered, so one fsync serves a burst of marks.
+// Consumers read() from the checkpoint, then commit() what they have applied; fully consumed segments are
+// deleted. Not safe for several consumers, and one directory belongs to one process.
+public class MarkWriteAheadLog implements Closeable {
+	public record Entry(long seq, String tenant, MarkCommand command) {
+	}
+
+	private static final int HEADER_BYTES = 8;
+	private static final int FIXED_BODY_BYTES = 5 * Long.BYTES + 1 + Short.BYTES;
+	private static final int MAX_TENANT_BYTES = 255;
+	private static final String SEGMENT_PREFIX = "marks-";
+	private static final String SEGMENT_SUFFIX = ".wal";
+	private static final ZoneId ZONE = ZoneId.systemDefault();
+
+	private final Path dir;
+	private final int segmentSize;
+	private final Path checkpointFile;
+	private final Object syncLock = new Object();
+
+	// Guarded by this: oldest first, the last one takes appends
+	private final List<Segment> segments = new ArrayList<>();
+	private long lastSeq;
+	private long committedSeq;
+	// Where the first uncommitted record starts
+	private int commitSegment;
+	private int commitPosition;
+
+	// Guarded by syncLock
+	private long durableSeq;
+	private long syncs;
+
+	public MarkWriteAheadLog(Path dir, int segmentSize) throws IOException {
+		this.dir = dir;
+		this.segmentSize = segmentSize;
+		this.checkpointFile = dir.resolve("checkpoint");
+		Files.createDirectories(dir);
+		recover();
+	}
+
+	private synchronized void recover() throws IOException {
+		committedSeq = Files.exists(checkpointFile) ? ByteBuffer.wrap(Files.readAllBytes(checkpointFile)).getLong() : 0;
+		lastSeq = committedSeq;
+
+		List<Path> files;
+		try (Stream<Path> list = Files.list(dir)) {
+			files = list.filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX)).sorted().toList();
+		}
+		for (Path file : files) {
+			Segment segment = Segment.open(file, segmentSize);
+			long expected = segments.isEmpty() ? -1 : lastSeq + 1;
+			int position = 0;
+			while (true) {
+				long seq = validRecordAt(segment.buffer, position);
+				if (seq <= 0 || (expected > 0 && seq != expected)) {
+					break;
+				}
+				lastSeq = seq;
+				expected = seq + 1;
+				position += HEADER_BYTES + segment.buffer.getInt(position);
+			}
+			segment.end = position;
+			segment.forced = position;
+			segment.lastSeq = position > 0 ? lastSeq : 0;
+			segments.add(segment);
+		}
+		// Only the newest segment takes appends, and only after its torn tail (if any) is cleared
+		if (!segments.isEmpty()) {
+			clearTail(segments.get(segments.size() - 1));
+		}
+		lastSeq = Math.max(lastSeq, committedSeq);
+		durableSeq = lastSeq;
+		while (commitSegment < segments.size() && nextRecordSeq() > 0 && nextRecordSeq() <= committedSeq) {
+			skipRecord();
+		}
+		dropConsumedSegments();
+	}
+
+	private static void clearTail(Segment segment) {
+		MappedByteBuffer buffer = segment.buffer;
+		int dirtyEnd = segment.end;
+		for (int i = segment.end; i < buffer.capacity(); i++) {
+			if (buffer.get(i) != 0) {
+				dirtyEnd = i + 1;
+			}
+		}
+		if (dirtyEnd > segment.end) {
+			buffer.put(segment.end, new byte[dirtyEnd - segment.end]);
+			buffer.force(segment.end, dirtyEnd - segment.end);
+		}
+	}
+
+	// Sequence number of the valid record at position, or 0 when the data ends there
+	private static long validRecordAt(MappedByteBuffer buffer, int position) {
+		if (position + HEADER_BYTES > buffer.capacity()) {
+			return 0;
+		}
+		int length = buffer.getInt(position);
+		if (length < FIXED_BODY_BYTES || length > FIXED_BODY_BYTES + MAX_TENANT_BYTES
+				|| position + HEADER_BYTES + length > buffer.capacity()) {
+			return 0;
+		}
+		CRC32 crc = new CRC32();
+		crc.update(buffer.slice(position + HEADER_BYTES, length));
+		if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+			return 0;
+		}
+		return buffer.getLong(position + HEADER_BYTES);
+	}
+
+	// Durable once this returns; the result is the record's sequence number
+	public long append(String tenant, MarkCommand command) throws IOException {
+		long seq;
+		synchronized (this) {
+			seq = write(tenant, command);
+		}
+		sync(seq);
+		return seq;
+	}
+
+	// Several records with one fsync; the result is the last record's sequence number
+	public long appendAll(String tenant, List<MarkCommand> commands) throws IOException {
+		long seq;
+		synchronized (this) {
+			seq = lastSeq;
+			for (MarkCommand command : commands) {
+				seq = write(tenant, command);
+			}
+		}
+		sync(seq);
+		return seq;
+	}
+
+	private long write(String tenant, MarkCommand command) throws IOException {
+		byte[] tenantBytes = tenant.getBytes(StandardCharsets.UTF_8);
+		if (tenantBytes.length > MAX_TENANT_BYTES) {
+			throw new IllegalArgumentException("Tenant id too long for the write-ahead log");
+		}
+		int length = FIXED_BODY_BYTES + tenantBytes.length;
+		Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+		if (segment == null || segment.end + HEADER_BYTES + length > segment.buffer.capacity()) {
+			segment = Segment.create(dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, lastSeq + 1, SEGMENT_SUFFIX)),
+					segmentSize);
+			segments.add(segment);
+		}
+
+		long seq = lastSeq + 1;
+		LocalDateTime markedAt = command.markedAt() != null ? command.markedAt() : LocalDateTime.now();
+		ByteBuffer body = ByteBuffer.allocate(length)
+				.putLong(seq)
+				.putLong(markedAt.atZone(ZONE).toInstant().toEpochMilli())
+				.putLong(command.studentId())
+				.putLong(command.subjectId())
+				.putLong(command.teacherId())
+				.put((byte) (command.status() == AttendanceStatus.PRESENT ? 'P' : 'A'))
+				.putShort((short) tenantBytes.length)
+				.put(tenantBytes)
+				.flip();
+		CRC32 crc = new CRC32();
+		crc.update(body.duplicate());
+
+		int position = segment.end;
+		segment.buffer.put(position + HEADER_BYTES, body, 0, length);
+		segment.buffer.putInt(position + 4, (int) crc.getValue());
+		segment.buffer.putInt(position, length);
+		segment.end = position + HEADER_BYTES + length;
+		segment.lastSeq = seq;
+		lastSeq = seq;
+		return seq;
+	}
+
+	private void sync(long seq) throws IOException {
+		synchronized (syncLock) {
+			if (durableSeq >= seq) {
+				return;
+			}
+			long target;
+			List<Segment> dirty = new ArrayList<>();
+			List<Integer> ends = new ArrayList<>();
+			synchronized (this) {
+				target = lastSeq;
+				for (Segment segment : segments) {
+					if (segment.forced < segment.end) {
+						dirty.add(segment);
+						ends.add(segment.end);
+					}
+				}
+			}
+			for (int i = 0; i < dirty.size(); i++) {
+				Segment segment = dirty.get(i);
+				segment.buffer.force(segment.forced, ends.get(i) - segment.forced);
+				segment.forced = ends.get(i);
+			}
+			durableSeq = target;
+			syncs++;
+		}
+	}
+
+	// Up to max records after the last commit, oldest first. Repeats the same records until they are committed.
+	public synchronized List<Entry> read(int max) {
+		List<Entry> entries = new ArrayList<>(Math.min(max, 1024));
+		int segmentIndex = commitSegment;
+		int position = commitPosition;
+		while (entries.size() < max && segmentIndex < segments.size()) {
+			Segment segment = segments.get(segmentIndex);
+			if (position >= segment.end) {
+				segmentIndex++;
+				position = 0;
+				continue;
+			}
+			entries.add(decode(segment.buffer, position));
+			position += HEADER_BYTES + segment.buffer.getInt(position);
+		}
+		return entries;
+	}
+
+	private static Entry decode(MappedByteBuffer buffer, int position) {
+		int offset = position + HEADER_BYTES;
+		long seq = buffer.getLong(offset);
+		LocalDateTime markedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(buffer.getLong(offset + 8)), ZONE);
+		long studentId = buffer.getLong(offset + 16);
+		long subjectId = buffer.getLong(offset + 24);
+		long teacherId = buffer.getLong(offset + 32);
+		AttendanceStatus status = buffer.get(offset + 40) == 'P' ? AttendanceStatus.PRESENT : AttendanceStatus.ABSENT;
+		byte[] tenant = new byte[buffer.getShort(offset + 41)];
+		buffer.get(offset + 43, tenant);
+		return new Entry(seq, new String(tenant, StandardCharsets.UTF_8),
+				new MarkCommand(studentId, subjectId, status, teacherId, markedAt));
+	}
+
+	// Records up to and including seq have been applied and must not be read again, even after a restart
+	public synchronized void commit(long seq) throws IOException {
+		if (seq <= committedSeq) {
+			return;
+		}
+		ByteBuffer checkpoint = ByteBuffer.allocate(Long.BYTES).putLong(0, seq);
+		try (FileChannel channel = FileChannel.open(checkpointFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+			channel.write(checkpoint, 0);
+			channel.force(false);
+		}
+		committedSeq = seq;
+		while (commitSegment < segments.size() && nextRecordSeq() > 0 && nextRecordSeq() <= seq) {
+			skipRecord();
+		}
+		dropConsumedSegments();
+	}
+
+	// Sequence number of the record at the commit cursor, 0 at the end of the data
+	private long nextRecordSeq() {
+		Segment segment = segments.get(commitSegment);
+		if (commitPosition >= segment.end) {
+			if (commitSegment + 1 >= segments.size()) {
+				return 0;
+			}
+			commitSegment++;
+			commitPosition = 0;
+			return nextRecordSeq();
+		}
+		return segment.buffer.getLong(commitPosition + HEADER_BYTES);
+	}
+
+	private void skipRecord() {
+		commitPosition += HEADER_BYTES + segments.get(commitSegment).buffer.getInt(commitPosition);
+	}
+
+	// Fully consumed segments go; when everything is consumed the next append starts a fresh segment
+	private void dropConsumedSegments() throws IOException {
+		while (!segments.isEmpty() && segments.get(0).lastSeq <= committedSeq
+				&& (segments.size() > 1 || committedSeq >= lastSeq)) {
+			Files.deleteIfExists(segments.remove(0).file);
+			if (commitSegment > 0) {
+				commitSegment--;
+			} else {
+				commitPosition = 0;
+			}
+		}
+	}
+
+	public synchronized long getPending() {
+		return lastSeq - committedSeq;
+	}
+
+	public synchronized long getLastSeq() {
+		return lastSeq;
+	}
+
+	public synchronized long getCommittedSeq() {
+		return committedSeq;
+	}
+
+	public synchronized int getSegmentCount() {
+		return segments.size();
+	}
+
+	public long getSyncs() {
+		synchronized (syncLock) {
+			return syncs;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		synchronized (this) {
+			for (Segment segment : segments) {
+				segment.buffer.force();
+			}
+		}
+	}
+
+	private static class Segment {
+		final Path file;
+		final MappedByteBuffer buffer;
+		int end;
+		int forced;
+		long lastSeq;
+
+		private Segment(Path file, MappedByteBuffer buffer) {
+			this.file = file;
+			this.buffer = buffer;
+		}
+
+		static Segment create(Path file, int size) throws IOException {
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+					StandardOpenOption.WRITE)) {
+				// Mapping past the end grows the file; the new bytes read as zeros
+				Segment segment = new Segment(file, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+				channel.force(true);
+				return segment;
+			}
+		}
+
+		static Segment open(Path file, int minSize) throws IOException {
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				long size = Math.max(channel.size(), minSize);
+				return new Segment(file, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+			}
+		}
+	}
+}
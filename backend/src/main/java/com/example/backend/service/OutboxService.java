@@ -0,0 +1,178 @@
+package com.example.backend.service;
+
+import com.example.backend.event.AttendanceChangedEvent;
+import com.example.backend.model.ChangeSequence;
+import com.example.backend.model.OutboxEvent;
+import com.example.backend.repo.ChangeSequenceRepository;
+import com.example.backend.repo.OutboxEventRepository;
+import com.example.backend.tenant.TenantContext;
+import com.example.backend.tenant.TenantRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class OutboxService {
+	public static final String ATTENDANCE_CHANGED = "attendance.changed";
+	private static final String RELAY_POSITION = "outbox_relay";
+
+	private final OutboxEventRepository outboxEventRepository;
+	private final ChangeSequenceRepository changeSequenceRepository;
+	private final TenantRegistry tenantRegistry;
+	private final OutboxSink sink;
+	private final ObjectMapper objectMapper;
+	private final TransactionTemplate transactionTemplate;
+	private final int batchSize;
+	private final int retentionDays;
+
+	private final AtomicLong publishedCount = new AtomicLong();
+	private final AtomicLong failureCount = new AtomicLong();
+	private volatile long lastPublishedId;
+	private volatile long lastDeliveryLagMs;
+	private volatile LocalDateTime lastPublishedAt;
+	private volatile String lastError;
+
+	public OutboxService(OutboxEventRepository outboxEventRepository,
+			ChangeSequenceRepository changeSequenceRepository,
+			TenantRegistry tenantRegistry,
+			OutboxSink sink,
+			ObjectMapper objectMapper,
+			PlatformTransactionManager transactionManager,
+			@Value("${outbox.relay.batch-size:200}") int batchSize,
+			@Value("${outbox.retention-days:7}") int retentionDays) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.changeSequenceRepository = changeSequenceRepository;
+		this.tenantRegistry = tenantRegistry;
+		this.sink = sink;
+		this.objectMapper = objectMapper;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.batchSize = batchSize;
+		this.retentionDays = retentionDays;
+	}
+
+	// Runs synchronously inside the writer's transaction, so the event commits or rolls back with the row.
+	// Every attendance writer holds the 'attendance' change sequence lock until commit, which makes outbox
+	// ids increase in commit order; the relay relies on that to advance a single position without gaps.
+	@EventListener
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void record(AttendanceChangedEvent event) {
+		Map<String, Object> payload = new LinkedHashMap<>();
+		payload.put("attendanceId", event.attendanceId());
+		payload.put("studentId", event.studentId());
+		payload.put("subjectId", event.subjectId());
+		payload.put("date", event.date());
+		payload.put("previousStatus", event.previousStatus());
+		payload.put("status", event.status());
+		try {
+			outboxEventRepository.save(new OutboxEvent(event.studentId(), ATTENDANCE_CHANGED,
+					objectMapper.writeValueAsString(payload)));
+		} catch (JsonProcessingException e) {
+			throw new RuntimeException("Failed to serialize outbox event", e);
+		}
+	}
+
+	// Drains each tenant's outbox in id order (hence in order per student). Stops at the first failing batch
+	// and retries it on the next run; the position only moves after the sink has accepted a batch.
+	@Scheduled(fixedDelayString = "${outbox.relay.interval-ms:1000}")
+	public void relay() {
+		tenantRegistry.forEachTenant(tenant -> relayTenant());
+	}
+
+	private void relayTenant() {
+		try {
+			Integer published;
+			do {
+				published = transactionTemplate.execute(status -> publishBatch());
+			} while (published != null && published == batchSize);
+		} catch (Exception e) {
+			failureCount.incrementAndGet();
+			lastError = e.getMessage();
+			System.out.println("Outbox relay failed for tenant " + TenantContext.get() + ", will retry: " + e.getMessage());
+		}
+	}
+
+	private int publishBatch() {
+		// The position row lock also keeps a second instance's relay from publishing the same batch
+		String positionName = positionName();
+		ChangeSequence position = changeSequenceRepository.findForUpdate(positionName)
+				.orElseGet(() -> changeSequenceRepository.save(new ChangeSequence(positionName, 0)));
+		List<OutboxEvent> batch = outboxEventRepository.findByIdGreaterThanOrderByIdAsc(position.getValue(),
+				PageRequest.of(0, batchSize));
+		if (batch.isEmpty()) {
+			return 0;
+		}
+
+		try {
+			sink.publish(batch);
+		} catch (Exception e) {
+			throw new RuntimeException("Sink rejected batch starting at id " + batch.get(0).getId() + ": "
+					+ e.getMessage(), e);
+		}
+
+		OutboxEvent last = batch.get(batch.size() - 1);
+		position.setValue(last.getId());
+		LocalDateTime now = LocalDateTime.now();
+		publishedCount.addAndGet(batch.size());
+		lastPublishedId = last.getId();
+		lastPublishedAt = now;
+		lastDeliveryLagMs = Duration.between(batch.get(0).getCreatedAt(), now).toMillis();
+		return batch.size();
+	}
+
+	@Scheduled(cron = "${outbox.prune-cron:0 30 3 * * *}")
+	public void prunePublished() {
+		tenantRegistry.forEachTenant(tenant -> transactionTemplate.executeWithoutResult(status -> {
+			int deleted = outboxEventRepository.deletePublishedBefore(tenant, currentPosition(),
+					LocalDateTime.now().minusDays(retentionDays));
+			if (deleted > 0) {
+				System.out.println("Pruned " + deleted + " published outbox events of tenant " + tenant);
+			}
+		}));
+	}
+
+	// Relay position of the current tenant; outbox ids are per shard, so each tenant tracks its own
+	private String positionName() {
+		return RELAY_POSITION + ":" + TenantContext.get();
+	}
+
+	private long currentPosition() {
+		return changeSequenceRepository.findById(positionName()).map(ChangeSequence::getValue).orElse(0L);
+	}
+
+	// Position and backlog are for the current tenant; counters cover the whole relay
+	@Transactional(readOnly = true)
+	public Map<String, Object> getStats() {
+		long position = currentPosition();
+		Map<String, Object> res = new LinkedHashMap<>();
+		res.put("tenant", TenantContext.get());
+		res.put("position", position);
+		res.put("pending", outboxEventRepository.countByIdGreaterThan(position));
+		// Age of the oldest undelivered event: the lag a consumer currently sees
+		res.put("oldestPendingAgeMs", outboxEventRepository.findFirstByIdGreaterThanOrderByIdAsc(position)
+				.map(e -> Duration.between(e.getCreatedAt(), LocalDateTime.now()).toMillis())
+				.orElse(0L));
+		res.put("published", publishedCount.get());
+		res.put("lastPublishedId", lastPublishedId);
+		res.put("lastPublishedAt", lastPublishedAt);
+		res.put("lastDeliveryLagMs", lastDeliveryLagMs);
+		res.put("failures", failureCount.get());
+		res.put("lastError", lastError);
+		res.put("sink", sink.getClass().getSimpleName());
+		return res;
+	}
+}
@@ -0,0 +1,12 @@
+package com.example.backend.service;
+
+import com.example.backend.model.OutboxEvent;
+
+import java.util.List;
+
+// Destination for relayed outbox events. A batch is delivered in id order and counts as published
+// only if publish returns normally; on failure the whole batch is retried, so sinks see duplicates
+// (at-least-once) and consumers should de-duplicate on the event id.
+public interface OutboxSink {
+	void publish(List<OutboxEvent> batch) throws Exception;
+}
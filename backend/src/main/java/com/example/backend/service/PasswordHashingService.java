@@ -0,0 +1,108 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.ServiceBusyException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+// Runs all BCrypt work on a small fixed pool with a bounded queue, so a login spike queues
+// (and eventually gets rejected) instead of burning CPU on every request thread at once.
+@Service
+public class PasswordHashingService {
+	private static final Pattern BCRYPT_PATTERN = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}$");
+
+	private final PasswordEncoder passwordEncoder;
+	private final ThreadPoolExecutor executor;
+	private final long timeoutMillis;
+
+	public PasswordHashingService(PasswordEncoder passwordEncoder,
+			@Value("${auth.hashing.threads:0}") int threads,
+			@Value("${auth.hashing.queue-capacity:64}") int queueCapacity,
+			@Value("${auth.hashing.timeout-ms:5000}") long timeoutMillis) {
+		int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		AtomicInteger counter = new AtomicInteger();
+		this.passwordEncoder = passwordEncoder;
+		this.timeoutMillis = timeoutMillis;
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity),
+				r -> {
+					Thread t = new Thread(r, "credential-hash-" + counter.incrementAndGet());
+					t.setDaemon(true);
+					return t;
+				},
+				new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	public boolean matches(String rawPassword, String storedPassword) {
+		if (storedPassword == null) {
+			return false;
+		}
+		if (!isHashed(storedPassword)) {
+			// Legacy plaintext row: cheap constant-time compare, no need to queue
+			return MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+					storedPassword.getBytes(StandardCharsets.UTF_8));
+		}
+		return run(() -> passwordEncoder.matches(rawPassword, storedPassword));
+	}
+
+	public String encode(String rawPassword) {
+		return run(() -> passwordEncoder.encode(rawPassword));
+	}
+
+	// True for plaintext rows and for hashes produced with weaker settings than the current encoder
+	public boolean needsRehash(String storedPassword) {
+		return !isHashed(storedPassword) || passwordEncoder.upgradeEncoding(storedPassword);
+	}
+
+	public boolean isHashed(String storedPassword) {
+		return storedPassword != null && BCRYPT_PATTERN.matcher(storedPassword).matches();
+	}
+
+	public int getQueueDepth() {
+		return executor.getQueue().size();
+	}
+
+	public int getActiveCount() {
+		return executor.getActiveCount();
+	}
+
+	private <T> T run(Callable<T> task) {
+		Future<T> future;
+		try {
+			future = executor.submit(task);
+		} catch (RejectedExecutionException e) {
+			throw new ServiceBusyException("Login service is busy, please retry", 1);
+		}
+
+		try {
+			return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			throw new ServiceBusyException("Login service is busy, please retry", 1);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while verifying credentials");
+		} catch (ExecutionException e) {
+			throw new RuntimeException("Credential check failed", e.getCause());
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+}
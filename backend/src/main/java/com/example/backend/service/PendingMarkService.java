@@ -0,0 +1,257 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.MarkCommand;
+import com.example.backend.exception.CircuitOpenException;
+import com.example.backend.exception.ServiceBusyException;
+import com.example.backend.model.Attendance;
+import com.example.backend.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Keeps teachers' marks when MySQL is down or slow. Marks go to AttendanceService.markAttendance through a
+// circuit breaker; when the breaker is open or the write fails because the database is unreachable, the mark
+// is appended to the local MarkWriteAheadLog instead and acknowledged as pending. While the log holds
+// anything, new marks queue behind it, so marks reach the database in the order they were taken.
+// A replayer drains the log through the batch upsert path, one transaction per run of marks of one tenant
+// and day, and commits the log after each run. Marks are applied at least once, and applying one twice
+// leaves the same row. Marks for unknown students or subjects are dropped at replay, as for check-ins.
+@Service
+public class PendingMarkService {
+	public record MarkResult(Attendance attendance, long pendingSeq) {
+		public boolean isPending() {
+			return attendance == null;
+		}
+	}
+
+	private final AttendanceService attendanceService;
+	private final boolean enabled;
+	private final Path dir;
+	private final int segmentSize;
+	private final long replayIntervalMillis;
+	private final int replayBatchSize;
+	private final CircuitBreaker breaker;
+	private final ScheduledExecutorService replayer = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread t = new Thread(r, "mark-replay");
+		t.setDaemon(true);
+		return t;
+	});
+	private MarkWriteAheadLog log;
+	// Direct writes hold the read lock from the empty-log check until they finish; appends take the write
+	// lock. So nothing enters the log while a write that found it empty is still in flight, and a mark
+	// acknowledged as pending is never overtaken by one that found the log empty before it was appended.
+	private final ReentrantReadWriteLock order = new ReentrantReadWriteLock();
+
+	private final AtomicLong logged = new AtomicLong();
+	private final AtomicLong replayed = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private volatile String lastReplayError;
+
+	public PendingMarkService(AttendanceService attendanceService,
+			@Value("${attendance.wal.enabled:true}") boolean enabled,
+			@Value("${attendance.wal.dir:wal/attendance}") String dir,
+			@Value("${attendance.wal.segment-size-mb:16}") int segmentSizeMb,
+			@Value("${attendance.wal.replay-interval-ms:2000}") long replayIntervalMillis,
+			@Value("${attendance.wal.replay-batch-size:500}") int replayBatchSize,
+			@Value("${attendance.wal.breaker.slow-call-ms:3000}") long slowCallMillis,
+			@Value("${attendance.wal.breaker.open-ms:10000}") long openMillis) {
+		this.attendanceService = attendanceService;
+		this.enabled = enabled;
+		this.dir = Path.of(dir);
+		this.segmentSize = segmentSizeMb * 1024 * 1024;
+		this.replayIntervalMillis = replayIntervalMillis;
+		this.replayBatchSize = replayBatchSize;
+		this.breaker = new CircuitBreaker("attendance-writes", 20, 10, slowCallMillis, openMillis);
+	}
+
+	// Marks left in the log by a crash are replayed on the first tick
+	@PostConstruct
+	public void start() throws IOException {
+		if (!enabled) {
+			return;
+		}
+		log = new MarkWriteAheadLog(dir, segmentSize);
+		if (log.getPending() > 0) {
+			System.out.println("Attendance write-ahead log holds " + log.getPending() + " marks to replay");
+		}
+		replayer.scheduleWithFixedDelay(this::replay, replayIntervalMillis, replayIntervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	public MarkResult mark(MarkCommand command) {
+		if (!enabled) {
+			return new MarkResult(markNow(command), 0);
+		}
+		order.readLock().lock();
+		try {
+			if (log.getPending() == 0) {
+				return new MarkResult(breaker.call(() -> markNow(command)), 0);
+			}
+		} catch (RuntimeException e) {
+			if (!isUnavailable(e)) {
+				throw e;
+			}
+			System.out.println("Attendance write failed (" + e.getMessage() + "), logging the mark for replay");
+		} finally {
+			order.readLock().unlock();
+		}
+		return new MarkResult(null, append(List.of(command)));
+	}
+
+	// Check-in batches (see CheckinBuffer): one transaction through the same breaker, queued behind the log
+	// like single marks. When the database is unavailable the whole batch is logged with one fsync.
+	// Returns how many of the marks were logged rather than written.
+	public int markBatch(List<MarkCommand> batch) {
+		if (!enabled) {
+			attendanceService.markAttendanceBatch(batch);
+			return 0;
+		}
+		order.readLock().lock();
+		try {
+			if (log.getPending() == 0) {
+				breaker.call(() -> attendanceService.markAttendanceBatch(batch));
+				return 0;
+			}
+		} catch (RuntimeException e) {
+			if (!isUnavailable(e)) {
+				throw e;
+			}
+			System.out.println("Attendance batch of " + batch.size() + " failed (" + e.getMessage()
+					+ "), logging it for replay");
+		} finally {
+			order.readLock().unlock();
+		}
+		append(batch);
+		return batch.size();
+	}
+
+	private long append(List<MarkCommand> commands) {
+		order.writeLock().lock();
+		try {
+			long seq = log.appendAll(TenantContext.get(), commands);
+			logged.addAndGet(commands.size());
+			return seq;
+		} catch (IOException e) {
+			System.out.println("Attendance write-ahead log append failed: " + e.getMessage());
+			throw new ServiceBusyException("Attendance can't be saved right now, please retry", 5);
+		} finally {
+			order.writeLock().unlock();
+		}
+	}
+
+	private Attendance markNow(MarkCommand command) {
+		return attendanceService.markAttendance(command.studentId(), command.subjectId(), command.status(),
+				command.teacherId());
+	}
+
+	// Errors that say the database can't be reached right now, as opposed to a problem with the mark itself
+	static boolean isUnavailable(RuntimeException e) {
+		return e instanceof CircuitOpenException
+				|| e instanceof TransactionException
+				|| e instanceof DataAccessResourceFailureException
+				|| e instanceof TransientDataAccessException
+				|| e instanceof RecoverableDataAccessException;
+	}
+
+	// Applies logged marks oldest first until the log is empty or the database fails again
+	void replay() {
+		try {
+			List<MarkWriteAheadLog.Entry> entries;
+			while (!(entries = log.read(replayBatchSize)).isEmpty()) {
+				int start = 0;
+				while (start < entries.size()) {
+					MarkWriteAheadLog.Entry first = entries.get(start);
+					LocalDate day = first.command().markedAt().toLocalDate();
+					int end = start + 1;
+					while (end < entries.size() && entries.get(end).tenant().equals(first.tenant())
+							&& entries.get(end).command().markedAt().toLocalDate().equals(day)) {
+						end++;
+					}
+					List<MarkCommand> run = entries.subList(start, end).stream()
+							.map(MarkWriteAheadLog.Entry::command)
+							.toList();
+					TenantContext.run(first.tenant(), () -> apply(day, run));
+					log.commit(entries.get(end - 1).seq());
+					replayed.addAndGet(run.size());
+					start = end;
+				}
+			}
+			lastReplayError = null;
+		} catch (RuntimeException e) {
+			// Usually still down; the breaker keeps the next attempts cheap until it lets a trial batch through.
+			// Never rethrown, since that would cancel the schedule.
+			lastReplayError = e.getMessage();
+			if (!isUnavailable(e)) {
+				System.out.println("Attendance replay failed: " + e);
+			}
+		} catch (IOException e) {
+			lastReplayError = e.getMessage();
+			System.out.println("Attendance write-ahead log commit failed: " + e.getMessage());
+		}
+	}
+
+	private void apply(LocalDate day, List<MarkCommand> run) {
+		try {
+			breaker.call(() -> attendanceService.markAttendanceBatch(day, run));
+		} catch (RuntimeException e) {
+			if (isUnavailable(e)) {
+				throw e;
+			}
+			// One bad mark must not block the log: retry individually and drop the ones that still fail
+			for (MarkCommand command : run) {
+				try {
+					breaker.call(() -> attendanceService.markAttendanceBatch(day, List.of(command)));
+				} catch (RuntimeException ex) {
+					if (isUnavailable(ex)) {
+						throw ex;
+					}
+					dropped.incrementAndGet();
+					System.out.println("Dropped logged mark of student " + command.studentId() + ": " + ex.getMessage());
+				}
+			}
+		}
+	}
+
+	public Map<String, Object> getStats() {
+		Map<String, Object> res = new LinkedHashMap<>();
+		res.put("enabled", enabled);
+		if (log != null) {
+			res.put("pending", log.getPending());
+			res.put("lastSeq", log.getLastSeq());
+			res.put("replayedThroughSeq", log.getCommittedSeq());
+			res.put("segments", log.getSegmentCount());
+			res.put("fsyncs", log.getSyncs());
+		}
+		res.put("logged", logged.get());
+		res.put("replayed", replayed.get());
+		res.put("dropped", dropped.get());
+		res.put("lastReplayError", lastReplayError);
+		res.put("breaker", breaker.getStats());
+		return res;
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException, IOException {
+		replayer.shutdown();
+		replayer.awaitTermination(5, TimeUnit.SECONDS);
+		if (log != null) {
+			log.close();
+		}
+	}
+}
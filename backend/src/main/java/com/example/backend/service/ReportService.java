@@ -0,0 +1,313 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ReportSpec;
+import com.example.backend.dto.TermReport;
+import com.example.backend.dto.TermReport.StudentLine;
+import com.example.backend.dto.TermReport.SubjectReport;
+import com.example.backend.exception.InvalidRequestException;
+import com.example.backend.exception.ServiceBusyException;
+import com.example.backend.model.AttendanceStatus;
+import com.example.backend.model.Subject;
+import com.example.backend.repo.AttendanceRepository;
+import com.example.backend.repo.SubjectRepository;
+import com.example.backend.tenant.TenantContext;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// Term reports run as background jobs: a small bounded pool accepts jobs, and each job fans out per
+// subject on a shared fork-join pool. Every subject leaf holds one JDBC connection while it streams,
+// so jobs.threads * parallelism must stay below the connection pool size.
+// Results are cached by (tenant, spec, attendance change sequence): identical requests reuse the same
+// job until any mark changes the sequence. Job and leaf threads run under the submitting tenant.
+@Service
+public class ReportService {
+	private static final int MAX_RANGE_DAYS = 366;
+
+	private final AttendanceRepository attendanceRepository;
+	private final SubjectRepository subjectRepository;
+	private final ChangeSequenceService changeSequenceService;
+	private final TransactionTemplate readOnlyTransaction;
+	private final ThreadPoolExecutor jobExecutor;
+	private final ForkJoinPool forkJoinPool;
+	private final Map<String, ReportJob> jobsById = new ConcurrentHashMap<>();
+	private final Map<ReportKey, ReportJob> cache;
+
+	public ReportService(AttendanceRepository attendanceRepository,
+			SubjectRepository subjectRepository,
+			ChangeSequenceService changeSequenceService,
+			PlatformTransactionManager transactionManager,
+			@Value("${reports.jobs.threads:1}") int threads,
+			@Value("${reports.jobs.queue-capacity:16}") int queueCapacity,
+			@Value("${reports.parallelism:2}") int parallelism,
+			@Value("${reports.cache.max-entries:32}") int maxEntries) {
+		this.attendanceRepository = attendanceRepository;
+		this.subjectRepository = subjectRepository;
+		this.changeSequenceService = changeSequenceService;
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+
+		AtomicInteger counter = new AtomicInteger();
+		this.jobExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity),
+				r -> {
+					Thread t = new Thread(r, "report-job-" + counter.incrementAndGet());
+					t.setDaemon(true);
+					return t;
+				},
+				new ThreadPoolExecutor.AbortPolicy());
+		this.forkJoinPool = new ForkJoinPool(parallelism);
+		this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<ReportKey, ReportJob> eldest) {
+				if (size() > maxEntries) {
+					jobsById.remove(eldest.getValue().getId());
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	public ReportJob submit(ReportSpec spec) {
+		ReportSpec normalized = validate(spec);
+		long version = changeSequenceService.current(ChangeSequenceService.ATTENDANCE);
+		String tenant = TenantContext.get();
+		ReportKey key = new ReportKey(tenant, normalized, version);
+
+		synchronized (cache) {
+			ReportJob existing = cache.get(key);
+			if (existing != null && existing.getStatus() != ReportJob.Status.FAILED) {
+				return existing;
+			}
+			ReportJob job = new ReportJob(UUID.randomUUID().toString(), tenant, normalized, version);
+			try {
+				jobExecutor.execute(() -> TenantContext.run(tenant, () -> run(job)));
+			} catch (RejectedExecutionException e) {
+				throw new ServiceBusyException("Report queue is full, try again shortly", 10);
+			}
+			cache.put(key, job);
+			jobsById.put(job.getId(), job);
+			return job;
+		}
+	}
+
+	// Jobs of other tenants are reported as missing
+	public ReportJob getJob(String id) {
+		ReportJob job = jobsById.get(id);
+		return job != null && job.getTenant().equals(TenantContext.get()) ? job : null;
+	}
+
+	private ReportSpec validate(ReportSpec spec) {
+		if (spec == null || spec.from() == null || spec.to() == null) {
+			throw new InvalidRequestException("from and to are required");
+		}
+		if (spec.to().isBefore(spec.from())) {
+			throw new InvalidRequestException("to must not be before from");
+		}
+		if (ChronoUnit.DAYS.between(spec.from(), spec.to()) >= MAX_RANGE_DAYS) {
+			throw new InvalidRequestException("Report range is limited to " + MAX_RANGE_DAYS + " days");
+		}
+		ReportSpec normalized = spec.normalized();
+		if (!normalized.subjectIds().isEmpty()
+				&& subjectRepository.findAllById(normalized.subjectIds()).size() != normalized.subjectIds().size()) {
+			throw new InvalidRequestException("Unknown subject in report spec");
+		}
+		return normalized;
+	}
+
+	private void run(ReportJob job) {
+		job.started();
+		try {
+			ReportSpec spec = job.getSpec();
+			List<Subject> subjects = new ArrayList<>(spec.subjectIds().isEmpty()
+					? subjectRepository.findAll()
+					: subjectRepository.findAllById(spec.subjectIds()));
+			subjects.sort(Comparator.comparing(Subject::getName));
+
+			List<SubjectReport> reports = subjects.isEmpty()
+					? List.of()
+					: forkJoinPool.invoke(new SubjectReportTask(job.getTenant(), subjects, spec.from(), spec.to()));
+			job.completed(new TermReport(spec.from(), spec.to(), job.getDataVersion(), reports));
+		} catch (Exception e) {
+			System.out.println("Report job " + job.getId() + " failed: " + e.getMessage());
+			job.failed(e.getMessage());
+		}
+	}
+
+	// Splits the subject list in halves down to single subjects, which are computed in parallel
+	private class SubjectReportTask extends RecursiveTask<List<SubjectReport>> {
+		private final String tenant;
+		private final List<Subject> subjects;
+		private final LocalDate from;
+		private final LocalDate to;
+
+		SubjectReportTask(String tenant, List<Subject> subjects, LocalDate from, LocalDate to) {
+			this.tenant = tenant;
+			this.subjects = subjects;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected List<SubjectReport> compute() {
+			if (subjects.size() == 1) {
+				return List.of(TenantContext.call(tenant, () -> computeSubject(subjects.get(0), from, to)));
+			}
+			int mid = subjects.size() / 2;
+			SubjectReportTask left = new SubjectReportTask(tenant, subjects.subList(0, mid), from, to);
+			SubjectReportTask right = new SubjectReportTask(tenant, subjects.subList(mid, subjects.size()), from, to);
+			left.fork();
+			List<SubjectReport> rightResult = right.compute();
+			List<SubjectReport> result = new ArrayList<>(left.join());
+			result.addAll(rightResult);
+			return result;
+		}
+	}
+
+	private SubjectReport computeSubject(Subject subject, LocalDate from, LocalDate to) {
+		return readOnlyTransaction.execute(status -> {
+			Map<Long, String> usernames = new HashMap<>();
+			Map<Long, long[]> counts = new HashMap<>(); // studentId -> {present, total}
+			Set<LocalDate> sessions = new HashSet<>();
+
+			try (Stream<Object[]> rows = attendanceRepository.streamSubjectAttendance(subject.getId(), from, to)) {
+				rows.forEach(row -> {
+					Long studentId = (Long) row[0];
+					long[] c = counts.computeIfAbsent(studentId, id -> new long[2]);
+					if (row[3] == AttendanceStatus.PRESENT) {
+						c[0]++;
+					}
+					c[1]++;
+					usernames.putIfAbsent(studentId, (String) row[1]);
+					sessions.add((LocalDate) row[2]);
+				});
+			}
+
+			long present = 0;
+			long total = 0;
+			List<StudentLine> students = new ArrayList<>(counts.size());
+			for (Map.Entry<Long, long[]> entry : counts.entrySet()) {
+				long[] c = entry.getValue();
+				present += c[0];
+				total += c[1];
+				students.add(new StudentLine(entry.getKey(), usernames.get(entry.getKey()), c[0], c[1],
+						c[1] == 0 ? 0.0 : (double) c[0] / c[1]));
+			}
+			students.sort(Comparator.comparing(StudentLine::username));
+			return new SubjectReport(subject.getId(), subject.getName(), sessions.size(), present, total, students);
+		});
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		jobExecutor.shutdownNow();
+		forkJoinPool.shutdownNow();
+	}
+
+	private record ReportKey(String tenant, ReportSpec spec, long dataVersion) {
+	}
+
+	public static class ReportJob {
+		public enum Status { QUEUED, RUNNING, DONE, FAILED }
+
+		private final String id;
+		private final String tenant;
+		private final ReportSpec spec;
+		private final long dataVersion;
+		private final LocalDateTime submittedAt = LocalDateTime.now();
+		private volatile Status status = Status.QUEUED;
+		private volatile LocalDateTime startedAt;
+		private volatile LocalDateTime completedAt;
+		private volatile TermReport result;
+		private volatile String error;
+
+		ReportJob(String id, String tenant, ReportSpec spec, long dataVersion) {
+			this.id = id;
+			this.tenant = tenant;
+			this.spec = spec;
+			this.dataVersion = dataVersion;
+		}
+
+		void started() {
+			startedAt = LocalDateTime.now();
+			status = Status.RUNNING;
+		}
+
+		void completed(TermReport report) {
+			result = report;
+			completedAt = LocalDateTime.now();
+			status = Status.DONE;
+		}
+
+		void failed(String message) {
+			error = message;
+			completedAt = LocalDateTime.now();
+			status = Status.FAILED;
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		String getTenant() {
+			return tenant;
+		}
+
+		public ReportSpec getSpec() {
+			return spec;
+		}
+
+		public long getDataVersion() {
+			return dataVersion;
+		}
+
+		public Status getStatus() {
+			return status;
+		}
+
+		public LocalDateTime getSubmittedAt() {
+			return submittedAt;
+		}
+
+		public LocalDateTime getStartedAt() {
+			return startedAt;
+		}
+
+		public LocalDateTime getCompletedAt() {
+			return completedAt;
+		}
+
+		public TermReport getResult() {
+			return result;
+		}
+
+		public String getError() {
+			return error;
+		}
+	}
+}
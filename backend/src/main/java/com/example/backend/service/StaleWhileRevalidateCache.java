@@ -0,0 +1,159 @@
+package com.example.backend.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Per-key cache that answers from memory and refreshes in the background. A value younger than ttl is
+// returned as is; an older one is still returned immediately while one refresh runs on the executor.
+// Only a missing value, or one older than maxStale, is loaded on the caller's thread, and if that load
+// fails the last good value is served anyway. Every markStale bumps the key's generation; a load that
+// started before the latest bump may hold data from before the write, so it is stored already stale.
+public class StaleWhileRevalidateCache<T> {
+	private final long ttlMillis;
+	private final long maxStaleMillis;
+	private final Executor refreshExecutor;
+	private final Map<String, Entry<T>> entries = new ConcurrentHashMap<>();
+	private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+	private final AtomicLong allGeneration = new AtomicLong(); // bumped by markAllStale and clear
+
+	private final AtomicLong fresh = new AtomicLong();
+	private final AtomicLong stale = new AtomicLong();
+	private final AtomicLong loads = new AtomicLong();
+	private final AtomicLong failedLoads = new AtomicLong();
+	private final AtomicLong servedAfterFailure = new AtomicLong();
+
+	public StaleWhileRevalidateCache(long ttlMillis, long maxStaleMillis, Executor refreshExecutor) {
+		this.ttlMillis = ttlMillis;
+		this.maxStaleMillis = maxStaleMillis;
+		this.refreshExecutor = refreshExecutor;
+	}
+
+	public T get(String key, Supplier<T> loader) {
+		Entry<T> entry = entries.get(key);
+		long now = System.currentTimeMillis();
+		if (entry != null) {
+			long age = now - entry.loadedAt;
+			if (age < ttlMillis && !entry.invalidated) {
+				fresh.incrementAndGet();
+				return entry.value;
+			}
+			if (age < maxStaleMillis) {
+				stale.incrementAndGet();
+				refreshAsync(key, entry, loader);
+				return entry.value;
+			}
+		}
+
+		try {
+			return load(key, loader);
+		} catch (RuntimeException e) {
+			if (entry != null) {
+				servedAfterFailure.incrementAndGet();
+				return entry.value;
+			}
+			throw e;
+		}
+	}
+
+	// Next read still gets the current value but triggers a refresh
+	public void markStale(String key) {
+		generations.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+		Entry<T> entry = entries.get(key);
+		if (entry != null) {
+			entry.invalidated = true;
+		}
+	}
+
+	public void markAllStale() {
+		allGeneration.incrementAndGet();
+		entries.values().forEach(e -> e.invalidated = true);
+	}
+
+	public void clear() {
+		allGeneration.incrementAndGet();
+		entries.clear();
+	}
+
+	// Drops keys that will not be read again (e.g. past days), together with their generations
+	public void removeIf(Predicate<String> key) {
+		entries.keySet().removeIf(key);
+		generations.keySet().removeIf(key);
+	}
+
+	private long generation(String key) {
+		AtomicLong generation = generations.get(key);
+		return allGeneration.get() + (generation == null ? 0 : generation.get());
+	}
+
+	private T load(String key, Supplier<T> loader) {
+		loads.incrementAndGet();
+		long generation = generation(key);
+		try {
+			T value = loader.get();
+			Entry<T> entry = new Entry<>(value, System.currentTimeMillis());
+			entries.put(key, entry);
+			// Checked after the put: a markStale that ran before it either saw this entry or bumped the
+			// generation first
+			if (generation(key) != generation) {
+				entry.invalidated = true;
+			}
+			return value;
+		} catch (RuntimeException e) {
+			failedLoads.incrementAndGet();
+			throw e;
+		}
+	}
+
+	private void refreshAsync(String key, Entry<T> entry, Supplier<T> loader) {
+		if (!entry.refreshing.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			refreshExecutor.execute(() -> {
+				try {
+					load(key, loader);
+				} catch (RuntimeException e) {
+					// keep serving the old value; the next stale read tries again
+				} finally {
+					entry.refreshing.set(false);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			entry.refreshing.set(false);
+		}
+	}
+
+	public Map<String, Object> getStats() {
+		long now = System.currentTimeMillis();
+		Map<String, Object> ages = new LinkedHashMap<>();
+		entries.forEach((key, entry) -> ages.put(key, now - entry.loadedAt));
+
+		Map<String, Object> res = new LinkedHashMap<>();
+		res.put("freshHits", fresh.get());
+		res.put("staleHits", stale.get());
+		res.put("loads", loads.get());
+		res.put("failedLoads", failedLoads.get());
+		res.put("servedAfterFailedLoad", servedAfterFailure.get());
+		res.put("entryAgeMs", ages);
+		return res;
+	}
+
+	private static class Entry<T> {
+		final T value;
+		final long loadedAt;
+		final AtomicBoolean refreshing = new AtomicBoolean();
+		volatile boolean invalidated;
+
+		Entry(T value, long loadedAt) {
+			this.value = value;
+			this.loadedAt = loadedAt;
+		}
+	}
+}
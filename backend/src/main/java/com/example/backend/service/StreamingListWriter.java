@@ -0,0 +1,107 @@
+package com.example.backend.service;
+
+import com.example.backend.tenant.TenantContext;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.persistence.EntityManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Writes list responses row by row as a streaming query produces them, so memory per request stays flat
+// however long the list is. The body is a JSON array, or Smile/CBOR when the Accept header asks for them;
+// gzip is left to the server (server.compression.*). The query runs in its own read-only transaction on
+// the async thread that writes the body.
+@Component
+public class StreamingListWriter {
+	public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+	private static final int CLEAR_EVERY = 500;
+
+	// In preference order: a wildcard Accept gets JSON
+	private final Map<MediaType, ObjectWriter> writers = new LinkedHashMap<>();
+	private final TransactionTemplate readOnlyTransaction;
+	private final EntityManager entityManager;
+
+	public StreamingListWriter(ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+			EntityManager entityManager) {
+		writers.put(MediaType.APPLICATION_JSON, writer(objectMapper));
+		writers.put(APPLICATION_SMILE, writer(objectMapper.copyWith(new SmileFactory())));
+		writers.put(MediaType.APPLICATION_CBOR, writer(objectMapper.copyWith(new CBORFactory())));
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+		this.entityManager = entityManager;
+	}
+
+	// Flushing after every row would turn each one into its own chunk
+	private static ObjectWriter writer(ObjectMapper mapper) {
+		return mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+	}
+
+	public <T> ResponseEntity<StreamingResponseBody> write(String accept, Supplier<Stream<T>> rows) {
+		MediaType type = negotiate(accept);
+		ObjectWriter writer = writers.get(type);
+		String tenant = TenantContext.get();
+		StreamingResponseBody body = out -> TenantContext.run(tenant,
+				() -> readOnlyTransaction.executeWithoutResult(status -> {
+					try (Stream<T> stream = rows.get(); JsonGenerator generator = writer.createGenerator(out)) {
+						generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+						generator.writeStartArray();
+						int count = 0;
+						for (Iterator<T> it = stream.iterator(); it.hasNext();) {
+							writer.writeValue(generator, it.next());
+							// Written rows are garbage; don't let the persistence context hold on to them
+							if (++count % CLEAR_EVERY == 0) {
+								entityManager.clear();
+							}
+						}
+						generator.writeEndArray();
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}));
+		return ResponseEntity.ok()
+				.contentType(type)
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+				.body(body);
+	}
+
+	// Highest-quality accepted type that one of the writers produces; anything unsupported falls back to JSON
+	MediaType negotiate(String accept) {
+		if (accept == null || accept.isBlank()) {
+			return MediaType.APPLICATION_JSON;
+		}
+		List<MediaType> accepted;
+		try {
+			accepted = MediaType.parseMediaTypes(accept);
+		} catch (RuntimeException e) {
+			return MediaType.APPLICATION_JSON;
+		}
+		accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+		for (MediaType candidate : accepted) {
+			for (MediaType supported : writers.keySet()) {
+				if (candidate.includes(supported)) {
+					return supported;
+				}
+			}
+		}
+		return MediaType.APPLICATION_JSON;
+	}
+}
@@ -0,0 +1,321 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.StudentPage;
+import com.example.backend.dto.StudentSummary;
+import com.example.backend.event.UserChangedEvent;
+import com.example.backend.exception.InvalidRequestException;
+import com.example.backend.repo.UserRepository;
+import com.example.backend.tenant.TenantContext;
+import com.example.backend.tenant.TenantRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// In-memory student directory: sorted arrays for prefix lookups and a trigram index for
+// substring lookups, one per tenant. Rebuilt off the request path whenever users change.
+@Service
+public class StudentDirectoryService {
+	public static final int DEFAULT_LIMIT = 50;
+	private static final int MAX_LIMIT = 200;
+
+	private final UserRepository userRepository;
+	private final TenantRegistry tenantRegistry;
+	private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+		Thread t = new Thread(r, "student-directory-rebuild");
+		t.setDaemon(true);
+		return t;
+	});
+	private final Set<String> rebuildScheduled = ConcurrentHashMap.newKeySet();
+	private final Map<String, Index> indexes = new ConcurrentHashMap<>();
+
+	public StudentDirectoryService(UserRepository userRepository, TenantRegistry tenantRegistry) {
+		this.userRepository = userRepository;
+		this.tenantRegistry = tenantRegistry;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onReady() {
+		tenantRegistry.forEachTenant(tenant -> rebuild());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserChanged(UserChangedEvent event) {
+		scheduleRebuild();
+	}
+
+	// Rebuilds the current tenant's index in the background. Bursts of sign-ups collapse into a single
+	// rebuild per tenant.
+	public void scheduleRebuild() {
+		String tenant = TenantContext.get();
+		if (rebuildScheduled.add(tenant)) {
+			rebuildExecutor.execute(() -> {
+				rebuildScheduled.remove(tenant);
+				TenantContext.run(tenant, this::rebuild);
+			});
+		}
+	}
+
+	// Rebuilds the current tenant's index
+	public void rebuild() {
+		indexes.put(TenantContext.get(), Index.build(userRepository.findStudentSummaries()));
+	}
+
+	public int size() {
+		return currentIndex().entries.length;
+	}
+
+	public StudentPage search(String query, boolean contains, String cursor, int limit) {
+		Index idx = currentIndex();
+		String q = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+		int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+		int start = cursor == null || cursor.isEmpty() ? 0 : idx.positionAfter(decodeCursor(cursor));
+
+		List<Integer> positions = contains
+				? idx.contains(q, start, pageSize + 1)
+				: idx.prefix(q, start, pageSize + 1);
+
+		boolean hasMore = positions.size() > pageSize;
+		List<StudentSummary> items = new ArrayList<>(Math.min(positions.size(), pageSize));
+		for (int i = 0; i < positions.size() && i < pageSize; i++) {
+			items.add(idx.entries[positions.get(i)]);
+		}
+		String nextCursor = hasMore ? encodeCursor(idx, positions.get(pageSize - 1)) : null;
+		return new StudentPage(items, nextCursor);
+	}
+
+	private Index currentIndex() {
+		Index idx = indexes.get(TenantContext.get());
+		if (idx == null) {
+			rebuild();
+			idx = indexes.get(TenantContext.get());
+		}
+		return idx;
+	}
+
+	private static String encodeCursor(Index idx, int position) {
+		String raw = idx.usernameKeys[position] + '\u0000' + idx.entries[position].id();
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static Object[] decodeCursor(String cursor) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int sep = raw.lastIndexOf('\u0000');
+			return new Object[] { raw.substring(0, sep), Long.valueOf(raw.substring(sep + 1)) };
+		} catch (RuntimeException e) {
+			throw new InvalidRequestException("Invalid cursor");
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		rebuildExecutor.shutdownNow();
+	}
+
+	// Immutable snapshot; entries are ordered by (lowercase username, id), which is also the page order
+	private static final class Index {
+		private static final Comparator<StudentSummary> ORDER = Comparator
+				.comparing((StudentSummary s) -> lower(s.username()))
+				.thenComparing(StudentSummary::id);
+
+		final StudentSummary[] entries;
+		final String[] usernameKeys;
+		final String[] nameKeys;
+		final int[] byName; // entry positions ordered by name key
+		final String[] sortedNameKeys;
+		final Map<Long, int[]> trigrams;
+
+		private Index(StudentSummary[] entries) {
+			this.entries = entries;
+			int n = entries.length;
+			usernameKeys = new String[n];
+			nameKeys = new String[n];
+			for (int i = 0; i < n; i++) {
+				usernameKeys[i] = lower(entries[i].username());
+				nameKeys[i] = lower(entries[i].name());
+			}
+
+			Integer[] order = new Integer[n];
+			for (int i = 0; i < n; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, Comparator.comparing((Integer i) -> nameKeys[i]));
+			byName = new int[n];
+			sortedNameKeys = new String[n];
+			for (int i = 0; i < n; i++) {
+				byName[i] = order[i];
+				sortedNameKeys[i] = nameKeys[order[i]];
+			}
+
+			Map<Long, IntList> postings = new HashMap<>();
+			for (int p = 0; p < n; p++) {
+				addTrigrams(postings, usernameKeys[p], p);
+				addTrigrams(postings, nameKeys[p], p);
+			}
+			trigrams = new HashMap<>(postings.size() * 2);
+			postings.forEach((k, v) -> trigrams.put(k, v.toArray()));
+		}
+
+		static Index build(List<StudentSummary> students) {
+			StudentSummary[] entries = students.toArray(new StudentSummary[0]);
+			Arrays.sort(entries, ORDER);
+			return new Index(entries);
+		}
+
+		int positionAfter(Object[] cursor) {
+			String key = (String) cursor[0];
+			long id = (Long) cursor[1];
+			int lo = 0;
+			int hi = entries.length;
+			while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				int cmp = usernameKeys[mid].compareTo(key);
+				if (cmp < 0 || (cmp == 0 && entries[mid].id() <= id)) {
+					lo = mid + 1;
+				} else {
+					hi = mid;
+				}
+			}
+			return lo;
+		}
+
+		List<Integer> prefix(String q, int start, int max) {
+			List<Integer> result = new ArrayList<>();
+			if (q.isEmpty()) {
+				for (int p = start; p < entries.length && result.size() < max; p++) {
+					result.add(p);
+				}
+				return result;
+			}
+
+			int uFrom = Math.max(start, lowerBound(usernameKeys, q));
+			int uTo = lowerBound(usernameKeys, q + Character.MAX_VALUE);
+			int nFrom = lowerBound(sortedNameKeys, q);
+			int nTo = lowerBound(sortedNameKeys, q + Character.MAX_VALUE);
+
+			int[] nameHits = new int[Math.max(0, nTo - nFrom)];
+			int count = 0;
+			for (int i = nFrom; i < nTo; i++) {
+				if (byName[i] >= start) {
+					nameHits[count++] = byName[i];
+				}
+			}
+			Arrays.sort(nameHits, 0, count);
+
+			// Merge the two sorted position lists, dropping duplicates
+			int u = uFrom;
+			int k = 0;
+			while (result.size() < max && (u < uTo || k < count)) {
+				int next;
+				if (k >= count || (u < uTo && u <= nameHits[k])) {
+					next = u++;
+				} else {
+					next = nameHits[k++];
+				}
+				if (result.isEmpty() || result.get(result.size() - 1) != next) {
+					result.add(next);
+				}
+			}
+			return result;
+		}
+
+		List<Integer> contains(String q, int start, int max) {
+			List<Integer> result = new ArrayList<>();
+			if (q.length() < 3) {
+				for (int p = start; p < entries.length && result.size() < max; p++) {
+					if (matches(p, q)) {
+						result.add(p);
+					}
+				}
+				return result;
+			}
+
+			// Scan the rarest trigram's postings and verify each candidate
+			int[] candidates = null;
+			for (int i = 0; i + 3 <= q.length(); i++) {
+				int[] list = trigrams.get(trigram(q, i));
+				if (list == null) {
+					return result;
+				}
+				if (candidates == null || list.length < candidates.length) {
+					candidates = list;
+				}
+			}
+			int from = Arrays.binarySearch(candidates, start);
+			for (int i = from >= 0 ? from : -from - 1; i < candidates.length && result.size() < max; i++) {
+				if (matches(candidates[i], q)) {
+					result.add(candidates[i]);
+				}
+			}
+			return result;
+		}
+
+		private boolean matches(int p, String q) {
+			return usernameKeys[p].contains(q) || nameKeys[p].contains(q);
+		}
+
+		private static void addTrigrams(Map<Long, IntList> postings, String key, int position) {
+			for (int i = 0; i + 3 <= key.length(); i++) {
+				postings.computeIfAbsent(trigram(key, i), k -> new IntList()).addIfLast(position);
+			}
+		}
+
+		private static long trigram(String s, int i) {
+			return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+		}
+
+		private static int lowerBound(String[] keys, String key) {
+			int lo = 0;
+			int hi = keys.length;
+			while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				if (keys[mid].compareTo(key) < 0) {
+					lo = mid + 1;
+				} else {
+					hi = mid;
+				}
+			}
+			return lo;
+		}
+
+		private static String lower(String s) {
+			return s == null ? "" : s.toLowerCase(Locale.ROOT);
+		}
+	}
+
+	private static final class IntList {
+		private int[] values = new int[4];
+		private int size;
+
+		// Positions arrive in ascending order, so a repeat can only be the last element
+		void addIfLast(int value) {
+			if (size > 0 && values[size - 1] == value) {
+				return;
+			}
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(values, size);
+		}
+	}
+}
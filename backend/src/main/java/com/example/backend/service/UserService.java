@@ -1,51 +1,102 @@
 package com.example.backend.service;
 
+import com.example.backend.event.UserChangedEvent;
+import com.example.backend.exception.ConflictException;
+import com.example.backend.exception.NotFoundException;
+import com.example.backend.model.Student;
 import com.example.backend.model.User;
 import com.example.backend.model.UserRole;
+import com.example.backend.repo.AttendanceAlertRepository;
+import com.example.backend.repo.AttendanceMonthRepository;
+import com.example.backend.repo.AttendanceRepository;
+import com.example.backend.repo.AttendanceTallyRepository;
+import com.example.backend.repo.StudentRepository;
 import com.example.backend.repo.UserRepository;
+import com.example.backend.tenant.TenantContext;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class UserService {
     private final UserRepository userRepository;
-
-    public UserService(UserRepository userRepository) {
+    private final StudentRepository studentRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final AttendanceTallyRepository tallyRepository;
+    private final AttendanceAlertRepository alertRepository;
+    private final AttendanceMonthRepository monthRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserService(UserRepository userRepository, StudentRepository studentRepository,
+            AttendanceRepository attendanceRepository, AttendanceTallyRepository tallyRepository,
+            AttendanceAlertRepository alertRepository, AttendanceMonthRepository monthRepository,
+            PasswordHashingService passwordHashingService, ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
+        this.studentRepository = studentRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.tallyRepository = tallyRepository;
+        this.alertRepository = alertRepository;
+        this.monthRepository = monthRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     public List<User> getAllStudents() {
         return userRepository.findByRole(UserRole.STUDENT);
     }
 
+    // Caller must consume it inside a transaction (see StreamingListWriter)
+    public Stream<User> streamAllStudents() {
+        return userRepository.streamByRole(UserRole.STUDENT);
+    }
+
     public List<User> getAllTeachers() {
         return userRepository.findByRole(UserRole.TEACHER);
     }
 
     public User getUserById(Long id) {
         return userRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+                .orElseThrow(() -> new NotFoundException("User not found with id: " + id));
     }
 
     public Optional<User> getUserByUsername(String username) {
         return userRepository.findByUsername(username);
     }
 
+    // Every user account is created here; students also get their Student row (same id) in the same transaction
     public User createUser(String username, String password, UserRole role, String name, String email) {
         if (userRepository.existsByUsername(username)) {
-            throw new RuntimeException("Username already exists: " + username);
+            throw new ConflictException("Username already exists: " + username);
         }
 
-        User user = new User();
-        user.setUsername(username);
-        user.setPassword(password);
-        user.setRole(role);
-        user.setName(name);
-        user.setEmail(email);
+        // Hash before opening the transaction so no connection is held while waiting on the hashing pool
+        String passwordHash = passwordHashingService.encode(password);
 
-        return userRepository.save(user);
+        User saved = transactionTemplate.execute(status -> {
+            User user = new User();
+            user.setUsername(username);
+            user.setPassword(passwordHash);
+            user.setRole(role);
+            user.setName(name);
+            user.setEmail(email);
+
+            User created = userRepository.save(user);
+            if (role == UserRole.STUDENT) {
+                studentRepository.save(new Student(created));
+            }
+            return created;
+        });
+        eventPublisher.publishEvent(new UserChangedEvent(saved.getId()));
+        return saved;
     }
 
     public List<User> getAllUsers() {
@@ -68,13 +119,35 @@ public class UserService {
         if (email != null) {
             user.setEmail(email);
         }
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
+        return saved;
     }
 
+    // Attendance a teacher has marked is a record we keep, so its student and its teacher can't be deleted.
+    // A student with none only has the rollover job's unmarked rows and what was derived from them; those go
+    // with the Student row in the same transaction.
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new RuntimeException("User not found with id: " + id);
-        }
-        userRepository.deleteById(id);
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = getUserById(id);
+            if (attendanceRepository.existsByStudentIdAndMarkedByIsNotNull(id)) {
+                throw new ConflictException("Student " + user.getUsername()
+                        + " has recorded attendance and can't be deleted");
+            }
+            if (attendanceRepository.existsByMarkedById(id)) {
+                throw new ConflictException("User " + user.getUsername()
+                        + " has marked attendance and can't be deleted");
+            }
+            if (studentRepository.existsById(id)) {
+                String tenantId = TenantContext.get();
+                attendanceRepository.deleteUnmarkedByStudentId(tenantId, id);
+                alertRepository.deleteByStudentId(tenantId, id);
+                tallyRepository.deleteByStudentId(id);
+                monthRepository.deleteByStudentId(id);
+                studentRepository.deleteById(id);
+            }
+            userRepository.delete(user);
+        });
+        eventPublisher.publishEvent(new UserChangedEvent(id));
     }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.example.backend.tenant;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+// tenancy.tenants.<tenant>=<shard> maps campuses to shards. Shard "main" is spring.datasource; others are
+// declared under tenancy.shards.<shard>.url/username/password and share the spring.datasource.hikari settings.
+// r2dbc-url is only needed by the reactive read stack.
+@ConfigurationProperties(prefix = "tenancy")
+public record TenancyProperties(String defaultTenant, Map<String, String> tenants, Map<String, Shard> shards) {
+
+	public TenancyProperties {
+		defaultTenant = defaultTenant == null || defaultTenant.isBlank() ? TenantRegistry.MAIN_SHARD : defaultTenant;
+		tenants = tenants == null ? Map.of() : tenants;
+		shards = shards == null ? Map.of() : shards;
+	}
+
+	public record Shard(String url, String username, String password, String driverClassName, String r2dbcUrl) {
+	}
+}
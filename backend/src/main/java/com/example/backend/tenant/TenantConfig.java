@@ -0,0 +1,92 @@
+package com.example.backend.tenant;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(TenancyProperties.class)
+public class TenantConfig {
+
+	// One Hikari pool per shard behind a routing data source. Shard "main" comes from spring.datasource
+	// (or a test's service connection); every pool gets the spring.datasource.hikari settings.
+	@Bean
+	@Primary
+	public TenantRoutingDataSource dataSource(TenancyProperties tenancy,
+			TenantRegistry tenantRegistry,
+			DataSourceProperties dataSourceProperties,
+			ObjectProvider<JdbcConnectionDetails> connectionDetails,
+			Environment environment) {
+		Map<Object, Object> shards = new LinkedHashMap<>();
+		JdbcConnectionDetails main = connectionDetails.getIfAvailable();
+		shards.put(TenantRegistry.MAIN_SHARD, main != null
+				? pool(environment, TenantRegistry.MAIN_SHARD, main.getJdbcUrl(), main.getUsername(), main.getPassword(),
+						main.getDriverClassName())
+				: pool(environment, TenantRegistry.MAIN_SHARD, dataSourceProperties.determineUrl(),
+						dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword(),
+						dataSourceProperties.determineDriverClassName()));
+		tenancy.shards().forEach((name, shard) -> shards.put(name,
+				pool(environment, name, shard.url(), shard.username(), shard.password(), shard.driverClassName())));
+
+		TenantRoutingDataSource routing = new TenantRoutingDataSource(tenantRegistry);
+		routing.setTargetDataSources(shards);
+		return routing;
+	}
+
+	private static HikariDataSource pool(Environment environment, String shard, String url, String username,
+			String password, String driverClassName) {
+		HikariDataSource pool = new HikariDataSource();
+		Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+		pool.setPoolName("shard-" + shard);
+		pool.setJdbcUrl(url);
+		pool.setUsername(username);
+		pool.setPassword(password);
+		if (driverClassName != null) {
+			pool.setDriverClassName(driverClassName);
+		}
+		return pool;
+	}
+
+	// Flyway only sees the routed data source (the default tenant's shard), so apply the same
+	// migrations to every shard explicitly
+	@Bean
+	public FlywayMigrationStrategy shardedMigrationStrategy(TenantRoutingDataSource dataSource) {
+		return flyway -> dataSource.getResolvedDataSources().forEach((shard, target) -> {
+			System.out.println("Migrating shard " + shard);
+			Flyway.configure()
+					.configuration(flyway.getConfiguration())
+					.dataSource(target)
+					.load()
+					.migrate();
+		});
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer tenantIdentifierCustomizer() {
+		return properties -> properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER,
+				new TenantIdentifierResolver());
+	}
+
+	// Carries the tenant into @Async listeners
+	@Bean
+	public TaskDecorator tenantTaskDecorator() {
+		return TenantContext::wrap;
+	}
+}
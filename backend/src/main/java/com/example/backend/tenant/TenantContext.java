@@ -0,0 +1,65 @@
+package com.example.backend.tenant;
+
+import java.util.function.Supplier;
+
+// Tenant (campus) of the work running on the current thread. Requests get it from TenantFilter; background
+// work must carry it over explicitly with wrap/run, because the routing data source and Hibernate's tenant
+// filter both read it when a connection or session is opened.
+public final class TenantContext {
+	private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+	private static volatile String defaultTenant = "main";
+
+	private TenantContext() {
+	}
+
+	public static String get() {
+		String tenant = CURRENT.get();
+		return tenant != null ? tenant : defaultTenant;
+	}
+
+	public static void set(String tenant) {
+		CURRENT.set(tenant);
+	}
+
+	public static void clear() {
+		CURRENT.remove();
+	}
+
+	static void setDefaultTenant(String tenant) {
+		defaultTenant = tenant;
+	}
+
+	public static void run(String tenant, Runnable task) {
+		String previous = CURRENT.get();
+		CURRENT.set(tenant);
+		try {
+			task.run();
+		} finally {
+			restore(previous);
+		}
+	}
+
+	public static <T> T call(String tenant, Supplier<T> task) {
+		String previous = CURRENT.get();
+		CURRENT.set(tenant);
+		try {
+			return task.get();
+		} finally {
+			restore(previous);
+		}
+	}
+
+	// Binds the caller's tenant to a task that will run on another thread
+	public static Runnable wrap(Runnable task) {
+		String tenant = get();
+		return () -> run(tenant, task);
+	}
+
+	private static void restore(String previous) {
+		if (previous == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(previous);
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package com.example.backend.tenant;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Binds the campus named in the X-Tenant-Id header (default tenant when absent) for the rest of the request.
+// Runs ahead of Spring Security, so HTTP Basic looks the user up in the right tenant.
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class TenantFilter extends OncePerRequestFilter {
+	public static final String HEADER = "X-Tenant-Id";
+
+	private final TenantRegistry tenantRegistry;
+
+	public TenantFilter(TenantRegistry tenantRegistry) {
+		this.tenantRegistry = tenantRegistry;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String tenant = request.getHeader(HEADER);
+		if (tenant == null || tenant.isBlank()) {
+			tenant = tenantRegistry.getDefaultTenant();
+		} else if (!tenantRegistry.exists(tenant)) {
+			response.setStatus(HttpStatus.BAD_REQUEST.value());
+			response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+			response.getWriter().write("{\"error\":\"Unknown tenant\"}");
+			return;
+		}
+
+		TenantContext.set(tenant);
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			TenantContext.clear();
+		}
+	}
+}
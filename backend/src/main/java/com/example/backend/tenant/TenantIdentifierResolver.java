@@ -0,0 +1,16 @@
+package com.example.backend.tenant;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+// Feeds the current tenant to Hibernate, which stamps it on @TenantId columns and filters every query by it
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<String> {
+	@Override
+	public String resolveCurrentTenantIdentifier() {
+		return TenantContext.get();
+	}
+
+	@Override
+	public boolean validateExistingCurrentSessions() {
+		return true;
+	}
+}
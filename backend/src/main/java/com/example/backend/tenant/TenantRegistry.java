@@ -0,0 +1,74 @@
+package com.example.backend.tenant;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+// Known tenants and the shard each one lives on
+@Component
+public class TenantRegistry {
+	public static final String MAIN_SHARD = "main";
+
+	private final String defaultTenant;
+	private final Map<String, String> shardByTenant;
+
+	public TenantRegistry(TenancyProperties properties) {
+		Map<String, String> tenants = new TreeMap<>(properties.tenants());
+		tenants.putIfAbsent(properties.defaultTenant(), MAIN_SHARD);
+		for (Map.Entry<String, String> entry : tenants.entrySet()) {
+			String shard = entry.getValue();
+			if (!MAIN_SHARD.equals(shard) && !properties.shards().containsKey(shard)) {
+				throw new IllegalStateException("Tenant '" + entry.getKey() + "' maps to undefined shard '" + shard + "'");
+			}
+		}
+		this.defaultTenant = properties.defaultTenant();
+		this.shardByTenant = Collections.unmodifiableMap(tenants);
+		TenantContext.setDefaultTenant(defaultTenant);
+	}
+
+	public String getDefaultTenant() {
+		return defaultTenant;
+	}
+
+	public boolean exists(String tenant) {
+		return shardByTenant.containsKey(tenant);
+	}
+
+	public String shardOf(String tenant) {
+		String shard = shardByTenant.get(tenant);
+		if (shard == null) {
+			throw new IllegalStateException("Unknown tenant '" + tenant + "'");
+		}
+		return shard;
+	}
+
+	public List<String> getTenants() {
+		return new ArrayList<>(shardByTenant.keySet());
+	}
+
+	public Map<String, String> getShardByTenant() {
+		return shardByTenant;
+	}
+
+	public Map<String, List<String>> getTenantsByShard() {
+		Map<String, List<String>> byShard = new TreeMap<>();
+		shardByTenant.forEach((tenant, shard) -> byShard.computeIfAbsent(shard, s -> new ArrayList<>()).add(tenant));
+		return byShard;
+	}
+
+	// Runs the task once per tenant with that tenant bound; a failure for one tenant doesn't stop the others
+	public void forEachTenant(Consumer<String> task) {
+		for (String tenant : shardByTenant.keySet()) {
+			try {
+				TenantContext.run(tenant, () -> task.accept(tenant));
+			} catch (RuntimeException e) {
+				System.out.println("Task failed for tenant " + tenant + ": " + e.getMessage());
+			}
+		}
+	}
+}
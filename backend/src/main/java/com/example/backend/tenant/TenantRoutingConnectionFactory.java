@@ -0,0 +1,30 @@
+package com.example.backend.tenant;
+
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+// Reactive twin of TenantRoutingDataSource. Reactive pipelines hop threads, so the tenant travels in the
+// Reactor context (see withTenant) instead of TenantContext, and a pipeline without one fails fast.
+public class TenantRoutingConnectionFactory extends AbstractRoutingConnectionFactory {
+	private static final String TENANT_KEY = TenantRoutingConnectionFactory.class.getName() + ".tenant";
+
+	private final TenantRegistry tenantRegistry;
+
+	public TenantRoutingConnectionFactory(TenantRegistry tenantRegistry) {
+		this.tenantRegistry = tenantRegistry;
+		setLenientFallback(false);
+	}
+
+	// For contextWrite at the end of a pipeline
+	public static Context withTenant(String tenant) {
+		return Context.of(TENANT_KEY, tenant);
+	}
+
+	@Override
+	protected Mono<Object> determineCurrentLookupKey() {
+		return Mono.deferContextual(context -> context.<String>getOrEmpty(TENANT_KEY)
+				.<Mono<Object>>map(tenant -> Mono.just(tenantRegistry.shardOf(tenant)))
+				.orElseGet(() -> Mono.error(new IllegalStateException("No tenant bound to the reactive pipeline"))));
+	}
+}
@@ -0,0 +1,19 @@
+package com.example.backend.tenant;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+// Hands out connections from the current tenant's shard. The lookup happens when a connection is opened,
+// i.e. at transaction start, so the tenant must be bound before entering @Transactional code.
+public class TenantRoutingDataSource extends AbstractRoutingDataSource {
+	private final TenantRegistry tenantRegistry;
+
+	public TenantRoutingDataSource(TenantRegistry tenantRegistry) {
+		this.tenantRegistry = tenantRegistry;
+		setLenientFallback(false);
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return tenantRegistry.shardOf(TenantContext.get());
+	}
+}
@@ -0,0 +1,14 @@
+-- At most one open alert per student and subject. MySQL has no partial indexes, so the key covers a
+-- generated column that is 1 while the alert is open and NULL once it is resolved (NULLs never collide).
+
+-- Resolve duplicates left by concurrent raises, keeping the oldest open alert of each pair
+UPDATE attendance_alerts a
+JOIN (SELECT student_id, subject_id, MIN(id) AS keep_id FROM attendance_alerts
+      WHERE resolved_at IS NULL GROUP BY student_id, subject_id HAVING COUNT(*) > 1) d
+    ON a.student_id = d.student_id AND a.subject_id = d.subject_id
+SET a.resolved_at = a.raised_at
+WHERE a.resolved_at IS NULL AND a.id <> d.keep_id;
+
+ALTER TABLE attendance_alerts
+    ADD COLUMN open_flag TINYINT AS (IF(resolved_at IS NULL, 1, NULL)) STORED,
+    ADD CONSTRAINT uk_attendance_alerts_open UNIQUE (student_id, subject_id, open_flag);
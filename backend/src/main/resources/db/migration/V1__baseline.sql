@@ -0,0 +1,72 @@
+-- Baseline schema, matching what ddl-auto=update produced for the existing entities
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_type VARCHAR(31) NOT NULL DEFAULT 'User',
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(20) NOT NULL,
+    name VARCHAR(255),
+    email VARCHAR(255),
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+) ENGINE=InnoDB;
+
+CREATE TABLE students (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_students_username UNIQUE (username)
+) ENGINE=InnoDB;
+
+CREATE TABLE subjects (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    code VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_subjects_name UNIQUE (name),
+    CONSTRAINT uk_subjects_code UNIQUE (code)
+) ENGINE=InnoDB;
+
+CREATE TABLE attendance (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    student_id BIGINT NOT NULL,
+    subject_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attendance_date DATE NOT NULL,
+    marked_at DATETIME(6),
+    marked_by BIGINT NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_attendance_student_subject_date UNIQUE (student_id, subject_id, attendance_date),
+    CONSTRAINT fk_attendance_student FOREIGN KEY (student_id) REFERENCES students (id),
+    CONSTRAINT fk_attendance_subject FOREIGN KEY (subject_id) REFERENCES subjects (id),
+    CONSTRAINT fk_attendance_marked_by FOREIGN KEY (marked_by) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE attendance_tallies (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    student_id BIGINT NOT NULL,
+    subject_id BIGINT NOT NULL,
+    present_count BIGINT NOT NULL,
+    total_count BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_attendance_tallies_student_subject UNIQUE (student_id, subject_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE attendance_alerts (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    student_id BIGINT NOT NULL,
+    subject_id BIGINT NOT NULL,
+    present_count BIGINT NOT NULL,
+    total_count BIGINT NOT NULL,
+    raised_at DATETIME(6) NOT NULL,
+    resolved_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_attendance_alerts_student FOREIGN KEY (student_id) REFERENCES students (id),
+    CONSTRAINT fk_attendance_alerts_subject FOREIGN KEY (subject_id) REFERENCES subjects (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_attendance_alerts_open ON attendance_alerts (student_id, subject_id, resolved_at);
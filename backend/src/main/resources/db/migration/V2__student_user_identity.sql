@@ -0,0 +1,171 @@
+-- Students are now keyed by users.id (students.user_id) instead of a separate id linked by username.
+-- The UI has always listed users and sent users.id as studentId, so every mark made through it already
+-- holds a user id (it was stored against whichever students row happened to share that number). Only the
+-- sample rows written by the old seeder hold real students.id values, and only those are remapped here.
+-- The seeder only wrote into an empty table, in one go: PRESENT for the first (up to) three students x two
+-- subjects by id, dated the day before it ran, marked by one teacher, marked_at one day back. So they are
+-- the lowest ids, and the old presence reset can only have turned them ABSENT with marked_at cleared.
+-- The batch is remapped when both its shape (that student x subject grid) and its signature (one date, one
+-- teacher, written after that date, PRESENT or reset) match. When only one of the two does, those rows are
+-- quarantined for manual review instead of guessed at; when neither does, there are no sample rows.
+-- Tallies and alerts were only ever fed by UI marks and keep their ids. Rows that still don't resolve to a
+-- student user are moved to *_quarantine tables rather than deleted.
+
+-- Databases baselined before the alert tables existed
+CREATE TABLE IF NOT EXISTS attendance_tallies (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    student_id BIGINT NOT NULL,
+    subject_id BIGINT NOT NULL,
+    present_count BIGINT NOT NULL,
+    total_count BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_attendance_tallies_student_subject UNIQUE (student_id, subject_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS attendance_alerts (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    student_id BIGINT NOT NULL,
+    subject_id BIGINT NOT NULL,
+    present_count BIGINT NOT NULL,
+    total_count BIGINT NOT NULL,
+    raised_at DATETIME(6) NOT NULL,
+    resolved_at DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE student_id_map AS
+SELECT s.id AS old_id, u.id AS new_id
+FROM students s
+JOIN users u ON u.username = s.username;
+
+-- Everyone who gets a students row below
+CREATE TABLE student_user_ids AS
+SELECT u.id
+FROM users u
+LEFT JOIN students s ON s.username = u.username
+WHERE u.role = 'STUDENT' OR s.id IS NOT NULL;
+
+-- Foreign keys into students may carry Hibernate-generated names, so look them up
+SET @fk := (SELECT CONSTRAINT_NAME FROM information_schema.KEY_COLUMN_USAGE
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'attendance'
+              AND COLUMN_NAME = 'student_id' AND REFERENCED_TABLE_NAME = 'students' LIMIT 1);
+SET @ddl := IF(@fk IS NULL, 'DO 0', CONCAT('ALTER TABLE attendance DROP FOREIGN KEY ', @fk));
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @fk := (SELECT CONSTRAINT_NAME FROM information_schema.KEY_COLUMN_USAGE
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'attendance_alerts'
+              AND COLUMN_NAME = 'student_id' AND REFERENCED_TABLE_NAME = 'students' LIMIT 1);
+SET @ddl := IF(@fk IS NULL, 'DO 0', CONCAT('ALTER TABLE attendance_alerts DROP FOREIGN KEY ', @fk));
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- What the seeder would have written, and the rows that would be it
+CREATE TABLE seed_students AS SELECT id FROM students ORDER BY id LIMIT 3;
+CREATE TABLE seed_subjects AS SELECT id FROM subjects ORDER BY id LIMIT 2;
+SET @seed_rows := (SELECT COUNT(*) FROM seed_students) * (SELECT COUNT(*) FROM seed_subjects);
+
+CREATE TABLE seed_candidates AS
+SELECT id, student_id, subject_id, attendance_date, status, marked_at, marked_by, updated_at
+FROM (SELECT a.*, ROW_NUMBER() OVER (ORDER BY a.id) AS rn FROM attendance a) numbered
+WHERE rn <= @seed_rows;
+
+SET @seed_grid := (SELECT @seed_rows > 0 AND COUNT(DISTINCT c.student_id, c.subject_id) = @seed_rows
+                   FROM seed_candidates c
+                   JOIN seed_students st ON st.id = c.student_id
+                   JOIN seed_subjects su ON su.id = c.subject_id);
+SET @seed_signature := (SELECT COUNT(*) = @seed_rows AND COUNT(DISTINCT attendance_date) = 1
+                            AND COUNT(DISTINCT marked_by) = 1
+                            AND COALESCE(SUM(NOT ((status = 'PRESENT' AND DATE(marked_at) <=> attendance_date)
+                                                  OR (status = 'ABSENT' AND marked_at IS NULL))), 0) = 0
+                            AND COALESCE(SUM(NOT COALESCE(DATE(updated_at) > attendance_date, FALSE)), 0) = 0
+                        FROM seed_candidates);
+
+CREATE TABLE attendance_remap AS
+SELECT a.id,
+       (c.id IS NOT NULL AND @seed_grid AND @seed_signature) AS seeded,
+       IF(c.id IS NOT NULL AND @seed_grid AND @seed_signature, m.new_id, a.student_id) AS new_student_id,
+       CAST(IF(c.id IS NOT NULL AND (@seed_grid XOR @seed_signature), 'possible sample row, review manually',
+               NULL) AS CHAR(40)) AS reason
+FROM attendance a
+LEFT JOIN seed_candidates c ON c.id = a.id
+LEFT JOIN student_id_map m ON m.old_id = a.student_id;
+
+UPDATE attendance_remap r
+LEFT JOIN student_user_ids su ON su.id = r.new_student_id
+SET r.reason = 'no matching student user'
+WHERE su.id IS NULL AND r.reason IS NULL;
+
+-- A sample row landing on a day the same student was also marked through the UI gives way to the real mark
+CREATE TABLE ui_marks AS
+SELECT r.new_student_id AS student_id, a.subject_id, a.attendance_date
+FROM attendance_remap r
+JOIN attendance a ON a.id = r.id
+WHERE r.seeded = FALSE AND r.reason IS NULL;
+
+UPDATE attendance_remap r
+JOIN attendance a ON a.id = r.id
+JOIN ui_marks u ON u.student_id = r.new_student_id AND u.subject_id = a.subject_id
+    AND u.attendance_date = a.attendance_date
+SET r.reason = 'duplicate of a UI mark'
+WHERE r.seeded = TRUE AND r.reason IS NULL;
+
+CREATE TABLE attendance_quarantine AS
+SELECT a.*, r.reason, NOW(6) AS quarantined_at
+FROM attendance a
+JOIN attendance_remap r ON r.id = a.id
+WHERE r.reason IS NOT NULL;
+
+CREATE TABLE attendance_tallies_quarantine AS
+SELECT t.*, 'no matching student user' AS reason, NOW(6) AS quarantined_at
+FROM attendance_tallies t
+LEFT JOIN student_user_ids su ON su.id = t.student_id
+WHERE su.id IS NULL;
+
+CREATE TABLE attendance_alerts_quarantine AS
+SELECT al.*, 'no matching student user' AS reason, NOW(6) AS quarantined_at
+FROM attendance_alerts al
+LEFT JOIN student_user_ids su ON su.id = al.student_id
+WHERE su.id IS NULL;
+
+DELETE a FROM attendance a JOIN attendance_quarantine q ON q.id = a.id;
+DELETE t FROM attendance_tallies t JOIN attendance_tallies_quarantine q ON q.id = t.id;
+DELETE al FROM attendance_alerts al JOIN attendance_alerts_quarantine q ON q.id = al.id;
+
+-- Remap the sample rows in two passes through negative ids so the unique key never sees a transient collision
+UPDATE attendance a
+JOIN attendance_remap r ON r.id = a.id
+SET a.student_id = -r.new_student_id
+WHERE r.seeded = TRUE;
+UPDATE attendance SET student_id = -student_id WHERE student_id < 0;
+
+-- Rebuild students keyed by user id; STUDENT users created by auto-registration get their row now
+CREATE TABLE students_new (
+    user_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (user_id),
+    CONSTRAINT fk_students_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+INSERT INTO students_new (user_id, created_at)
+SELECT u.id, COALESCE(s.created_at, u.created_at, NOW(6))
+FROM users u
+LEFT JOIN students s ON s.username = u.username
+WHERE u.role = 'STUDENT' OR s.id IS NOT NULL;
+
+DROP TABLE students;
+RENAME TABLE students_new TO students;
+DROP TABLE student_id_map;
+DROP TABLE student_user_ids;
+DROP TABLE attendance_remap;
+DROP TABLE ui_marks;
+DROP TABLE seed_candidates;
+DROP TABLE seed_students;
+DROP TABLE seed_subjects;
+
+ALTER TABLE attendance
+    ADD CONSTRAINT fk_attendance_student FOREIGN KEY (student_id) REFERENCES students (user_id);
+ALTER TABLE attendance_alerts
+    ADD CONSTRAINT fk_attendance_alerts_student FOREIGN KEY (student_id) REFERENCES students (user_id);
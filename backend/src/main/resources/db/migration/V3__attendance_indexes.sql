@@ -0,0 +1,15 @@
+-- Index set for the AttendanceRepository finders. The unique key (student_id, subject_id, attendance_date)
+-- already serves lookups that start with student_id; everything else filters on date, subject or status.
+
+-- findByDate, findTodayAttendance, findByStatusAndDate, findAttendanceByDateRange, resetAttendanceForDate,
+-- and index-only for countPresentStudentsByDate / countAttendanceBySubjectAndDate
+CREATE INDEX idx_attendance_date_status ON attendance (attendance_date, status, subject_id, student_id);
+
+-- findBySubjectIdAndDate
+CREATE INDEX idx_attendance_subject_date ON attendance (subject_id, attendance_date);
+
+-- findByStudentIdAndDateBetween, findRecentAttendanceByStudentId (ORDER BY date), findByStudentIdAndStatusAndDate
+CREATE INDEX idx_attendance_student_date ON attendance (student_id, attendance_date);
+
+-- findByStatusAndMarkedAtBefore (presence expiry)
+CREATE INDEX idx_attendance_status_marked_at ON attendance (status, marked_at);
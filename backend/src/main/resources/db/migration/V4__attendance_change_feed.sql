@@ -0,0 +1,18 @@
+-- Change feed for delta sync: every attendance write takes the next value of the 'attendance'
+-- sequence, and clients page through rows ordered by (change_seq, id).
+
+CREATE TABLE change_sequences (
+    name VARCHAR(64) NOT NULL,
+    current_value BIGINT NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE=InnoDB;
+
+ALTER TABLE attendance ADD COLUMN change_seq BIGINT NULL;
+
+-- Existing rows are ordered by id; new writes continue after the highest one
+UPDATE attendance SET change_seq = id;
+
+INSERT INTO change_sequences (name, current_value)
+SELECT 'attendance', COALESCE(MAX(id), 0) FROM attendance;
+
+CREATE INDEX idx_attendance_change_seq ON attendance (change_seq, id);
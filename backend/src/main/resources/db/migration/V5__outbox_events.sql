@@ -0,0 +1,12 @@
+-- Transactional outbox for attendance change events; the relay's position lives in change_sequences
+
+CREATE TABLE outbox_events (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(64) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+INSERT INTO change_sequences (name, current_value) VALUES ('outbox_relay', 0);
@@ -0,0 +1,46 @@
+-- Multi-campus tenancy: tenant-owned tables get a tenant_id, and uniqueness becomes per tenant.
+-- Rows that predate tenancy belong to the default tenant, 'main'. Ids stay unique per shard, so
+-- tables keyed only by ids (tallies, change sequences) need no tenant column.
+
+ALTER TABLE users ADD COLUMN tenant_id VARCHAR(64) NOT NULL DEFAULT 'main';
+ALTER TABLE students ADD COLUMN tenant_id VARCHAR(64) NOT NULL DEFAULT 'main';
+ALTER TABLE subjects ADD COLUMN tenant_id VARCHAR(64) NOT NULL DEFAULT 'main';
+ALTER TABLE attendance ADD COLUMN tenant_id VARCHAR(64) NOT NULL DEFAULT 'main';
+ALTER TABLE attendance_alerts ADD COLUMN tenant_id VARCHAR(64) NOT NULL DEFAULT 'main';
+ALTER TABLE outbox_events ADD COLUMN tenant_id VARCHAR(64) NOT NULL DEFAULT 'main';
+
+-- Single-column unique keys may carry Hibernate-generated names, so look them up
+SET @idx := (SELECT INDEX_NAME FROM information_schema.STATISTICS
+             WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'users' AND NON_UNIQUE = 0 AND INDEX_NAME <> 'PRIMARY'
+             GROUP BY INDEX_NAME HAVING COUNT(*) = 1 AND MAX(COLUMN_NAME) = 'username' LIMIT 1);
+SET @ddl := IF(@idx IS NULL, 'DO 0', CONCAT('ALTER TABLE users DROP INDEX `', @idx, '`'));
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @idx := (SELECT INDEX_NAME FROM information_schema.STATISTICS
+             WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'subjects' AND NON_UNIQUE = 0 AND INDEX_NAME <> 'PRIMARY'
+             GROUP BY INDEX_NAME HAVING COUNT(*) = 1 AND MAX(COLUMN_NAME) = 'name' LIMIT 1);
+SET @ddl := IF(@idx IS NULL, 'DO 0', CONCAT('ALTER TABLE subjects DROP INDEX `', @idx, '`'));
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @idx := (SELECT INDEX_NAME FROM information_schema.STATISTICS
+             WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'subjects' AND NON_UNIQUE = 0 AND INDEX_NAME <> 'PRIMARY'
+             GROUP BY INDEX_NAME HAVING COUNT(*) = 1 AND MAX(COLUMN_NAME) = 'code' LIMIT 1);
+SET @ddl := IF(@idx IS NULL, 'DO 0', CONCAT('ALTER TABLE subjects DROP INDEX `', @idx, '`'));
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+ALTER TABLE users ADD CONSTRAINT uk_users_tenant_username UNIQUE (tenant_id, username);
+ALTER TABLE subjects ADD CONSTRAINT uk_subjects_tenant_name UNIQUE (tenant_id, name);
+ALTER TABLE subjects ADD CONSTRAINT uk_subjects_tenant_code UNIQUE (tenant_id, code);
+
+-- The outbox relay reads per tenant
+CREATE INDEX idx_outbox_events_tenant ON outbox_events (tenant_id, id);
+
+-- Outbox relay positions are now kept per tenant
+ALTER TABLE change_sequences MODIFY name VARCHAR(96) NOT NULL;
+UPDATE change_sequences SET name = 'outbox_relay:main' WHERE name = 'outbox_relay';
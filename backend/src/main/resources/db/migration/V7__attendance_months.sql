@@ -0,0 +1,15 @@
+-- Compact history: one row per student, subject and month. Bit (day - 1) of marked_days is set when
+-- the day has an attendance row, the same bit of present_days when that row is PRESENT. Like the
+-- tallies, rows are keyed by ids and need no tenant column. AttendanceMonthService fills the table
+-- from attendance at startup while it is empty and keeps it in step with every change after that.
+
+CREATE TABLE attendance_months (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    student_id BIGINT NOT NULL,
+    subject_id BIGINT NOT NULL,
+    month_start DATE NOT NULL,
+    marked_days INT NOT NULL DEFAULT 0,
+    present_days INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_attendance_months UNIQUE (student_id, month_start, subject_id)
+) ENGINE=InnoDB;
@@ -0,0 +1,4 @@
+-- The nightly rollover job pre-creates each day's attendance rows as ABSENT before anyone marks them,
+-- so a row no longer always has a marking teacher; marked_by is filled in by the first mark.
+
+ALTER TABLE attendance MODIFY marked_by BIGINT NULL;
@@ -0,0 +1,13 @@
+-- Cross-instance cache invalidation: one version per tenant and entity type (subjects, users, attendance),
+-- bumped after writes and polled by every backend instance
+
+CREATE TABLE cache_versions (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    tenant_id VARCHAR(64) NOT NULL,
+    entity VARCHAR(32) NOT NULL,
+    version BIGINT NOT NULL,
+    origin VARCHAR(64) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_cache_versions_tenant_entity UNIQUE (tenant_id, entity)
+) ENGINE=InnoDB;
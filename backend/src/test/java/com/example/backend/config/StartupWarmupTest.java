@@ -0,0 +1,52 @@
+package com.example.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A real port, so the loopback endpoint step runs too
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"app.seed.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=none",
+		"spring.jpa.show-sql=false",
+		"warmup.http-iterations=5"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class StartupWarmupTest {
+
+	@Container
+	@ServiceConnection
+	static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+	@Autowired
+	private StartupWarmup startupWarmup;
+
+	@Autowired
+	private ApplicationAvailability availability;
+
+	@Test
+	void warmUpRunsEveryStepBeforeReadiness() {
+		Map<String, Object> report = startupWarmup.getReport();
+		assertEquals("DONE", report.get("state"));
+		assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState());
+
+		@SuppressWarnings("unchecked")
+		List<StartupWarmup.Step> steps = (List<StartupWarmup.Step>) report.get("steps");
+		assertEquals(List.of("subjects", "today's attendance", "dashboard aggregates", "endpoints"),
+				steps.stream().map(StartupWarmup.Step::name).toList());
+		steps.forEach(step -> assertFalse(step.detail().startsWith("failed"), step.detail()));
+		// 5 iterations over the five endpoints that need no data
+		assertEquals("25 requests over 5 endpoints, 0 failed", steps.get(3).detail());
+	}
+}
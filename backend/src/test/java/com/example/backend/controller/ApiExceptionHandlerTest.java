@@ -0,0 +1,41 @@
+package com.example.backend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Which data access failures the handler answers with 503, resolved the way Spring MVC picks a handler
+class ApiExceptionHandlerTest {
+	private final ApiExceptionHandler handler = new ApiExceptionHandler();
+	private final ExceptionHandlerMethodResolver resolver = new ExceptionHandlerMethodResolver(ApiExceptionHandler.class);
+
+	@Test
+	void retryableFailuresAreUnavailable() throws Exception {
+		for (Exception e : new Exception[] { new DataAccessResourceFailureException("connection refused"),
+				new QueryTimeoutException("timeout"), new CannotAcquireLockException("lock wait timeout"),
+				new RecoverableDataAccessException("failover") }) {
+			Method method = resolver.resolveMethodByThrowable(e);
+			assertNotNull(method, e.getClass().getSimpleName());
+			ResponseEntity<?> response = (ResponseEntity<?>) method.invoke(handler, e);
+			assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+			assertEquals("5", response.getHeaders().getFirst("Retry-After"));
+		}
+	}
+
+	@Test
+	void otherDataAccessFailuresAreLeftToTheDefault500() {
+		assertNull(resolver.resolveMethodByThrowable(new InvalidDataAccessApiUsageException("bad query")));
+		assertNull(resolver.resolveMethodByThrowable(new IncorrectResultSizeDataAccessException(1, 2)));
+	}
+}
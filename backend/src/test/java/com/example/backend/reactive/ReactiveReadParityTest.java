@@ -0,0 +1,139 @@
+package com.example.backend.reactive;
+
+import com.example.backend.model.Attendance;
+import com.example.backend.model.AttendanceStatus;
+import com.example.backend.model.Student;
+import com.example.backend.model.Subject;
+import com.example.backend.model.User;
+import com.example.backend.model.UserRole;
+import com.example.backend.repo.StudentRepository;
+import com.example.backend.repo.SubjectRepository;
+import com.example.backend.repo.UserRepository;
+import com.example.backend.service.AttendanceService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The reactive reads must return exactly what the MVC/JPA reads return for the same data
+@SpringBootTest(properties = {
+		"app.seed.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=none",
+		"spring.jpa.show-sql=false"
+})
+@ActiveProfiles("reactive")
+@Testcontainers(disabledWithoutDocker = true)
+class ReactiveReadParityTest {
+	private static final String TENANT = "main";
+
+	@Container
+	@ServiceConnection
+	static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+	@DynamicPropertySource
+	static void r2dbcProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.r2dbc.url", () -> "r2dbc:mysql://" + mysql.getHost() + ":" + mysql.getMappedPort(3306)
+				+ "/" + mysql.getDatabaseName());
+		registry.add("spring.r2dbc.username", mysql::getUsername);
+		registry.add("spring.r2dbc.password", mysql::getPassword);
+	}
+
+	private static Long studentId;
+
+	@Autowired
+	private ReactiveReadService readService;
+
+	@Autowired
+	private AttendanceService attendanceService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private SubjectRepository subjectRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@BeforeEach
+	void seed() {
+		if (studentId == null) {
+			User teacher = userRepository.save(new User("teacher", "x", UserRole.TEACHER, "Teacher", "t@school.edu"));
+			Subject math = subjectRepository.save(new Subject("Math", "MATH101"));
+			Subject physics = subjectRepository.save(new Subject("Physics", "PHY601"));
+			subjectRepository.save(new Subject("History", null));
+			for (int i = 1; i <= 3; i++) {
+				User user = userRepository.save(new User("student" + i, "x", UserRole.STUDENT, "Student " + i, null));
+				Student student = studentRepository.save(new Student(user));
+				attendanceService.markAttendance(student.getId(), math.getId(), AttendanceStatus.PRESENT, teacher.getId());
+				attendanceService.markAttendance(student.getId(), physics.getId(),
+						i == 1 ? AttendanceStatus.ABSENT : AttendanceStatus.PRESENT, teacher.getId());
+				studentId = student.getId();
+			}
+		}
+		// Compare database state on both sides, not the L2 cache's copy of freshly saved entities
+		entityManagerFactory.getCache().evictAll();
+	}
+
+	@Test
+	void dashboardSummaryMatches() {
+		assertEquals(attendanceService.getDashboardSummary(), readService.getDashboardSummary(TENANT).block());
+	}
+
+	@Test
+	void subjectCountsMatch() {
+		assertEquals(attendanceService.getTodaySubjectWiseCounts(), readService.getTodaySubjectWiseCounts(TENANT).block());
+	}
+
+	@Test
+	void subjectsSerializeTheSame() {
+		assertEquals(json(subjectRepository.findAllOrderedByName()), json(readService.getSubjects(TENANT).collectList().block()));
+	}
+
+	@Test
+	void studentHistorySerializesTheSame() {
+		List<Attendance> mvc = attendanceService.getStudentAttendance(studentId).stream()
+				.sorted(Comparator.comparing(Attendance::getDate).thenComparing(Attendance::getId))
+				.toList();
+		assertFalse(mvc.isEmpty());
+		assertEquals(json(mvc), json(readService.getStudentAttendance(TENANT, studentId).collectList().block()));
+	}
+
+	@Test
+	void todaySerializesTheSame() {
+		List<Attendance> mvc = attendanceService.getTodayAttendance().stream()
+				.sorted(Comparator.comparing(Attendance::getId))
+				.toList();
+		assertEquals(json(mvc), json(readService.getTodayAttendance(TENANT).collectList().block()));
+	}
+
+	@Test
+	void unknownStudentHasNoHistory() {
+		assertEquals(List.of(), readService.getStudentAttendance(TENANT, -1L).collectList().block());
+	}
+
+	private JsonNode json(Object value) {
+		return objectMapper.valueToTree(value);
+	}
+}
@@ -0,0 +1,310 @@
+package com.example.backend.repo;
+
+import com.example.backend.model.Attendance;
+import com.example.backend.model.AttendanceStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs every attendance finder against a seeded MySQL built from the Flyway migrations, then EXPLAINs
+// the SQL Hibernate actually generated and fails if the attendance table is read with a full table or index scan.
+@SpringBootTest(properties = {
+		"app.seed.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=none",
+		"spring.jpa.show-sql=false",
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.backend.repo.SqlCapture"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class AttendanceRepositoryExplainTest {
+	private static final int STUDENTS = 200;
+	private static final int SUBJECTS = 6;
+	private static final int DAYS = 40;
+	private static final Pattern ATTENDANCE_ALIAS = Pattern.compile("\\battendance\\s+(\\w+)");
+	private static final Set<String> FULL_SCANS = Set.of("ALL", "index");
+	private static final Pattern TENANT_PARAM = Pattern.compile("(\\w+)\\.tenant_id\\s*=\\s*\\?");
+
+	@Container
+	@ServiceConnection
+	static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+	private static boolean seeded;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private AttendanceRepository attendanceRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final LocalDate today = LocalDate.now();
+
+	@BeforeEach
+	void seed() {
+		if (seeded) {
+			return;
+		}
+		jdbcTemplate.update("INSERT INTO users (username, password, role, name) VALUES ('teacher', 'x', 'TEACHER', 'Teacher')");
+		Long teacherId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'teacher'", Long.class);
+
+		for (int s = 1; s <= SUBJECTS; s++) {
+			jdbcTemplate.update("INSERT INTO subjects (name, code) VALUES (?, ?)", "Subject " + s, "S" + s);
+		}
+		for (int i = 1; i <= STUDENTS; i++) {
+			jdbcTemplate.update("INSERT INTO users (username, password, role, name) VALUES (?, 'x', 'STUDENT', ?)",
+					"student" + i, "Student " + i);
+		}
+		jdbcTemplate.update("INSERT INTO students (user_id, created_at) SELECT id, NOW(6) FROM users WHERE role = 'STUDENT'");
+
+		List<Long> studentIds = jdbcTemplate.queryForList("SELECT user_id FROM students", Long.class);
+		List<Long> subjectIds = jdbcTemplate.queryForList("SELECT id FROM subjects", Long.class);
+		List<Object[]> rows = new ArrayList<>();
+		for (int d = 0; d < DAYS; d++) {
+			LocalDate date = today.minusDays(d);
+			for (Long studentId : studentIds) {
+				for (Long subjectId : subjectIds) {
+					// Past presence has already been expired to ABSENT; only today's rows can be PRESENT
+					boolean present = d == 0 && (studentId + subjectId) % 3 != 0;
+					rows.add(new Object[] { studentId, subjectId, present ? "PRESENT" : "ABSENT", date,
+							present ? Timestamp.valueOf(LocalDateTime.now().minusHours(1)) : null, teacherId });
+				}
+			}
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO attendance (student_id, subject_id, status, attendance_date, marked_at, "
+				+ "marked_by, updated_at) VALUES (?, ?, ?, ?, ?, ?, NOW(6))", rows);
+		jdbcTemplate.update("UPDATE attendance SET change_seq = id");
+		jdbcTemplate.execute("ANALYZE TABLE attendance, students, subjects, users");
+		seeded = true;
+	}
+
+	@Test
+	void findByStudentIdAndSubjectIdAndDate() {
+		assertIndexed(() -> attendanceRepository.findByStudentIdAndSubjectIdAndDate(studentId(), subjectId(), today),
+				studentId(), subjectId(), today);
+	}
+
+	@Test
+	void findByStudentId() {
+		assertIndexed(() -> attendanceRepository.findByStudentId(studentId()), studentId());
+	}
+
+	@Test
+	void findByStudentIdAndDateBetween() {
+		LocalDate from = today.minusDays(7);
+		assertIndexed(() -> attendanceRepository.findByStudentIdAndDateBetween(studentId(), from, today),
+				studentId(), from, today);
+	}
+
+	@Test
+	void findBySubjectIdAndDate() {
+		assertIndexed(() -> attendanceRepository.findBySubjectIdAndDate(subjectId(), today), subjectId(), today);
+	}
+
+	@Test
+	void findForUpdateBySubject() {
+		Long subjectId = subjectId();
+		Long studentId = studentId();
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		assertIndexed(() -> transaction.executeWithoutResult(status ->
+				attendanceRepository.findForUpdateBySubject(subjectId, today, List.of(studentId))),
+				subjectId, today, studentId);
+	}
+
+	@Test
+	void findByDate() {
+		assertIndexed(() -> attendanceRepository.findByDate(today), today);
+	}
+
+	@Test
+	void findTodayAttendance() {
+		assertIndexed(() -> attendanceRepository.findTodayAttendance());
+	}
+
+	@Test
+	void countPresentStudentsByDate() {
+		assertIndexed(() -> attendanceRepository.countPresentStudentsByDate(today), today);
+	}
+
+	@Test
+	void countAttendanceBySubjectAndDate() {
+		assertIndexed(() -> attendanceRepository.countAttendanceBySubjectAndDate(today), today);
+	}
+
+	@Test
+	void findByStudentIdAndSubjectId() {
+		assertIndexed(() -> attendanceRepository.findByStudentIdAndSubjectId(studentId(), subjectId()),
+				studentId(), subjectId());
+	}
+
+	@Test
+	void findByStudentIdAndStatusAndDate() {
+		assertIndexed(() -> attendanceRepository.findByStudentIdAndStatusAndDate(studentId(), AttendanceStatus.PRESENT,
+				today), studentId(), "PRESENT", today);
+	}
+
+	@Test
+	void findForUpdateByStatusAndDate() {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		assertIndexed(() -> transaction.executeWithoutResult(status ->
+				attendanceRepository.findForUpdateByStatusAndDate(AttendanceStatus.PRESENT, today)), "PRESENT", today);
+	}
+
+	@Test
+	void countByStatusAndMarkedAtBefore() {
+		LocalDateTime cutoff = LocalDateTime.now().minusHours(12);
+		assertIndexed(() -> attendanceRepository.countByStatusAndMarkedAtBefore(AttendanceStatus.PRESENT, cutoff),
+				"PRESENT", Timestamp.valueOf(cutoff));
+	}
+
+	@Test
+	void findForUpdateByStatusAndMarkedAtBefore() {
+		LocalDateTime cutoff = LocalDateTime.now().minusHours(12);
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		assertIndexed(() -> transaction.executeWithoutResult(status -> attendanceRepository
+				.findForUpdateByStatusAndMarkedAtBefore(AttendanceStatus.PRESENT, cutoff, PageRequest.of(0, 100))),
+				"PRESENT", Timestamp.valueOf(cutoff), 100);
+	}
+
+	@Test
+	void findRecentAttendanceByStudentId() {
+		assertIndexed(() -> attendanceRepository.findRecentAttendanceByStudentId(studentId()), studentId());
+	}
+
+	@Test
+	void findAttendanceByDateRange() {
+		LocalDate from = today.minusDays(2);
+		assertIndexed(() -> attendanceRepository.findAttendanceByDateRange(from, today), from, today);
+	}
+
+	@Test
+	void findRollCall() {
+		// The date binds first: it sits in the attendance join, the subject in the WHERE clause
+		assertIndexed(() -> studentRepository.findRollCall(subjectId(), today), today, subjectId());
+	}
+
+	@Test
+	void findChangesAfter() {
+		Long since = jdbcTemplate.queryForObject("SELECT MAX(change_seq) - 100 FROM attendance", Long.class);
+		assertIndexed(() -> attendanceRepository.findChangesAfter(since, 0L, PageRequest.of(0, 51)),
+				since, since, 0L, 51);
+	}
+
+	@Test
+	void streamSubjectAttendance() {
+		LocalDate from = today.minusDays(30);
+		Long subjectId = subjectId();
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		assertIndexed(() -> transaction.executeWithoutResult(status -> {
+			try (Stream<Object[]> rows = attendanceRepository.streamSubjectAttendance(subjectId, from, today)) {
+				rows.count();
+			}
+		}), subjectId, from, today);
+	}
+
+	@Test
+	void streamByStudentId() {
+		Long studentId = studentId();
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		assertIndexed(() -> transaction.executeWithoutResult(status -> {
+			try (Stream<Attendance> rows = attendanceRepository.streamByStudentId(studentId)) {
+				rows.count();
+			}
+		}), studentId);
+	}
+
+	@Test
+	void streamByDate() {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		assertIndexed(() -> transaction.executeWithoutResult(status -> {
+			try (Stream<Attendance> rows = attendanceRepository.streamByDate(today)) {
+				rows.count();
+			}
+		}), today);
+	}
+
+	@Test
+	void countMarkedStudentsByDate() {
+		assertIndexed(() -> attendanceRepository.countMarkedStudentsByDate(today), today);
+	}
+
+	@Test
+	void countMissingSessions() {
+		assertIndexed(() -> attendanceRepository.countMissingSessions("main", today), "main", today);
+	}
+
+	// countPresentAndTotalByStudentAndSubject is intentionally excluded: it is the one-off tally
+	// bootstrap and aggregates the whole table by design.
+
+	private Long studentId() {
+		return jdbcTemplate.queryForObject("SELECT MIN(user_id) FROM students", Long.class);
+	}
+
+	private Long subjectId() {
+		return jdbcTemplate.queryForObject("SELECT MIN(id) FROM subjects", Long.class);
+	}
+
+	private void assertIndexed(Runnable query, Object... params) {
+		SqlCapture.clear();
+		query.run();
+		// Hibernate binds the tenant restriction of every entity as an extra parameter; inline it so the
+		// positional params below only cover the query's own
+		String sql = TENANT_PARAM.matcher(SqlCapture.first()).replaceAll("$1.tenant_id='main'");
+
+		Set<String> aliases = new HashSet<>();
+		Matcher m = ATTENDANCE_ALIAS.matcher(sql);
+		while (m.find()) {
+			aliases.add(m.group(1));
+		}
+		assertFalse(aliases.isEmpty(), "query does not read attendance: " + sql);
+
+		jdbcTemplate.execute((Connection connection) -> {
+			try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + sql)) {
+				for (int i = 0; i < params.length; i++) {
+					ps.setObject(i + 1, params[i]);
+				}
+				try (ResultSet rs = ps.executeQuery()) {
+					while (rs.next()) {
+						String table = rs.getString("table");
+						String type = rs.getString("type");
+						if (aliases.contains(table)) {
+							// "index" walks the whole index, which is a full scan too, just of a narrower tree
+							assertFalse(FULL_SCANS.contains(type), "full scan (" + type + ") of attendance for: "
+									+ sql + " (possible keys: " + rs.getString("possible_keys") + ")");
+							assertNotNull(rs.getString("key"), "no index used for: " + sql);
+						}
+					}
+				}
+			}
+			return null;
+		});
+	}
+}
@@ -0,0 +1,28 @@
+package com.example.backend.repo;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Records the SQL Hibernate sends, so tests can EXPLAIN exactly what the repositories run
+public class SqlCapture implements StatementInspector {
+	private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+	@Override
+	public String inspect(String sql) {
+		STATEMENTS.add(sql);
+		return sql;
+	}
+
+	public static void clear() {
+		STATEMENTS.clear();
+	}
+
+	public static String first() {
+		if (STATEMENTS.isEmpty()) {
+			throw new IllegalStateException("No SQL captured");
+		}
+		return STATEMENTS.get(0);
+	}
+}
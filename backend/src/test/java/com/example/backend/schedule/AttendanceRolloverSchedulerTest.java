@@ -0,0 +1,231 @@
+package com.example.backend.schedule;
+
+import com.example.backend.dto.MarkCommand;
+import com.example.backend.dto.SubjectPercentage;
+import com.example.backend.model.Attendance;
+import com.example.backend.model.AttendanceStatus;
+import com.example.backend.model.Student;
+import com.example.backend.model.Subject;
+import com.example.backend.model.User;
+import com.example.backend.model.UserRole;
+import com.example.backend.repo.AttendanceRepository;
+import com.example.backend.repo.AttendanceTallyRepository;
+import com.example.backend.repo.StudentRepository;
+import com.example.backend.repo.SubjectRepository;
+import com.example.backend.repo.UserRepository;
+import com.example.backend.service.AttendanceMonthService;
+import com.example.backend.service.AttendanceService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Every day is a school day here, so the test does not depend on the weekday it runs on
+@SpringBootTest(properties = {
+		"app.seed.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=none",
+		"spring.jpa.show-sql=false",
+		"attendance.rollover.school-days=MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY,SATURDAY,SUNDAY"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class AttendanceRolloverSchedulerTest {
+
+	@Container
+	@ServiceConnection
+	static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+	@Autowired
+	private AttendanceRolloverScheduler scheduler;
+
+	@Autowired
+	private AttendanceService attendanceService;
+
+	@Autowired
+	private AttendanceMonthService monthService;
+
+	@Autowired
+	private AttendanceRepository attendanceRepository;
+
+	@Autowired
+	private AttendanceTallyRepository tallyRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private SubjectRepository subjectRepository;
+
+	@Test
+	void rolloverPreCreatesAbsentRowsAndMarkingUpdatesThem() {
+		LocalDate today = LocalDate.now();
+		User teacher = userRepository.save(new User("teacher", "x", UserRole.TEACHER, "Teacher", null));
+		Subject math = subjectRepository.save(new Subject("Math", "MATH101"));
+		Subject physics = subjectRepository.save(new Subject("Physics", "PHY601"));
+		Student ann = studentRepository.save(new Student(userRepository.save(
+				new User("ann", "x", UserRole.STUDENT, "Ann", null))));
+		Student bob = studentRepository.save(new Student(userRepository.save(
+				new User("bob", "x", UserRole.STUDENT, "Bob", null))));
+		// Marked before the rollover ran: keeps its row
+		Attendance early = attendanceService.markAttendance(ann.getId(), math.getId(), AttendanceStatus.PRESENT,
+				teacher.getId());
+
+		scheduler.rollover();
+		scheduler.rollover(); // idempotent
+
+		// The other test's students and subject may be on the same day
+		Set<Long> students = Set.of(ann.getId(), bob.getId());
+		Set<Long> subjects = Set.of(math.getId(), physics.getId());
+		List<Attendance> rows = attendanceService.getTodayAttendance().stream()
+				.filter(a -> students.contains(a.getStudent().getId()) && subjects.contains(a.getSubject().getId()))
+				.toList();
+		assertEquals(4, rows.size());
+		assertEquals(3, rows.stream().filter(a -> a.getMarkedBy() == null).count());
+		assertTrue(rows.stream().filter(a -> a.getMarkedBy() == null)
+				.allMatch(a -> a.getStatus() == AttendanceStatus.ABSENT && a.getChangeSeq() != null));
+		assertEquals(early.getId(), attendanceRepository.findByStudentIdAndSubjectIdAndDate(ann.getId(), math.getId(),
+				today).orElseThrow().getId());
+
+		// Pre-created rows count nowhere until a teacher marks them
+		assertTrue(tallyRepository.findByStudentIdAndSubjectId(bob.getId(), physics.getId()).isEmpty());
+		assertEquals(0, monthService.getPercentages(bob.getId(), today, today).stream()
+				.mapToLong(p -> p.total()).sum());
+		assertTrue(studentRepository.findRollCall(physics.getId(), today).stream().allMatch(row -> row[2] == null));
+		assertEquals(0L, attendanceService.getDashboardSummary().get("absentTotal"));
+
+		// Marking a pre-created row updates it in place, records the teacher and makes it a session, even
+		// when the status stays ABSENT
+		Attendance skeleton = attendanceRepository.findByStudentIdAndSubjectIdAndDate(bob.getId(), physics.getId(), today)
+				.orElseThrow();
+		Attendance marked = attendanceService.markAttendance(bob.getId(), physics.getId(), AttendanceStatus.ABSENT,
+				teacher.getId());
+		assertEquals(skeleton.getId(), marked.getId());
+		assertEquals(teacher.getId(), marked.getMarkedBy().getId());
+		List<SubjectPercentage> percentages = monthService.getPercentages(bob.getId(), today, today);
+		assertEquals(1, percentages.stream().mapToLong(p -> p.total()).sum());
+		assertEquals(0, percentages.stream().mapToLong(p -> p.present()).sum());
+		assertEquals(1L, attendanceService.getDashboardSummary().get("absentTotal"));
+	}
+
+	@Test
+	void marksDuringTheRolloverDoNotCollideWithIt() throws Exception {
+		LocalDate today = LocalDate.now();
+		User teacher = userRepository.save(new User("race-teacher", "x", UserRole.TEACHER, "Teacher", null));
+		Subject subject = subjectRepository.save(new Subject("Race", "RACE101"));
+		List<Student> students = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			students.add(studentRepository.save(new Student(userRepository.save(
+					new User("race" + i, "x", UserRole.STUDENT, "Student " + i, null)))));
+		}
+
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<?> rollover = executor.submit(() -> {
+				start.await();
+				scheduler.rollover();
+				return null;
+			});
+			Future<?> marks = executor.submit(() -> {
+				start.await();
+				for (Student student : students) {
+					attendanceService.markAttendance(student.getId(), subject.getId(), AttendanceStatus.PRESENT,
+							teacher.getId());
+				}
+				return null;
+			});
+			start.countDown();
+			rollover.get();
+			marks.get();
+		} finally {
+			executor.shutdown();
+		}
+
+		for (Student student : students) {
+			Attendance row = attendanceRepository.findByStudentIdAndSubjectIdAndDate(student.getId(), subject.getId(),
+					today).orElseThrow();
+			assertEquals(AttendanceStatus.PRESENT, row.getStatus());
+			assertEquals(teacher.getId(), row.getMarkedBy().getId());
+		}
+	}
+
+	// Marks and batch marks of rows the rollover is creating lock the sequence row and the attendance row in the same
+	// order as the rollover; with the opposite order one side fails as a deadlock victim
+	@Test
+	void concurrentMarksAndRolloverDoNotDeadlock() throws Exception {
+		LocalDate today = LocalDate.now();
+		User teacher = userRepository.save(new User("lock-teacher", "x", UserRole.TEACHER, "Teacher", null));
+		List<Student> students = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			students.add(studentRepository.save(new Student(userRepository.save(
+					new User("lock" + i, "x", UserRole.STUDENT, "Student " + i, null)))));
+		}
+
+		int markers = 4;
+		ExecutorService executor = Executors.newFixedThreadPool(markers + 1);
+		try {
+			// Each round adds a subject, so the rollover has a full set of rows to insert again
+			for (int round = 0; round < 5; round++) {
+				Subject subject = subjectRepository.save(new Subject("Lock " + round, "LOCK10" + round));
+				CountDownLatch start = new CountDownLatch(1);
+				List<Future<?>> futures = new ArrayList<>();
+				futures.add(executor.submit(() -> {
+					start.await();
+					scheduler.rollover();
+					return null;
+				}));
+				// Half of the markers go through the group-commit batch path
+				for (int m = 0; m < markers; m++) {
+					int offset = m;
+					boolean batched = m % 2 == 1;
+					futures.add(executor.submit(() -> {
+						start.await();
+						List<MarkCommand> batch = new ArrayList<>();
+						for (int i = offset; i < students.size(); i += markers) {
+							if (batched) {
+								batch.add(new MarkCommand(students.get(i).getId(), subject.getId(),
+										AttendanceStatus.PRESENT, teacher.getId()));
+							} else {
+								attendanceService.markAttendance(students.get(i).getId(), subject.getId(),
+										AttendanceStatus.PRESENT, teacher.getId());
+							}
+						}
+						if (batched) {
+							assertEquals(batch.size(), attendanceService.markAttendanceBatch(batch));
+						}
+						return null;
+					}));
+				}
+				start.countDown();
+				for (Future<?> future : futures) {
+					future.get();
+				}
+
+				for (Student student : students) {
+					Attendance row = attendanceRepository.findByStudentIdAndSubjectIdAndDate(student.getId(),
+							subject.getId(), today).orElseThrow();
+					assertEquals(AttendanceStatus.PRESENT, row.getStatus());
+					assertEquals(teacher.getId(), row.getMarkedBy().getId());
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,134 @@
+package com.example.backend.service;
+
+import com.example.backend.service.AdmissionLimiter.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Limit 10: marking may use all 10 slots, login 9, dashboard 7, reports 5
+class AdmissionLimiterTest {
+	private static final long RTT_10_MS = TimeUnit.MILLISECONDS.toNanos(10);
+	private static final long RTT_100_MS = TimeUnit.MILLISECONDS.toNanos(100);
+
+	@Test
+	void lowerClassesAreShedFirst() throws Exception {
+		AdmissionLimiter limiter = new AdmissionLimiter(10, 4, 200, 20, 10);
+
+		acquire(limiter, Priority.REPORT, 5);
+		assertFalse(limiter.tryAcquire(Priority.REPORT));
+		acquire(limiter, Priority.DASHBOARD, 2);
+		assertFalse(limiter.tryAcquire(Priority.DASHBOARD));
+		acquire(limiter, Priority.LOGIN, 2);
+		assertFalse(limiter.tryAcquire(Priority.LOGIN)); // waited its 20 ms in the queue
+		acquire(limiter, Priority.MARKING, 1);
+		assertFalse(limiter.tryAcquire(Priority.MARKING));
+
+		assertEquals(10, limiter.getStats().get("inFlight"));
+		assertEquals(1L, counters(limiter, Priority.REPORT).get("shed"));
+		assertEquals(0L, counters(limiter, Priority.REPORT).get("queued"));
+		assertEquals(1L, counters(limiter, Priority.LOGIN).get("queued"));
+		assertEquals(1L, counters(limiter, Priority.MARKING).get("shed"));
+	}
+
+	@Test
+	void markingWaitsForAFreedSlot() throws Exception {
+		AdmissionLimiter limiter = new AdmissionLimiter(10, 4, 200, 5_000, 10);
+		acquire(limiter, Priority.MARKING, 10);
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Boolean> waiting = executor.submit(() -> limiter.tryAcquire(Priority.MARKING));
+			while (!Integer.valueOf(1).equals(limiter.getStats().get("queued"))) {
+				Thread.sleep(1);
+			}
+			// Dashboards are never queued, even with a marking request waiting
+			assertFalse(limiter.tryAcquire(Priority.DASHBOARD));
+
+			limiter.release(RTT_10_MS);
+			assertTrue(waiting.get(5, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(10, limiter.getStats().get("inFlight"));
+		assertEquals(0, limiter.getStats().get("queued"));
+		assertEquals(11L, counters(limiter, Priority.MARKING).get("admitted"));
+	}
+
+	@Test
+	void fullQueueShedsInsteadOfWaiting() throws Exception {
+		AdmissionLimiter limiter = new AdmissionLimiter(10, 4, 200, 5_000, 0);
+		acquire(limiter, Priority.MARKING, 10);
+
+		long start = System.nanoTime();
+		assertFalse(limiter.tryAcquire(Priority.MARKING));
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+		assertEquals(0L, counters(limiter, Priority.MARKING).get("queued"));
+	}
+
+	@Test
+	void limitGrowsWhileLatencyStaysAtTheBaseline() throws Exception {
+		AdmissionLimiter limiter = new AdmissionLimiter(10, 4, 200, 20, 10);
+		double before = limit(limiter);
+
+		runAtLimit(limiter, RTT_10_MS, 200);
+
+		assertTrue(limit(limiter) > before, "limit " + limit(limiter));
+		assertTrue(limit(limiter) <= 200);
+	}
+
+	@Test
+	void limitShrinksWhenLatencyRisesAndRecoversAfterwards() throws Exception {
+		AdmissionLimiter limiter = new AdmissionLimiter(40, 4, 200, 20, 10);
+		runAtLimit(limiter, RTT_10_MS, 50);
+		double healthy = limit(limiter);
+
+		runAtLimit(limiter, RTT_100_MS, 50);
+		double slow = limit(limiter);
+		assertTrue(slow < healthy, healthy + " -> " + slow);
+		assertTrue(slow >= 4);
+
+		// Back to fast responses: the baseline is pulled down and the limit climbs again
+		runAtLimit(limiter, RTT_10_MS, 300);
+		assertTrue(limit(limiter) > slow, slow + " -> " + limit(limiter));
+	}
+
+	// Keeps every report slot busy (half the limit, enough for the limit to count as tested), completing
+	// requests with the given latency
+	private static void runAtLimit(AdmissionLimiter limiter, long rttNanos, int requests) throws Exception {
+		int held = 0;
+		while (limiter.tryAcquire(Priority.REPORT)) {
+			held++;
+		}
+		for (int i = 0; i < requests; i++) {
+			limiter.release(rttNanos);
+			held--;
+			while (limiter.tryAcquire(Priority.REPORT)) {
+				held++;
+			}
+		}
+		for (; held > 0; held--) {
+			limiter.release(-1);
+		}
+	}
+
+	private static void acquire(AdmissionLimiter limiter, Priority priority, int count) throws Exception {
+		for (int i = 0; i < count; i++) {
+			assertTrue(limiter.tryAcquire(priority), priority + " #" + (i + 1));
+		}
+	}
+
+	private static double limit(AdmissionLimiter limiter) {
+		return (Double) limiter.getStats().get("limit");
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> counters(AdmissionLimiter limiter, Priority priority) {
+		return ((Map<String, Map<String, Object>>) limiter.getStats().get("classes")).get(priority.name());
+	}
+}
@@ -0,0 +1,186 @@
+package com.example.backend.service;
+
+import com.example.backend.event.AttendanceChangedEvent;
+import com.example.backend.model.AttendanceAlert;
+import com.example.backend.model.AttendanceStatus;
+import com.example.backend.model.AttendanceTally;
+import com.example.backend.model.Student;
+import com.example.backend.model.Subject;
+import com.example.backend.model.User;
+import com.example.backend.model.UserRole;
+import com.example.backend.repo.AttendanceAlertRepository;
+import com.example.backend.repo.AttendanceTallyRepository;
+import com.example.backend.repo.StudentRepository;
+import com.example.backend.repo.SubjectRepository;
+import com.example.backend.repo.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Threshold 75% from 4 sessions on. Events are applied through the service's own method, each in its own
+// transaction like the async listener, so the test decides their order (or lets them race).
+@SpringBootTest(properties = {
+		"app.seed.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=none",
+		"spring.jpa.show-sql=false",
+		"attendance.alerts.threshold=0.75",
+		"attendance.alerts.min-sessions=4"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class AttendanceAlertServiceTest {
+
+	@Container
+	@ServiceConnection
+	static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+	@Autowired
+	private AttendanceAlertService alertService;
+
+	@Autowired
+	private AttendanceTallyRepository tallyRepository;
+
+	@Autowired
+	private AttendanceAlertRepository alertRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private SubjectRepository subjectRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void alertIsRaisedWhenCrossingDownAndResolvedWhenCrossingBackUp() {
+		Long student = student("alert-ann");
+		Long subject = subject("ALERT1");
+
+		for (int i = 0; i < 4; i++) {
+			apply(student, subject, null, AttendanceStatus.PRESENT);
+		}
+		// 4 of 5 is still 80%
+		apply(student, subject, null, AttendanceStatus.ABSENT);
+		assertTrue(alerts(student, subject).isEmpty());
+
+		// 4 of 6: crosses below 75%
+		apply(student, subject, null, AttendanceStatus.ABSENT);
+		assertTally(student, subject, 4, 6);
+		assertEquals(1, openAlerts(student, subject).size());
+		assertEquals(4, openAlerts(student, subject).get(0).getPresentCount());
+		assertEquals(6, openAlerts(student, subject).get(0).getTotalCount());
+
+		// Staying below raises nothing new
+		apply(student, subject, null, AttendanceStatus.ABSENT);
+		assertEquals(1, alerts(student, subject).size());
+
+		// Corrections: 5 of 7 is still below, 6 of 7 crosses back up and resolves the alert
+		apply(student, subject, AttendanceStatus.ABSENT, AttendanceStatus.PRESENT);
+		assertEquals(1, openAlerts(student, subject).size());
+		apply(student, subject, AttendanceStatus.ABSENT, AttendanceStatus.PRESENT);
+		assertTally(student, subject, 6, 7);
+		assertTrue(openAlerts(student, subject).isEmpty());
+		AttendanceAlert resolved = alerts(student, subject).get(0);
+		assertNotNull(resolved.getResolvedAt());
+		assertEquals(6, resolved.getPresentCount());
+
+		// Dropping again opens a second alert, still only one open at a time
+		apply(student, subject, AttendanceStatus.PRESENT, AttendanceStatus.ABSENT);
+		assertEquals(2, alerts(student, subject).size());
+		assertEquals(1, openAlerts(student, subject).size());
+	}
+
+	@Test
+	void eventsThatChangeNoStatusAreIgnored() {
+		Long student = student("alert-bob");
+		Long subject = subject("ALERT2");
+
+		apply(student, subject, null, AttendanceStatus.PRESENT);
+		apply(student, subject, AttendanceStatus.PRESENT, AttendanceStatus.PRESENT);
+		assertTally(student, subject, 1, 1);
+	}
+
+	@Test
+	void concurrentEventsForOnePairCountEveryChangeAndRaiseOneAlert() throws Exception {
+		Long student = student("alert-cid");
+		Long subject = subject("ALERT3");
+		for (int i = 0; i < 4; i++) {
+			apply(student, subject, null, AttendanceStatus.PRESENT);
+		}
+
+		int events = 24;
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < events; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					apply(student, subject, null, AttendanceStatus.ABSENT);
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertTally(student, subject, 4, 4 + events);
+		assertEquals(1, alerts(student, subject).size());
+		assertEquals(1, openAlerts(student, subject).size());
+	}
+
+	private void apply(Long studentId, Long subjectId, AttendanceStatus previous, AttendanceStatus status) {
+		AttendanceAlertService target = AopTestUtils.getUltimateTargetObject(alertService);
+		new TransactionTemplate(transactionManager).executeWithoutResult(tx -> target.onAttendanceChanged(
+				new AttendanceChangedEvent(null, studentId, subjectId, LocalDate.now(), previous, status)));
+	}
+
+	private void assertTally(Long studentId, Long subjectId, long present, long total) {
+		AttendanceTally tally = tallyRepository.findByStudentIdAndSubjectId(studentId, subjectId).orElseThrow();
+		assertEquals(present, tally.getPresentCount());
+		assertEquals(total, tally.getTotalCount());
+	}
+
+	private List<AttendanceAlert> alerts(Long studentId, Long subjectId) {
+		return alertRepository.findAll().stream()
+				.filter(a -> a.getStudent().getId().equals(studentId) && a.getSubject().getId().equals(subjectId))
+				.toList();
+	}
+
+	private List<AttendanceAlert> openAlerts(Long studentId, Long subjectId) {
+		return alerts(studentId, subjectId).stream().filter(a -> a.getResolvedAt() == null).toList();
+	}
+
+	private Long student(String username) {
+		User user = userRepository.save(new User(username, "x", UserRole.STUDENT, username, null));
+		return studentRepository.save(new Student(user)).getId();
+	}
+
+	private Long subject(String code) {
+		return subjectRepository.save(new Subject(code, code)).getId();
+	}
+}
@@ -0,0 +1,160 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.AttendanceCalendar;
+import com.example.backend.dto.MonthlyAttendance;
+import com.example.backend.dto.SubjectPercentage;
+import com.example.backend.exception.InvalidRequestException;
+import com.example.backend.exception.NotFoundException;
+import com.example.backend.model.AttendanceStatus;
+import com.example.backend.model.Student;
+import com.example.backend.model.Subject;
+import com.example.backend.model.User;
+import com.example.backend.model.UserRole;
+import com.example.backend.repo.AttendanceMonthRepository;
+import com.example.backend.repo.StudentRepository;
+import com.example.backend.repo.SubjectRepository;
+import com.example.backend.repo.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The month bitsets must always describe the same attendance as the detailed rows
+@SpringBootTest(properties = {
+		"app.seed.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=none",
+		"spring.jpa.show-sql=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class AttendanceMonthServiceTest {
+
+	@Container
+	@ServiceConnection
+	static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+	@Autowired
+	private AttendanceMonthService monthService;
+
+	@Autowired
+	private AttendanceMonthRepository monthRepository;
+
+	@Autowired
+	private AttendanceService attendanceService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private SubjectRepository subjectRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void markingUpdatesTodaysBit() {
+		Fixture f = fixture("mark");
+		LocalDate today = LocalDate.now();
+
+		attendanceService.markAttendance(f.student, f.subject, AttendanceStatus.PRESENT, f.teacher);
+		assertEquals('P', dayOf(monthService.getHistory(f.student, today, today), today));
+
+		attendanceService.markAttendance(f.student, f.subject, AttendanceStatus.ABSENT, f.teacher);
+		assertEquals('A', dayOf(monthService.getHistory(f.student, today, today), today));
+
+		AttendanceCalendar calendar = monthService.getCalendar(f.student, today, today);
+		assertArrayEquals(new int[] { 1 }, calendar.marked());
+		assertArrayEquals(new int[] { 0 }, calendar.present());
+	}
+
+	@Test
+	void rebuildMatchesDetailedRows() {
+		Fixture f = fixture("rebuild");
+		LocalDate from = LocalDate.of(2025, 1, 30);
+		// Crosses two month boundaries, including a 28-day February
+		for (LocalDate day = from; !day.isAfter(LocalDate.of(2025, 3, 31)); day = day.plusDays(1)) {
+			insert(f, day, day.getDayOfMonth() % 3 == 0 ? "ABSENT" : "PRESENT");
+		}
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> monthRepository.rebuildAll());
+
+		LocalDate to = LocalDate.of(2025, 3, 15);
+		List<SubjectPercentage> percentages = monthService.getPercentages(f.student, from, to);
+		assertEquals(1, percentages.size());
+		assertEquals(count(f, from, to, "PRESENT"), percentages.get(0).present());
+		assertEquals(count(f, from, to, null), percentages.get(0).total());
+
+		List<MonthlyAttendance> history = monthService.getHistory(f.student, from, to);
+		assertEquals(List.of(YearMonth.of(2025, 1), YearMonth.of(2025, 2), YearMonth.of(2025, 3)),
+				history.stream().map(MonthlyAttendance::month).toList());
+		assertEquals("-----------------------------AP", history.get(0).days());
+		assertEquals(28, history.get(1).days().length());
+		assertEquals("PPAPPAPPAPPAPPA----------------", history.get(2).days());
+
+		AttendanceCalendar calendar = monthService.getCalendar(f.student, from, to);
+		assertEquals(count(f, from, to, null), sum(calendar.marked()));
+		assertEquals(count(f, from, to, "PRESENT"), sum(calendar.present()));
+	}
+
+	@Test
+	void rangeIsLimited() {
+		Fixture f = fixture("range");
+		LocalDate to = LocalDate.now();
+		assertThrows(InvalidRequestException.class,
+				() -> monthService.getHistory(f.student, to.minusMonths(AttendanceMonthService.MAX_MONTHS), to));
+		assertThrows(InvalidRequestException.class, () -> monthService.getHistory(f.student, to, to.minusDays(1)));
+		assertThrows(NotFoundException.class, () -> monthService.getHistory(-1L, to, to));
+	}
+
+	private record Fixture(Long student, Long subject, Long teacher) {
+	}
+
+	private Fixture fixture(String prefix) {
+		User teacher = userRepository.save(new User(prefix + "-teacher", "x", UserRole.TEACHER, "Teacher", null));
+		User user = userRepository.save(new User(prefix + "-student", "x", UserRole.STUDENT, "Student", null));
+		Student student = studentRepository.save(new Student(user));
+		Subject subject = subjectRepository.save(new Subject(prefix + " subject", prefix.toUpperCase()));
+		return new Fixture(student.getId(), subject.getId(), teacher.getId());
+	}
+
+	private void insert(Fixture f, LocalDate day, String status) {
+		jdbcTemplate.update("INSERT INTO attendance (student_id, subject_id, status, attendance_date, marked_by) "
+				+ "VALUES (?, ?, ?, ?, ?)", f.student, f.subject, status, day, f.teacher);
+	}
+
+	private long count(Fixture f, LocalDate from, LocalDate to, String status) {
+		Long n = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance WHERE student_id = ? AND subject_id = ? "
+				+ "AND attendance_date BETWEEN ? AND ? AND (? IS NULL OR status = ?)",
+				Long.class, f.student, f.subject, from, to, status, status);
+		return n == null ? 0 : n;
+	}
+
+	private static char dayOf(List<MonthlyAttendance> history, LocalDate day) {
+		assertEquals(1, history.size());
+		return history.get(0).days().charAt(day.getDayOfMonth() - 1);
+	}
+
+	private static long sum(int[] values) {
+		long total = 0;
+		for (int v : values) {
+			total += v;
+		}
+		return total;
+	}
+}
@@ -0,0 +1,144 @@
+package com.example.backend.service;
+
+import com.example.backend.event.AttendanceChangedEvent;
+import com.example.backend.event.UserChangedEvent;
+import com.example.backend.model.Student;
+import com.example.backend.model.Subject;
+import com.example.backend.model.User;
+import com.example.backend.tenant.TenancyProperties;
+import com.example.backend.tenant.TenantContext;
+import com.example.backend.tenant.TenantRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Two instances ("nodes") wired to the in-memory transport; each tick is one poll interval
+class CacheInvalidationBusTest {
+	private final TenantRegistry tenantRegistry =
+			new TenantRegistry(new TenancyProperties("main", Map.of("north", "main"), null));
+	private Node a;
+	private Node b;
+
+	@BeforeEach
+	void setUp() {
+		LocalInvalidationTransport.reset();
+		a = new Node(new LocalInvalidationTransport());
+		b = new Node(new LocalInvalidationTransport());
+		a.bus.tick();
+		b.bus.tick();
+	}
+
+	@Test
+	void userChangeDropsUserCachesOnTheOtherNode() {
+		a.bus.onUserChanged(new UserChangedEvent(7L));
+		a.bus.tick();
+		b.bus.tick();
+
+		verify(b.secondLevelCache).evictEntityData(User.class);
+		verify(b.secondLevelCache).evictEntityData(Student.class);
+		verify(b.studentDirectoryService).scheduleRebuild();
+		verify(b.dashboardReadService).usersChanged();
+		// The writer's own caches were refreshed by its local listeners
+		a.bus.tick();
+		verifyNoInteractions(a.secondLevelCache, a.studentDirectoryService, a.dashboardReadService);
+	}
+
+	@Test
+	void burstOfMarksIsOneInvalidation() {
+		for (long i = 0; i < 500; i++) {
+			a.bus.onAttendanceChanged(new AttendanceChangedEvent(i, i, 1L, null, null, null));
+		}
+		a.bus.tick();
+		b.bus.tick();
+		b.bus.tick();
+
+		assertEquals(1L, a.bus.getStats().get("published"));
+		verify(b.dashboardReadService, times(1)).attendanceChanged();
+		verifyNoInteractions(b.secondLevelCache, b.studentDirectoryService);
+	}
+
+	@Test
+	void invalidationsStayWithinTheirTenant() {
+		TenantContext.run("north", a.bus::subjectsChanged);
+		a.bus.tick();
+		b.bus.tick();
+
+		verify(b.secondLevelCache, times(1)).evictEntityData(Subject.class);
+		verify(b.dashboardReadService, times(1)).subjectsChanged();
+		assertEquals(1L, b.bus.getStats().get("received"));
+	}
+
+	@Test
+	void writesOnBothNodesInvalidateBoth() {
+		a.bus.onUserChanged(new UserChangedEvent(1L));
+		b.bus.onUserChanged(new UserChangedEvent(2L));
+		a.bus.tick();
+		b.bus.tick();
+		a.bus.tick();
+
+		verify(a.dashboardReadService).usersChanged();
+		verify(b.dashboardReadService).usersChanged();
+	}
+
+	@Test
+	void failedPublishIsRetriedOnTheNextTick() {
+		FlakyTransport flaky = new FlakyTransport();
+		Node writer = new Node(flaky);
+		writer.bus.tick();
+		writer.bus.subjectsChanged();
+
+		flaky.down = true;
+		writer.bus.tick();
+		b.bus.tick();
+		verifyNoInteractions(b.dashboardReadService);
+		assertEquals(1L, writer.bus.getStats().get("failures"));
+
+		flaky.down = false;
+		writer.bus.tick();
+		b.bus.tick();
+		verify(b.dashboardReadService).subjectsChanged();
+	}
+
+	private class Node {
+		final Cache secondLevelCache = mock(Cache.class);
+		final DashboardReadService dashboardReadService = mock(DashboardReadService.class);
+		final StudentDirectoryService studentDirectoryService = mock(StudentDirectoryService.class);
+		final CacheInvalidationBus bus;
+
+		Node(InvalidationTransport transport) {
+			SessionFactory sessionFactory = mock(SessionFactory.class);
+			when(sessionFactory.getCache()).thenReturn(secondLevelCache);
+			EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+			when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+			bus = new CacheInvalidationBus(transport, tenantRegistry, dashboardReadService, studentDirectoryService,
+					entityManagerFactory, true, 500);
+		}
+	}
+
+	private static class FlakyTransport implements InvalidationTransport {
+		private final LocalInvalidationTransport delegate = new LocalInvalidationTransport();
+		volatile boolean down;
+
+		@Override
+		public void publish(String origin, Collection<String> entities) {
+			if (down) {
+				throw new IllegalStateException("Connection refused");
+			}
+			delegate.publish(origin, entities);
+		}
+
+		@Override
+		public List<Version> versions() {
+			return delegate.versions();
+		}
+	}
+}
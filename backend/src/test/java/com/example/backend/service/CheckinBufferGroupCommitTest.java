@@ -0,0 +1,100 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.MarkCommand;
+import com.example.backend.model.AttendanceStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The check-in burst against MySQL: every batch takes the attendance change-sequence row lock, and a teacher
+// marking another subject by hand keeps taking the same lock while the check-ins are written
+@SpringBootTest(properties = {
+		"app.seed.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=none",
+		"spring.jpa.show-sql=false",
+		"attendance.wal.dir=target/test-wal"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class CheckinBufferGroupCommitTest {
+	private static final int STUDENTS = 2_000;
+
+	@Container
+	@ServiceConnection
+	static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+	@Autowired
+	private CheckinBuffer checkinBuffer;
+
+	@Autowired
+	private AttendanceService attendanceService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void burstIsGroupCommittedAlongsideManualMarks() throws Exception {
+		jdbcTemplate.update("INSERT INTO users (username, password, role, name) VALUES ('burst-teacher', 'x', 'TEACHER', 'Teacher')");
+		Long teacherId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'burst-teacher'", Long.class);
+		jdbcTemplate.update("INSERT INTO subjects (name, code) VALUES ('Burst lecture', 'BURST1'), ('Burst lab', 'BURST2')");
+		Long lecture = jdbcTemplate.queryForObject("SELECT id FROM subjects WHERE code = 'BURST1'", Long.class);
+		Long lab = jdbcTemplate.queryForObject("SELECT id FROM subjects WHERE code = 'BURST2'", Long.class);
+		jdbcTemplate.batchUpdate("INSERT INTO users (username, password, role, name) VALUES (?, 'x', 'STUDENT', ?)",
+				IntStream.rangeClosed(1, STUDENTS)
+						.mapToObj(i -> new Object[] { "burst" + i, "Student " + i })
+						.toList());
+		jdbcTemplate.update("INSERT INTO students (user_id, created_at) SELECT id, NOW(6) FROM users "
+				+ "WHERE role = 'STUDENT' AND username LIKE 'burst%'");
+		List<Long> students = jdbcTemplate.queryForList("SELECT user_id FROM students ORDER BY user_id", Long.class);
+
+		AtomicBoolean burstDone = new AtomicBoolean();
+		AtomicInteger manualMarks = new AtomicInteger();
+		Thread teacher = new Thread(() -> {
+			for (int i = 0; !burstDone.get(); i = (i + 1) % students.size()) {
+				attendanceService.markAttendance(students.get(i), lab, AttendanceStatus.PRESENT, teacherId);
+				manualMarks.incrementAndGet();
+			}
+		});
+		teacher.start();
+
+		long start = System.nanoTime();
+		for (Long student : students) {
+			checkinBuffer.submit(new MarkCommand(student, lecture, AttendanceStatus.PRESENT, teacherId));
+		}
+		long deadline = System.currentTimeMillis() + 60_000;
+		while (count(lecture) < STUDENTS && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+		burstDone.set(true);
+		teacher.join();
+
+		long batches = (Long) checkinBuffer.getStats().get("batches");
+		System.out.printf("Check-in burst on MySQL: %d rows in %d ms (%.0f rows/s), %d batches, %d manual marks "
+				+ "on the same change-sequence lock%n", count(lecture), millis, count(lecture) * 1000.0 / millis,
+				batches, manualMarks.get());
+
+		assertEquals(STUDENTS, count(lecture));
+		assertEquals(0L, checkinBuffer.getStats().get("failed"));
+		assertTrue(batches * 10 < STUDENTS, "check-ins should be group committed");
+		assertTrue(manualMarks.get() > 0);
+	}
+
+	private long count(Long subjectId) {
+		Long n = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance WHERE subject_id = ? AND attendance_date = ? "
+				+ "AND status = 'PRESENT'", Long.class, subjectId, LocalDate.now());
+		return n == null ? 0 : n;
+	}
+}
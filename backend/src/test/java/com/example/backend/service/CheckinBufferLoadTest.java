@@ -0,0 +1,170 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.MarkCommand;
+import com.example.backend.exception.ServiceBusyException;
+import com.example.backend.model.AttendanceStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+// Lecture-start burst: many rooms of students checking in at once, with each group commit costing ~5 ms.
+// This measures the buffer's queueing and batching only; CheckinBufferGroupCommitTest writes to MySQL.
+class CheckinBufferLoadTest {
+	private static final int PRODUCERS = 16;
+	private static final int CHECKINS_PER_PRODUCER = 5_000;
+
+	@TempDir
+	Path dir;
+
+	private final List<PendingMarkService> services = new ArrayList<>();
+
+	@AfterEach
+	void tearDown() throws Exception {
+		for (PendingMarkService service : services) {
+			service.stop();
+		}
+	}
+
+	@Test
+	void sustainsBurstWithGroupCommit() throws Exception {
+		AtomicLong written = new AtomicLong();
+		AtomicInteger commits = new AtomicInteger();
+		AttendanceService attendanceService = mock(AttendanceService.class);
+		when(attendanceService.markAttendanceBatch(anyList())).thenAnswer(invocation -> {
+			List<?> batch = invocation.getArgument(0);
+			Thread.sleep(5); // simulated commit latency
+			written.addAndGet(batch.size());
+			commits.incrementAndGet();
+			return batch.size();
+		});
+
+		CheckinBuffer buffer = new CheckinBuffer(pendingMarks(attendanceService, false), 100_000, 100, 1_000);
+		buffer.start();
+
+		ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+		AtomicInteger rejected = new AtomicInteger();
+		long start = System.nanoTime();
+		List<Future<?>> futures = new ArrayList<>();
+		for (int p = 0; p < PRODUCERS; p++) {
+			long room = p;
+			futures.add(producers.submit(() -> {
+				for (int i = 0; i < CHECKINS_PER_PRODUCER; i++) {
+					try {
+						buffer.submit(new MarkCommand(room * CHECKINS_PER_PRODUCER + i, room, AttendanceStatus.PRESENT, 1L));
+					} catch (ServiceBusyException e) {
+						rejected.incrementAndGet();
+					}
+				}
+			}));
+		}
+		for (Future<?> f : futures) {
+			f.get();
+		}
+		long acceptMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+		producers.shutdown();
+
+		buffer.stop();
+		long totalMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+		int total = PRODUCERS * CHECKINS_PER_PRODUCER;
+
+		System.out.printf("Check-in burst: %d accepted in %d ms (%.0f/s), %d written in %d commits within %d ms "
+				+ "(%.0f rows/s), %d rejected%n",
+				total - rejected.get(), acceptMillis, (total - rejected.get()) * 1000.0 / acceptMillis,
+				written.get(), commits.get(), totalMillis, written.get() * 1000.0 / totalMillis, rejected.get());
+
+		assertEquals(0, rejected.get());
+		assertEquals(total, written.get());
+		assertTrue(commits.get() * 10 < total, "check-ins should be group committed");
+	}
+
+	@Test
+	void outageSendsTheBatchToTheLogInsteadOfRetryingEachMark() throws Exception {
+		AttendanceService attendanceService = mock(AttendanceService.class);
+		when(attendanceService.markAttendanceBatch(anyList()))
+				.thenThrow(new CannotCreateTransactionException("Connection refused"));
+		PendingMarkService pendingMarks = pendingMarks(attendanceService, true);
+		CheckinBuffer buffer = new CheckinBuffer(pendingMarks, 1_000, 100, 1_000);
+
+		for (long student = 1; student <= 50; student++) {
+			buffer.submit(new MarkCommand(student, 7L, AttendanceStatus.PRESENT, 1L));
+		}
+		buffer.flush();
+
+		verify(attendanceService, times(1)).markAttendanceBatch(anyList());
+		assertEquals(50L, buffer.getStats().get("logged"));
+		assertEquals(0L, buffer.getStats().get("failed"));
+		assertEquals(50L, pendingMarks.getStats().get("pending"));
+	}
+
+	@Test
+	void outageWithoutTheLogPutsTheBatchBackOnTheQueue() throws Exception {
+		AttendanceService attendanceService = mock(AttendanceService.class);
+		when(attendanceService.markAttendanceBatch(anyList()))
+				.thenThrow(new CannotCreateTransactionException("Connection refused"));
+		CheckinBuffer buffer = new CheckinBuffer(pendingMarks(attendanceService, false), 1_000, 100, 1_000);
+
+		for (long student = 1; student <= 50; student++) {
+			buffer.submit(new MarkCommand(student, 7L, AttendanceStatus.PRESENT, 1L));
+		}
+		buffer.flush();
+
+		verify(attendanceService, times(1)).markAttendanceBatch(anyList());
+		assertEquals(50, buffer.getStats().get("queued"));
+		assertEquals(0L, buffer.getStats().get("failed"));
+
+		reset(attendanceService);
+		when(attendanceService.markAttendanceBatch(anyList())).thenAnswer(invocation -> {
+			List<?> batch = invocation.getArgument(0);
+			return batch.size();
+		});
+		buffer.flush();
+		assertEquals(0, buffer.getStats().get("queued"));
+		assertEquals(50L, buffer.getStats().get("flushed"));
+	}
+
+	@Test
+	void badMarkIsRetriedAloneAndDropped() throws Exception {
+		AttendanceService attendanceService = mock(AttendanceService.class);
+		when(attendanceService.markAttendanceBatch(anyList())).thenAnswer(invocation -> {
+			List<MarkCommand> batch = invocation.getArgument(0);
+			if (batch.stream().anyMatch(c -> c.studentId() == 13L)) {
+				throw new DataIntegrityViolationException("Duplicate entry");
+			}
+			return batch.size();
+		});
+		CheckinBuffer buffer = new CheckinBuffer(pendingMarks(attendanceService, true), 1_000, 100, 1_000);
+
+		for (long student = 10; student < 20; student++) {
+			buffer.submit(new MarkCommand(student, 7L, AttendanceStatus.PRESENT, 1L));
+		}
+		buffer.flush();
+
+		verify(attendanceService, times(11)).markAttendanceBatch(anyList());
+		assertEquals(1L, buffer.getStats().get("failed"));
+		assertEquals(0L, buffer.getStats().get("logged"));
+	}
+
+	private PendingMarkService pendingMarks(AttendanceService attendanceService, boolean logEnabled) throws Exception {
+		// Replay only when a test calls it
+		PendingMarkService service = new PendingMarkService(attendanceService, logEnabled, dir.toString(), 1,
+				3_600_000, 500, 3000, 10_000);
+		service.start();
+		services.add(service);
+		return service;
+	}
+}
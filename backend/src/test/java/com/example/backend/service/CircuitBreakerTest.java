@@ -0,0 +1,94 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.CircuitOpenException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Opens after 2 bad calls out of 4 and is half-open again right away (openMillis 0)
+class CircuitBreakerTest {
+	private final CircuitBreaker breaker = new CircuitBreaker("test", 4, 2, 10_000, 0);
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void failuresOpenTheCircuitAndASuccessfulTrialClosesIt() {
+		failCalls(2);
+		assertEquals("OPEN", breaker.getStats().get("state"));
+
+		assertEquals(1, breaker.call(() -> 1));
+		assertEquals("CLOSED", breaker.getStats().get("state"));
+	}
+
+	@Test
+	void failedTrialReopensTheCircuit() {
+		failCalls(2);
+		failCalls(1);
+		assertEquals("OPEN", breaker.getStats().get("state"));
+		assertEquals(2L, breaker.getStats().get("timesOpened"));
+	}
+
+	@Test
+	void callFinishingLateDoesNotEndTheTrial() throws Exception {
+		CountDownLatch lateRelease = new CountDownLatch(1);
+		CountDownLatch trialRelease = new CountDownLatch(1);
+		CountDownLatch trialStarted = new CountDownLatch(1);
+
+		// Admitted while closed, still running when the circuit opens
+		CountDownLatch lateStarted = new CountDownLatch(1);
+		Future<Integer> late = executor.submit(() -> breaker.call(() -> {
+			lateStarted.countDown();
+			await(lateRelease);
+			return 1;
+		}));
+		lateStarted.await();
+		failCalls(2);
+
+		Future<Integer> trial = executor.submit(() -> breaker.call(() -> {
+			trialStarted.countDown();
+			await(trialRelease);
+			return 2;
+		}));
+		trialStarted.await();
+		assertEquals("HALF_OPEN", breaker.getStats().get("state"));
+
+		// The late call succeeds, but the trial is still in flight: the circuit stays half-open and
+		// other calls are still turned away
+		lateRelease.countDown();
+		assertEquals(1, late.get(5, TimeUnit.SECONDS));
+		assertEquals("HALF_OPEN", breaker.getStats().get("state"));
+		assertThrows(CircuitOpenException.class, () -> breaker.call(() -> 3));
+
+		trialRelease.countDown();
+		assertEquals(2, trial.get(5, TimeUnit.SECONDS));
+		assertEquals("CLOSED", breaker.getStats().get("state"));
+	}
+
+	private void failCalls(int calls) {
+		for (int i = 0; i < calls; i++) {
+			assertThrows(IllegalStateException.class, () -> breaker.call(() -> {
+				throw new IllegalStateException("database down");
+			}));
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
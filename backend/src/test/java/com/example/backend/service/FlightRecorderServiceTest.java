@@ -0,0 +1,85 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.ConflictException;
+import com.example.backend.exception.InvalidRequestException;
+import com.example.backend.exception.NotFoundException;
+import com.example.backend.jfr.AttendanceMarkEvent;
+import com.example.backend.jfr.LoginEvent;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderServiceTest {
+	private FlightRecorderService service;
+
+	@BeforeEach
+	void setUp() {
+		service = new FlightRecorderService(5, 50);
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void dumpContainsApplicationEvents() throws Exception {
+		assertThrows(NotFoundException.class, service::dump);
+		assertEquals("RUNNING", service.start("default").get("state"));
+
+		AttendanceMarkEvent mark = new AttendanceMarkEvent();
+		mark.begin();
+		mark.tenant = "main";
+		mark.studentId = 42;
+		mark.status = "PRESENT";
+		mark.succeeded = true;
+		mark.commit();
+		LoginEvent login = new LoginEvent();
+		login.begin();
+		login.outcome = "invalid-password";
+		login.commit();
+
+		// A running recording can be dumped without stopping it
+		Path file = service.dump();
+		try {
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+			RecordedEvent recorded = events.stream()
+					.filter(e -> e.getEventType().getName().equals("com.example.attendance.Mark"))
+					.findFirst().orElseThrow();
+			assertEquals(42, recorded.getLong("studentId"));
+			assertEquals("PRESENT", recorded.getString("status"));
+			assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("com.example.attendance.Login")
+					&& "invalid-password".equals(e.getString("outcome"))));
+			// Nothing that carries environment variables, system properties or JVM arguments
+			assertTrue(events.stream().map(e -> e.getEventType().getName()).noneMatch(name ->
+					name.equals("jdk.InitialEnvironmentVariable") || name.equals("jdk.InitialSystemProperty")
+							|| name.equals("jdk.JVMInformation")));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+		assertEquals("RUNNING", service.getStatus().get("state"));
+	}
+
+	@Test
+	void startAndStopFollowTheRecordingState() throws Exception {
+		assertThrows(ConflictException.class, service::stop);
+		assertThrows(InvalidRequestException.class, () -> service.start("no-such-settings"));
+
+		service.start("profile");
+		assertThrows(ConflictException.class, () -> service.start("default"));
+		assertEquals("STOPPED", service.stop().get("state"));
+
+		// The stopped recording can still be dumped, and a new one can be started
+		Path file = service.dump();
+		Files.deleteIfExists(file);
+		assertEquals("default", service.start("default").get("settings"));
+	}
+}
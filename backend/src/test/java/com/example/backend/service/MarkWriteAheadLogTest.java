@@ -0,0 +1,168 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.MarkCommand;
+import com.example.backend.model.AttendanceStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A "crash" here is opening a second log on the directory without closing the first one: only what the
+// first log wrote to its mapped segments is there, as after the process was killed
+class MarkWriteAheadLogTest {
+	private static final int SEGMENT_SIZE = 64 * 1024;
+	// 8 header + 43 fixed body + "main"
+	private static final int RECORD_BYTES = 55;
+	private static final LocalDateTime MARKED_AT = LocalDateTime.of(2025, 3, 3, 9, 15);
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void recordsSurviveACrash() throws IOException {
+		MarkWriteAheadLog log = new MarkWriteAheadLog(dir, SEGMENT_SIZE);
+		assertEquals(1, log.append("main", mark(1, AttendanceStatus.PRESENT)));
+		assertEquals(2, log.append("north", mark(2, AttendanceStatus.ABSENT)));
+
+		MarkWriteAheadLog recovered = new MarkWriteAheadLog(dir, SEGMENT_SIZE);
+		assertEquals(2, recovered.getPending());
+		List<MarkWriteAheadLog.Entry> entries = recovered.read(10);
+		assertEquals(List.of(new MarkWriteAheadLog.Entry(1, "main", mark(1, AttendanceStatus.PRESENT)),
+				new MarkWriteAheadLog.Entry(2, "north", mark(2, AttendanceStatus.ABSENT))), entries);
+	}
+
+	@Test
+	void tornLastRecordIsDiscarded() throws IOException {
+		MarkWriteAheadLog log = new MarkWriteAheadLog(dir, SEGMENT_SIZE);
+		for (int i = 1; i <= 3; i++) {
+			log.append("main", mark(i, AttendanceStatus.PRESENT));
+		}
+		corrupt(2 * RECORD_BYTES + 30);
+
+		MarkWriteAheadLog recovered = new MarkWriteAheadLog(dir, SEGMENT_SIZE);
+		assertEquals(2, recovered.getLastSeq());
+		assertEquals(3, recovered.append("main", mark(9, AttendanceStatus.ABSENT)));
+		assertEquals(9L, recovered.read(10).get(2).command().studentId());
+	}
+
+	@Test
+	void recordsAfterATornOneDoNotComeBack() throws IOException {
+		MarkWriteAheadLog log = new MarkWriteAheadLog(dir, SEGMENT_SIZE);
+		for (int i = 1; i <= 3; i++) {
+			log.append("main", mark(i, AttendanceStatus.PRESENT));
+		}
+		corrupt(RECORD_BYTES + 30);
+
+		MarkWriteAheadLog recovered = new MarkWriteAheadLog(dir, SEGMENT_SIZE);
+		assertEquals(1, recovered.getLastSeq());
+		// Same size as the torn record, so it ends exactly where the stale third record starts
+		recovered.append("main", mark(7, AttendanceStatus.ABSENT));
+
+		List<MarkWriteAheadLog.Entry> entries = new MarkWriteAheadLog(dir, SEGMENT_SIZE).read(10);
+		assertEquals(2, entries.size());
+		assertEquals(7L, entries.get(1).command().studentId());
+	}
+
+	@Test
+	void commitSurvivesRestartAndDrainedSegmentsAreDeleted() throws IOException {
+		MarkWriteAheadLog log = new MarkWriteAheadLog(dir, SEGMENT_SIZE);
+		for (int i = 1; i <= 5; i++) {
+			log.append("main", mark(i, AttendanceStatus.PRESENT));
+		}
+		log.commit(3);
+
+		MarkWriteAheadLog recovered = new MarkWriteAheadLog(dir, SEGMENT_SIZE);
+		assertEquals(2, recovered.getPending());
+		assertEquals(4, recovered.read(10).get(0).seq());
+		recovered.commit(5);
+		assertEquals(0, recovered.getSegmentCount());
+		assertEquals(0, segmentFiles());
+
+		MarkWriteAheadLog restarted = new MarkWriteAheadLog(dir, SEGMENT_SIZE);
+		assertEquals(0, restarted.getPending());
+		assertEquals(6, restarted.append("main", mark(6, AttendanceStatus.PRESENT)));
+		assertEquals(6, new MarkWriteAheadLog(dir, SEGMENT_SIZE).read(10).get(0).seq());
+	}
+
+	@Test
+	void rollsOverToNewSegments() throws IOException {
+		MarkWriteAheadLog log = new MarkWriteAheadLog(dir, 1024);
+		for (int i = 1; i <= 50; i++) {
+			log.append("main", mark(i, AttendanceStatus.PRESENT));
+		}
+		assertEquals(3, log.getSegmentCount());
+		List<MarkWriteAheadLog.Entry> entries = log.read(100);
+		assertEquals(50, entries.size());
+		for (int i = 0; i < entries.size(); i++) {
+			assertEquals(i + 1, entries.get(i).seq());
+		}
+
+		log.commit(20);
+		assertEquals(2, segmentFiles());
+		MarkWriteAheadLog recovered = new MarkWriteAheadLog(dir, 1024);
+		assertEquals(30, recovered.getPending());
+		assertEquals(21, recovered.read(1).get(0).seq());
+	}
+
+	@Test
+	void concurrentAppendsShareFsyncs() throws Exception {
+		int threads = 8;
+		int perThread = 200;
+		MarkWriteAheadLog log = new MarkWriteAheadLog(dir, 1024 * 1024);
+		Set<Long> seqs = ConcurrentHashMap.newKeySet();
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			futures.add(pool.submit(() -> {
+				for (int i = 0; i < perThread; i++) {
+					seqs.add(log.append("main", mark(i, AttendanceStatus.PRESENT)));
+				}
+				return null;
+			}));
+		}
+		for (Future<?> f : futures) {
+			f.get();
+		}
+		pool.shutdown();
+
+		System.out.println("Appended " + seqs.size() + " marks with " + log.getSyncs() + " fsyncs");
+		assertEquals(threads * perThread, seqs.size());
+		assertEquals(threads * perThread, new MarkWriteAheadLog(dir, 1024 * 1024).getPending());
+	}
+
+	private static MarkCommand mark(long studentId, AttendanceStatus status) {
+		return new MarkCommand(studentId, 7L, status, 3L, MARKED_AT);
+	}
+
+	private void corrupt(int position) throws IOException {
+		Path segment;
+		try (Stream<Path> files = Files.list(dir)) {
+			segment = files.filter(p -> p.toString().endsWith(".wal")).findFirst().orElseThrow();
+		}
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(new byte[] { 0x5a }), position);
+		}
+	}
+
+	private long segmentFiles() throws IOException {
+		try (Stream<Path> files = Files.list(dir)) {
+			return files.filter(p -> p.toString().endsWith(".wal")).count();
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package com.example.backend.service;
+
+import com.example.backend.model.AttendanceStatus;
+import com.example.backend.model.OutboxEvent;
+import com.example.backend.model.Student;
+import com.example.backend.model.Subject;
+import com.example.backend.model.User;
+import com.example.backend.model.UserRole;
+import com.example.backend.repo.StudentRepository;
+import com.example.backend.repo.SubjectRepository;
+import com.example.backend.repo.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The scheduled relay is pushed out of the way; the tests call relay() themselves, with batches of two
+@SpringBootTest(properties = {
+		"app.seed.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=none",
+		"spring.jpa.show-sql=false",
+		"outbox.sink=test",
+		"outbox.relay.batch-size=2",
+		"outbox.relay.interval-ms=3600000"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class OutboxServiceTest {
+
+	@Container
+	@ServiceConnection
+	static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+	@TestConfiguration
+	static class SinkConfig {
+		@Bean
+		RecordingSink recordingSink() {
+			return new RecordingSink();
+		}
+	}
+
+	// Accepts batches until told to fail; keeps every accepted event in delivery order
+	static class RecordingSink implements OutboxSink {
+		final List<OutboxEvent> delivered = new ArrayList<>();
+		int acceptBatches = Integer.MAX_VALUE;
+		int rejected;
+
+		@Override
+		public synchronized void publish(List<OutboxEvent> batch) throws Exception {
+			if (acceptBatches == 0) {
+				rejected++;
+				throw new Exception("sink unavailable");
+			}
+			acceptBatches--;
+			delivered.addAll(batch);
+		}
+	}
+
+	@Autowired
+	private OutboxService outboxService;
+
+	@Autowired
+	private RecordingSink sink;
+
+	@Autowired
+	private AttendanceService attendanceService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private SubjectRepository subjectRepository;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@BeforeEach
+	void setUp() {
+		// Start each test from an empty outbox
+		outboxService.relay();
+		sink.delivered.clear();
+		sink.acceptBatches = Integer.MAX_VALUE;
+		sink.rejected = 0;
+	}
+
+	@Test
+	void eventsAreDeliveredInOrderPerStudent() throws Exception {
+		User teacher = userRepository.save(new User("outbox-teacher", "x", UserRole.TEACHER, "Teacher", null));
+		Long subject = subjectRepository.save(new Subject("Outbox", "OUTBOX1")).getId();
+		Long ann = student("outbox-ann");
+		Long bob = student("outbox-bob");
+
+		// Interleaved changes of two students, spread over several batches
+		attendanceService.markAttendance(ann, subject, AttendanceStatus.PRESENT, teacher.getId());
+		attendanceService.markAttendance(bob, subject, AttendanceStatus.ABSENT, teacher.getId());
+		attendanceService.markAttendance(ann, subject, AttendanceStatus.ABSENT, teacher.getId());
+		attendanceService.markAttendance(bob, subject, AttendanceStatus.PRESENT, teacher.getId());
+		attendanceService.markAttendance(ann, subject, AttendanceStatus.PRESENT, teacher.getId());
+
+		outboxService.relay();
+
+		assertEquals(List.of("PRESENT", "ABSENT", "PRESENT"), statuses(ann));
+		assertEquals(List.of("ABSENT", "PRESENT"), statuses(bob));
+		for (int i = 1; i < sink.delivered.size(); i++) {
+			assertTrue(sink.delivered.get(i).getId() > sink.delivered.get(i - 1).getId());
+		}
+		assertEquals(0L, outboxService.getStats().get("pending"));
+	}
+
+	@Test
+	void failedBatchIsRetriedWithoutAdvancingThePosition() throws Exception {
+		User teacher = userRepository.save(new User("retry-teacher", "x", UserRole.TEACHER, "Teacher", null));
+		Long subject = subjectRepository.save(new Subject("Retry", "RETRY1")).getId();
+		List<Long> students = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			students.add(student("retry" + i));
+			attendanceService.markAttendance(students.get(i), subject, AttendanceStatus.PRESENT, teacher.getId());
+		}
+		long start = (Long) outboxService.getStats().get("position");
+
+		// The first batch of two goes through, the second is rejected
+		sink.acceptBatches = 1;
+		outboxService.relay();
+		assertEquals(2, sink.delivered.size());
+		assertEquals(1, sink.rejected);
+		long position = (Long) outboxService.getStats().get("position");
+		assertEquals(sink.delivered.get(1).getId(), position);
+		assertEquals(3L, outboxService.getStats().get("pending"));
+
+		// Still failing: the position stays where it was
+		outboxService.relay();
+		assertEquals(position, outboxService.getStats().get("position"));
+
+		// Recovered: the rejected batch is delivered first, nothing is skipped or repeated
+		sink.acceptBatches = Integer.MAX_VALUE;
+		outboxService.relay();
+		assertEquals(5, sink.delivered.size());
+		assertEquals(5, sink.delivered.stream().map(OutboxEvent::getId).distinct().count());
+		assertTrue(sink.delivered.stream().allMatch(e -> e.getId() > start));
+		assertEquals(students, sink.delivered.stream().map(OutboxEvent::getAggregateId).toList());
+		assertEquals(0L, outboxService.getStats().get("pending"));
+	}
+
+	private List<String> statuses(Long studentId) throws Exception {
+		List<String> statuses = new ArrayList<>();
+		for (OutboxEvent event : sink.delivered) {
+			if (event.getAggregateId().equals(studentId)) {
+				JsonNode payload = objectMapper.readTree(event.getPayload());
+				assertEquals(OutboxService.ATTENDANCE_CHANGED, event.getEventType());
+				statuses.add(payload.get("status").asText());
+			}
+		}
+		return statuses;
+	}
+
+	private Long student(String username) {
+		return studentRepository.save(new Student(userRepository.save(
+				new User(username, "x", UserRole.STUDENT, username, null)))).getId();
+	}
+}
@@ -0,0 +1,86 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.ServiceBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Login throughput benchmark: many request threads verifying BCrypt hashes through the bounded pool
+class PasswordHashingServiceBenchmarkTest {
+	private static final int CLIENT_THREADS = 32;
+	private static final int LOGINS_PER_CLIENT = 8;
+
+	private PasswordHashingService service;
+
+	@BeforeEach
+	void setUp() {
+		service = new PasswordHashingService(new BCryptPasswordEncoder(), 0, 16, 30_000);
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void plaintextRowsMatchAndNeedRehash() {
+		assertTrue(service.matches("student123", "student123"));
+		assertFalse(service.matches("wrong", "student123"));
+		assertTrue(service.needsRehash("student123"));
+
+		String hash = service.encode("student123");
+		assertTrue(service.isHashed(hash));
+		assertFalse(service.needsRehash(hash));
+		assertTrue(service.matches("student123", hash));
+	}
+
+	// About 16 s of BCrypt; only with -Pbenchmarks
+	@Test
+	@Tag("benchmark")
+	void loginThroughputUnderSpike() throws Exception {
+		String hash = service.encode("teacher123");
+		ExecutorService clients = Executors.newFixedThreadPool(CLIENT_THREADS);
+		AtomicInteger ok = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+		AtomicInteger maxQueue = new AtomicInteger();
+
+		long start = System.nanoTime();
+		List<Future<?>> futures = new ArrayList<>();
+		for (int c = 0; c < CLIENT_THREADS; c++) {
+			futures.add(clients.submit(() -> {
+				for (int i = 0; i < LOGINS_PER_CLIENT; i++) {
+					try {
+						assertTrue(service.matches("teacher123", hash));
+						ok.incrementAndGet();
+					} catch (ServiceBusyException e) {
+						rejected.incrementAndGet();
+					}
+					maxQueue.accumulateAndGet(service.getQueueDepth(), Math::max);
+				}
+			}));
+		}
+		for (Future<?> f : futures) {
+			f.get();
+		}
+		long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+		clients.shutdown();
+
+		System.out.printf("BCrypt logins: %d ok, %d rejected in %d ms (%.1f logins/s, max queue %d)%n",
+				ok.get(), rejected.get(), elapsedMillis, ok.get() * 1000.0 / elapsedMillis, maxQueue.get());
+
+		assertEquals(CLIENT_THREADS * LOGINS_PER_CLIENT, ok.get() + rejected.get());
+		assertTrue(maxQueue.get() <= 16, "queue must stay within its bound");
+		assertTrue(ok.get() > 0);
+	}
+}
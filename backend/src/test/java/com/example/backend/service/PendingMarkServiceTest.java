@@ -0,0 +1,179 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.MarkCommand;
+import com.example.backend.exception.NotFoundException;
+import com.example.backend.model.Attendance;
+import com.example.backend.model.AttendanceStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PendingMarkServiceTest {
+	private static final MarkCommand FIRST = new MarkCommand(1L, 7L, AttendanceStatus.PRESENT, 3L);
+	private static final MarkCommand SECOND = new MarkCommand(2L, 7L, AttendanceStatus.ABSENT, 3L);
+
+	@TempDir
+	Path dir;
+
+	private final AttendanceService attendanceService = mock(AttendanceService.class);
+	private final List<List<MarkCommand>> replayedBatches = new ArrayList<>();
+	private final List<PendingMarkService> services = new ArrayList<>();
+
+	@AfterEach
+	void tearDown() throws Exception {
+		for (PendingMarkService service : services) {
+			service.stop();
+		}
+	}
+
+	@Test
+	void marksAreLoggedWhileTheDatabaseIsDownAndReplayedInOrder() throws Exception {
+		PendingMarkService service = start();
+		when(attendanceService.markAttendance(anyLong(), anyLong(), any(), anyLong()))
+				.thenThrow(new CannotCreateTransactionException("Connection refused"));
+
+		assertEquals(1, service.mark(FIRST).pendingSeq());
+		// Queued behind the first one without trying the database
+		assertEquals(2, service.mark(SECOND).pendingSeq());
+		verify(attendanceService, times(1)).markAttendance(anyLong(), anyLong(), any(), anyLong());
+
+		databaseUp();
+		service.replay();
+		assertEquals(List.of(List.of(FIRST, SECOND)), replayedBatches);
+		assertEquals(0L, service.getStats().get("pending"));
+
+		reset(attendanceService);
+		when(attendanceService.markAttendance(anyLong(), anyLong(), any(), anyLong())).thenReturn(new Attendance());
+		assertFalse(service.mark(FIRST).isPending());
+	}
+
+	@Test
+	void marksLoggedBeforeACrashAreReplayedAfterRestart() throws Exception {
+		PendingMarkService crashed = start();
+		when(attendanceService.markAttendance(anyLong(), anyLong(), any(), anyLong()))
+				.thenThrow(new CannotCreateTransactionException("Connection refused"));
+		crashed.mark(FIRST);
+		crashed.mark(SECOND);
+
+		databaseUp();
+		PendingMarkService restarted = start();
+		assertEquals(2L, restarted.getStats().get("pending"));
+		restarted.replay();
+		assertEquals(List.of(List.of(FIRST, SECOND)), replayedBatches);
+		assertEquals(0L, restarted.getStats().get("pending"));
+	}
+
+	@Test
+	void failedReplayKeepsMarksPending() throws Exception {
+		PendingMarkService service = start();
+		when(attendanceService.markAttendance(anyLong(), anyLong(), any(), anyLong()))
+				.thenThrow(new CannotCreateTransactionException("Connection refused"));
+		when(attendanceService.markAttendanceBatch(any(LocalDate.class), anyList()))
+				.thenThrow(new CannotCreateTransactionException("Connection refused"));
+		service.mark(FIRST);
+
+		service.replay();
+		assertEquals(1L, service.getStats().get("pending"));
+		assertEquals("Connection refused", service.getStats().get("lastReplayError"));
+	}
+
+	@Test
+	void invalidMarksFailWithoutBeingLoggedOrDroppedAtReplay() throws Exception {
+		PendingMarkService service = start();
+		when(attendanceService.markAttendance(anyLong(), anyLong(), any(), anyLong()))
+				.thenThrow(new NotFoundException("Student not found"));
+		assertThrows(NotFoundException.class, () -> service.mark(FIRST));
+		assertEquals(0L, service.getStats().get("pending"));
+
+		reset(attendanceService);
+		when(attendanceService.markAttendance(anyLong(), anyLong(), any(), anyLong()))
+				.thenThrow(new CannotCreateTransactionException("Connection refused"));
+		service.mark(FIRST);
+		service.mark(SECOND);
+		// The first student was deleted while the database was away
+		when(attendanceService.markAttendanceBatch(any(LocalDate.class), anyList())).thenAnswer(invocation -> {
+			List<MarkCommand> batch = invocation.getArgument(1);
+			if (batch.stream().anyMatch(command -> command.studentId() == 1L)) {
+				throw new NotFoundException("Student not found");
+			}
+			replayedBatches.add(withoutTime(batch));
+			return batch.size();
+		});
+		service.replay();
+		assertEquals(List.of(List.of(SECOND)), replayedBatches);
+		assertEquals(1L, service.getStats().get("dropped"));
+		assertEquals(0L, service.getStats().get("pending"));
+	}
+
+	@Test
+	void failedMarkIsLoggedOnlyAfterADirectWriteInFlightFinishes() throws Exception {
+		PendingMarkService service = start();
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(attendanceService.markAttendance(anyLong(), anyLong(), any(), anyLong())).thenAnswer(invocation -> {
+			if (invocation.getArgument(0).equals(FIRST.studentId())) {
+				writing.countDown();
+				release.await();
+				return new Attendance();
+			}
+			throw new CannotCreateTransactionException("Connection refused");
+		});
+
+		ExecutorService teachers = Executors.newFixedThreadPool(2);
+		try {
+			Future<PendingMarkService.MarkResult> first = teachers.submit(() -> service.mark(FIRST));
+			writing.await();
+			Future<PendingMarkService.MarkResult> second = teachers.submit(() -> service.mark(SECOND));
+			// The first mark found the log empty and is still being written: the second waits to be logged
+			assertThrows(TimeoutException.class, () -> second.get(200, TimeUnit.MILLISECONDS));
+			assertEquals(0L, service.getStats().get("pending"));
+
+			release.countDown();
+			assertFalse(first.get().isPending());
+			assertEquals(1, second.get().pendingSeq());
+		} finally {
+			teachers.shutdown();
+		}
+	}
+
+	private PendingMarkService start() throws Exception {
+		// Replay only when the test calls it
+		PendingMarkService service = new PendingMarkService(attendanceService, true, dir.toString(), 1, 3_600_000, 500,
+				3000, 10_000);
+		service.start();
+		services.add(service);
+		return service;
+	}
+
+	private void databaseUp() {
+		when(attendanceService.markAttendanceBatch(any(LocalDate.class), anyList())).thenAnswer(invocation -> {
+			List<MarkCommand> batch = invocation.getArgument(1);
+			replayedBatches.add(withoutTime(batch));
+			return batch.size();
+		});
+	}
+
+	// The log stamps marks with the time they were taken; compare everything else
+	private static List<MarkCommand> withoutTime(List<MarkCommand> batch) {
+		return batch.stream()
+				.map(command -> new MarkCommand(command.studentId(), command.subjectId(), command.status(),
+						command.teacherId()))
+				.toList();
+	}
+}
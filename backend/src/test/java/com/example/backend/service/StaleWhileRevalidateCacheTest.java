@@ -0,0 +1,85 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StaleWhileRevalidateCacheTest {
+
+	@Test
+	void loadThatStartedBeforeAWriteIsStoredStale() throws Exception {
+		// Refreshes run on the reading thread, so the test sees their result right away
+		StaleWhileRevalidateCache<Integer> cache = new StaleWhileRevalidateCache<>(60_000, 600_000, Runnable::run);
+		AtomicInteger database = new AtomicInteger(1);
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch written = new CountDownLatch(1);
+
+		ExecutorService reader = Executors.newSingleThreadExecutor();
+		try {
+			Future<Integer> first = reader.submit(() -> cache.get("summary", () -> {
+				int value = database.get();
+				loading.countDown();
+				await(written);
+				return value;
+			}));
+			loading.await();
+			database.set(2);
+			cache.markStale("summary");
+			written.countDown();
+			assertEquals(1, first.get());
+		} finally {
+			reader.shutdown();
+		}
+
+		// The pre-write value may be served once more, but it must not be taken as fresh
+		assertEquals(1, cache.get("summary", database::get));
+		assertEquals(2, cache.get("summary", database::get));
+	}
+
+	@Test
+	void loadAfterTheWriteStaysFresh() {
+		StaleWhileRevalidateCache<Integer> cache = new StaleWhileRevalidateCache<>(60_000, 600_000, Runnable::run);
+		AtomicInteger loads = new AtomicInteger();
+
+		cache.markStale("summary");
+		assertEquals(1, cache.get("summary", loads::incrementAndGet));
+		assertEquals(1, cache.get("summary", loads::incrementAndGet));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void removedKeysAreDroppedWithTheirGenerations() {
+		StaleWhileRevalidateCache<Integer> cache = new StaleWhileRevalidateCache<>(60_000, 600_000, Runnable::run);
+		AtomicInteger loads = new AtomicInteger();
+		cache.get("main:2026-10-18", loads::incrementAndGet);
+		cache.markStale("main:2026-10-18");
+		cache.get("main:2026-10-19", loads::incrementAndGet);
+
+		cache.removeIf(key -> !key.endsWith(":2026-10-19"));
+
+		Map<String, Object> ages = (Map<String, Object>) cache.getStats().get("entryAgeMs");
+		assertEquals(Set.of("main:2026-10-19"), ages.keySet());
+		assertEquals(2, cache.get("main:2026-10-19", loads::incrementAndGet));
+		// A removed key is simply loaded again
+		assertEquals(3, cache.get("main:2026-10-18", loads::incrementAndGet));
+		assertEquals(3, cache.get("main:2026-10-18", loads::incrementAndGet));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.StudentPage;
+import com.example.backend.dto.StudentSummary;
+import com.example.backend.exception.InvalidRequestException;
+import com.example.backend.repo.UserRepository;
+import com.example.backend.tenant.TenantRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StudentDirectoryServiceTest {
+	private static final StudentSummary ALICE = student(1, "alice", "Alice Smith");
+	private static final StudentSummary ALINA = student(2, "alina", "Alina Brown");
+	private static final StudentSummary BOB = student(3, "bob", "Bob Alvarez");
+	private static final StudentSummary CAROL = student(4, "carol", "Carol Kalinski");
+	private static final StudentSummary DAVE = student(5, "Dave", "Dave Lin");
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final StudentDirectoryService directory =
+			new StudentDirectoryService(userRepository, mock(TenantRegistry.class));
+
+	@AfterEach
+	void tearDown() {
+		directory.shutdown();
+	}
+
+	@Test
+	void prefixMatchesTheStartOfUsernameOrName() {
+		load(DAVE, CAROL, BOB, ALINA, ALICE);
+
+		assertEquals(List.of(ALICE, ALINA), search("AL", false).items());
+		assertEquals(List.of(BOB), search("bob a", false).items());
+		assertEquals(List.of(DAVE), search("dave", false).items());
+		// Only the start of the username or of the full name counts, not "Dave Lin" or "Kalinski"
+		assertTrue(search("lin", false).items().isEmpty());
+	}
+
+	@Test
+	void containsMatchesAnywhereInUsernameOrName() {
+		load(DAVE, CAROL, BOB, ALINA, ALICE);
+
+		assertEquals(List.of(ALINA, CAROL, DAVE), search(" LIN ", true).items());
+		assertEquals(List.of(BOB), search("alvar", true).items());
+		assertTrue(search("xyz", true).items().isEmpty());
+	}
+
+	// Queries shorter than a trigram are answered by scanning instead of the trigram index
+	@Test
+	void shortQueriesAreScanned() {
+		load(DAVE, CAROL, BOB, ALINA, ALICE);
+
+		assertEquals(List.of(ALICE, ALINA, CAROL, DAVE), search("li", true).items());
+		assertEquals(List.of(ALINA, BOB, CAROL), search("o", true).items());
+		assertEquals(List.of(ALICE, ALINA, BOB, CAROL, DAVE), search("", true).items());
+		assertEquals(List.of(ALICE, ALINA, BOB, CAROL, DAVE), search(null, false).items());
+	}
+
+	@Test
+	void pagesFollowTheCursor() {
+		load(DAVE, CAROL, BOB, ALINA, ALICE);
+
+		StudentPage first = directory.search("", false, null, 2);
+		assertEquals(List.of(ALICE, ALINA), first.items());
+		StudentPage second = directory.search("", false, first.nextCursor(), 2);
+		assertEquals(List.of(BOB, CAROL), second.items());
+		StudentPage last = directory.search("", false, second.nextCursor(), 2);
+		assertEquals(List.of(DAVE), last.items());
+		assertNull(last.nextCursor());
+
+		StudentPage contains = directory.search("lin", true, null, 2);
+		assertEquals(List.of(ALINA, CAROL), contains.items());
+		assertEquals(List.of(DAVE), directory.search("lin", true, contains.nextCursor(), 2).items());
+	}
+
+	// The cursor is the last username and id, not a position, so a rebuild between pages neither repeats
+	// nor skips the students that are still there
+	@Test
+	void cursorSurvivesARebuild() {
+		load(DAVE, CAROL, BOB, ALINA, ALICE);
+		StudentPage first = directory.search("", false, null, 2);
+		assertEquals(List.of(ALICE, ALINA), first.items());
+
+		StudentSummary aaron = student(6, "aaron", "Aaron Ng");
+		StudentSummary amy = student(7, "amy", "Amy Ortiz");
+		load(DAVE, CAROL, aaron, amy);
+
+		StudentPage second = directory.search("", false, first.nextCursor(), 2);
+		assertEquals(List.of(amy, CAROL), second.items());
+		assertEquals(List.of(DAVE), directory.search("", false, second.nextCursor(), 2).items());
+	}
+
+	@Test
+	void malformedCursorIsRejected() {
+		load(ALICE);
+		assertThrows(InvalidRequestException.class, () -> directory.search("", false, "not a cursor", 2));
+	}
+
+	private void load(StudentSummary... students) {
+		when(userRepository.findStudentSummaries()).thenReturn(List.of(students));
+		directory.rebuild();
+	}
+
+	private StudentPage search(String query, boolean contains) {
+		return directory.search(query, contains, null, StudentDirectoryService.DEFAULT_LIMIT);
+	}
+
+	private static StudentSummary student(long id, String username, String name) {
+		return new StudentSummary(id, username, name, username + "@example.com");
+	}
+}
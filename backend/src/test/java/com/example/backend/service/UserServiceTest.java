@@ -0,0 +1,107 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.ConflictException;
+import com.example.backend.exception.NotFoundException;
+import com.example.backend.model.Subject;
+import com.example.backend.model.User;
+import com.example.backend.model.UserRole;
+import com.example.backend.repo.StudentRepository;
+import com.example.backend.repo.SubjectRepository;
+import com.example.backend.repo.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Deleting a user against the real foreign keys (students -> users, attendance and alerts -> students)
+@SpringBootTest(properties = {
+		"app.seed.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=none",
+		"spring.jpa.show-sql=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class UserServiceTest {
+
+	@Container
+	@ServiceConnection
+	static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private SubjectRepository subjectRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void studentWithOnlyUnmarkedRowsIsDeletedWithThem() {
+		User student = userService.createUser("delete-new", "secret", UserRole.STUDENT, "New", null);
+		Subject subject = subjectRepository.save(new Subject("delete-new subject", "DELNEW"));
+		LocalDate today = LocalDate.now();
+		jdbcTemplate.update("INSERT INTO attendance (student_id, subject_id, status, attendance_date) "
+				+ "VALUES (?, ?, 'ABSENT', ?)", student.getId(), subject.getId(), today);
+		jdbcTemplate.update("INSERT INTO attendance_tallies (student_id, subject_id, present_count, total_count) "
+				+ "VALUES (?, ?, 0, 1)", student.getId(), subject.getId());
+		jdbcTemplate.update("INSERT INTO attendance_alerts (student_id, subject_id, present_count, total_count, raised_at) "
+				+ "VALUES (?, ?, 0, 1, NOW(6))", student.getId(), subject.getId());
+		jdbcTemplate.update("INSERT INTO attendance_months (student_id, subject_id, month_start, marked_days) "
+				+ "VALUES (?, ?, ?, 1)", student.getId(), subject.getId(), today.withDayOfMonth(1));
+
+		userService.deleteUser(student.getId());
+
+		assertFalse(userRepository.existsById(student.getId()));
+		assertFalse(studentRepository.existsById(student.getId()));
+		for (String table : new String[] { "attendance", "attendance_tallies", "attendance_alerts", "attendance_months" }) {
+			assertEquals(0L, rows(table, student.getId()), table);
+		}
+	}
+
+	@Test
+	void studentWithRecordedAttendanceIsKept() {
+		User teacher = userService.createUser("delete-kept-teacher", "secret", UserRole.TEACHER, "Teacher", null);
+		User student = userService.createUser("delete-kept", "secret", UserRole.STUDENT, "Kept", null);
+		Subject subject = subjectRepository.save(new Subject("delete-kept subject", "DELKEPT"));
+		jdbcTemplate.update("INSERT INTO attendance (student_id, subject_id, status, attendance_date, marked_by) "
+				+ "VALUES (?, ?, 'PRESENT', ?, ?)", student.getId(), subject.getId(), LocalDate.now(), teacher.getId());
+
+		ConflictException e = assertThrows(ConflictException.class, () -> userService.deleteUser(student.getId()));
+		assertTrue(e.getMessage().contains("delete-kept"));
+		assertThrows(ConflictException.class, () -> userService.deleteUser(teacher.getId()));
+
+		assertTrue(userRepository.existsById(student.getId()));
+		assertTrue(studentRepository.existsById(student.getId()));
+		assertEquals(1L, rows("attendance", student.getId()));
+	}
+
+	@Test
+	void teacherWithoutMarksIsDeleted() {
+		User teacher = userService.createUser("delete-teacher", "secret", UserRole.TEACHER, "Teacher", null);
+
+		userService.deleteUser(teacher.getId());
+
+		assertFalse(userRepository.existsById(teacher.getId()));
+		assertThrows(NotFoundException.class, () -> userService.deleteUser(teacher.getId()));
+	}
+
+	private long rows(String table, Long studentId) {
+		Long n = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE student_id = ?",
+				Long.class, studentId);
+		return n == null ? 0 : n;
+	}
+}
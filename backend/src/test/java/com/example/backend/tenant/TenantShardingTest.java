@@ -0,0 +1,144 @@
+package com.example.backend.tenant;
+
+import com.example.backend.dto.ChangesPage;
+import com.example.backend.model.Attendance;
+import com.example.backend.model.AttendanceStatus;
+import com.example.backend.model.Student;
+import com.example.backend.model.Subject;
+import com.example.backend.model.User;
+import com.example.backend.model.UserRole;
+import com.example.backend.repo.StudentRepository;
+import com.example.backend.repo.SubjectRepository;
+import com.example.backend.repo.UserRepository;
+import com.example.backend.service.AttendanceService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Three campuses on two MySQL shards: "main" and "north" share the main shard, "east" has its own.
+// Both shards are migrated by Flyway at startup.
+@SpringBootTest(properties = {
+		"app.seed.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=none",
+		"spring.jpa.show-sql=false",
+		"tenancy.tenants.north=main",
+		"tenancy.tenants.east=east"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class TenantShardingTest {
+
+	@Container
+	@ServiceConnection
+	static MySQLContainer<?> mainShard = new MySQLContainer<>("mysql:8.0");
+
+	@Container
+	static MySQLContainer<?> eastShard = new MySQLContainer<>("mysql:8.0");
+
+	@DynamicPropertySource
+	static void eastShardProperties(DynamicPropertyRegistry registry) {
+		registry.add("tenancy.shards.east.url", eastShard::getJdbcUrl);
+		registry.add("tenancy.shards.east.username", eastShard::getUsername);
+		registry.add("tenancy.shards.east.password", eastShard::getPassword);
+	}
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private SubjectRepository subjectRepository;
+
+	@Autowired
+	private AttendanceService attendanceService;
+
+	@Autowired
+	private TenantRoutingDataSource dataSource;
+
+	@Test
+	void tenantsOnTheSameShardDoNotSeeEachOthersRows() {
+		TenantContext.run("main", () -> userRepository.save(user("iso-main", UserRole.STUDENT)));
+		TenantContext.run("north", () -> userRepository.save(user("iso-north", UserRole.STUDENT)));
+
+		assertTrue(TenantContext.call("main", () -> userRepository.findByUsername("iso-main")).isPresent());
+		assertTrue(TenantContext.call("main", () -> userRepository.findByUsername("iso-north")).isEmpty());
+		assertTrue(TenantContext.call("north", () -> userRepository.findByUsername("iso-main")).isEmpty());
+		assertTrue(TenantContext.call("north", () -> userRepository.findByUsername("iso-north")).isPresent());
+	}
+
+	@Test
+	void usernamesAreUniquePerTenant() {
+		User main = TenantContext.call("main", () -> userRepository.save(user("same-name", UserRole.STUDENT)));
+		User north = TenantContext.call("north", () -> userRepository.save(user("same-name", UserRole.STUDENT)));
+
+		assertNotEquals(main.getId(), north.getId());
+		assertEquals("main", main.getTenantId());
+		assertEquals("north", north.getTenantId());
+	}
+
+	@Test
+	void rowsLandOnTheTenantsShard() {
+		TenantContext.run("east", () -> userRepository.save(user("placed-east", UserRole.STUDENT)));
+		TenantContext.run("north", () -> userRepository.save(user("placed-north", UserRole.STUDENT)));
+
+		JdbcTemplate main = jdbc(TenantRegistry.MAIN_SHARD);
+		JdbcTemplate east = jdbc("east");
+		assertEquals(1, count(east, "placed-east", "east"));
+		assertEquals(0, count(main, "placed-east", "east"));
+		assertEquals(1, count(main, "placed-north", "north"));
+		assertEquals(0, count(east, "placed-north", "north"));
+	}
+
+	@Test
+	void changesFeedIsScopedToTheTenant() {
+		Long mainAttendance = TenantContext.call("main", () -> markOne("feed-main"));
+		Long northAttendance = TenantContext.call("north", () -> markOne("feed-north"));
+
+		List<Long> mainIds = TenantContext.call("main", () -> changeIds(attendanceService.getChangesSince(null, 1000)));
+		List<Long> northIds = TenantContext.call("north", () -> changeIds(attendanceService.getChangesSince(null, 1000)));
+
+		assertTrue(mainIds.contains(mainAttendance));
+		assertFalse(mainIds.contains(northAttendance));
+		assertTrue(northIds.contains(northAttendance));
+		assertFalse(northIds.contains(mainAttendance));
+	}
+
+	private Long markOne(String prefix) {
+		User teacher = userRepository.save(user(prefix + "-teacher", UserRole.TEACHER));
+		User studentUser = userRepository.save(user(prefix + "-student", UserRole.STUDENT));
+		Student student = studentRepository.save(new Student(studentUser));
+		Subject subject = subjectRepository.save(new Subject(prefix + " subject", prefix.toUpperCase()));
+		return attendanceService.markAttendance(student.getId(), subject.getId(), AttendanceStatus.PRESENT,
+				teacher.getId()).getId();
+	}
+
+	private static List<Long> changeIds(ChangesPage page) {
+		return page.changes().stream().map(Attendance::getId).toList();
+	}
+
+	private JdbcTemplate jdbc(String shard) {
+		return new JdbcTemplate(dataSource.getResolvedDataSources().get(shard));
+	}
+
+	private static int count(JdbcTemplate jdbc, String username, String tenant) {
+		Integer n = jdbc.queryForObject("SELECT COUNT(*) FROM users WHERE username = ? AND tenant_id = ?",
+				Integer.class, username, tenant);
+		return n == null ? 0 : n;
+	}
+
+	private static User user(String username, UserRole role) {
+		return new User(username, "x", role, username, null);
+	}
+}
@@ -1,14 +1,21 @@
 export const API_BASE = 'http://localhost:8080/api';
 
+// Campus this client belongs to; the backend falls back to its default tenant when unset
+export function getTenantId() {
+	return localStorage.getItem('tenantId') || import.meta.env.VITE_TENANT_ID || '';
+}
+
 // Generic API request with better error handling
 async function apiRequest(path, options = {}) {
+	const tenantId = getTenantId();
 	const config = {
+		credentials: 'include',
+		...options,
 		headers: {
 			'Content-Type': 'application/json',
+			...(tenantId ? { 'X-Tenant-Id': tenantId } : {}),
 			...options.headers,
 		},
-		credentials: 'include',
-		...options,
 	};
 
 	try {
@@ -68,6 +75,14 @@ export const authAPI = {
 	getProfile: (username) => apiGet(`/auth/profile?username=${username}`),
 };
 
+function rangeQuery(from, to) {
+	const params = new URLSearchParams();
+	if (from) params.set('from', from);
+	if (to) params.set('to', to);
+	const query = params.toString();
+	return query ? `?${query}` : '';
+}
+
 // Attendance APIs - UPDATED for new backend
 export const attendanceAPI = {
 	markAttendance: (attendanceData) =>
@@ -83,12 +98,33 @@ export const attendanceAPI = {
 
 	getTodayAttendance: () => apiGet('/attendance/today'),
 
+	// Columnar roster + status for one subject: { ids, usernames, statuses }
+	getRollCall: (subjectId, date) =>
+		apiGet(`/rollcall?subjectId=${subjectId}${date ? `&date=${date}` : ''}`),
+
 	getMyAttendance: (studentId) => apiGet(`/my-attendance?studentId=${studentId}`),
+
+	// Month-bitset reads over [from, to] (ISO dates, default: the last twelve months):
+	// history is [{ subjectId, month, days }] with one P/A/- per day, percentages is
+	// [{ subjectId, present, total, percentage }], calendar is { from, to, present[], marked[] } per day
+	getHistory: (studentId, from, to) => apiGet(`/students/${studentId}/history${rangeQuery(from, to)}`),
+	getPercentages: (studentId, from, to) => apiGet(`/students/${studentId}/percentages${rangeQuery(from, to)}`),
+	getCalendar: (studentId, from, to) => apiGet(`/students/${studentId}/calendar${rangeQuery(from, to)}`),
+
+	// Delta sync: { changes, nextToken, hasMore }; pass the last nextToken back as since
+	getChanges: (since, limit) =>
+		apiGet(`/attendance/changes?${since ? `since=${encodeURIComponent(since)}&` : ''}limit=${limit || 500}`),
 };
 
 // Student APIs - UPDATED for new User model
 export const studentAPI = {
 	getAll: () => apiGet('/students'),
+	search: (q, { mode = 'prefix', cursor, limit } = {}) => {
+		const params = new URLSearchParams({ q, mode });
+		if (cursor) params.set('cursor', cursor);
+		if (limit) params.set('limit', limit);
+		return apiGet(`/students/search?${params}`);
+	},
 	getById: (studentId) => apiGet(`/users/${studentId}`),
 };
 
@@ -113,6 +149,12 @@ export const userAPI = {
 	createUser: (userData) => apiPost('/users', userData),
 };
 
+// Term report jobs: submit returns a job ({ id, status, result }); poll getJob until DONE or FAILED
+export const reportAPI = {
+	submit: (spec) => apiPost('/reports/jobs', spec),
+	getJob: (jobId) => apiGet(`/reports/jobs/${jobId}`),
+};
+
 // High-level helpers for backward compatibility
 export async function login(username, password) {
 	const response = await authAPI.login({ username, password });
@@ -176,4 +218,5 @@ export default {
 	subjectAPI,
 	dashboardAPI,
 	userAPI,
+	reportAPI,
 };
\ No newline at end of file
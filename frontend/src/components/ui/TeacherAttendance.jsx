@@ -3,28 +3,33 @@ import { apiGet, apiPost } from '../../api';
 import Card from './Card.jsx';
 import styles from './TeacherAttendance.module.css';
 
+const EMPTY_ROSTER = { ids: [], usernames: [], statuses: '' };
+const STATUS_CODES = { P: 'PRESENT', A: 'ABSENT', '-': 'NOT_MARKED' };
+
 export default function TeacherAttendance({ user }) {
-    const [students, setStudents] = useState([]);
+    const [roster, setRoster] = useState(EMPTY_ROSTER);
     const [subjects, setSubjects] = useState([]);
     const [selectedSubjectId, setSelectedSubjectId] = useState('');
     const [attendance, setAttendance] = useState({});
     const [loading, setLoading] = useState(true);
     const [submitting, setSubmitting] = useState(false);
-    const [todayRecords, setTodayRecords] = useState([]);
 
     useEffect(() => {
-        loadData();
-        fetchTodayAttendance();
+        loadSubjects();
     }, []);
 
-    async function loadData() {
+    useEffect(() => {
+        if (selectedSubjectId) {
+            loadRollCall(selectedSubjectId);
+        } else {
+            setRoster(EMPTY_ROSTER);
+        }
+    }, [selectedSubjectId]);
+
+    async function loadSubjects() {
         try {
             setLoading(true);
-            const [studentsData, subjectsData] = await Promise.all([
-                apiGet('/students'),
-                apiGet('/subjects')
-            ]);
-            setStudents(studentsData);
+            const subjectsData = await apiGet('/subjects');
             setSubjects(subjectsData);
             if (subjectsData.length > 0) {
                 setSelectedSubjectId(subjectsData[0].id);
@@ -36,12 +41,13 @@ export default function TeacherAttendance({ user }) {
         }
     }
 
-    async function fetchTodayAttendance() {
+    // Roster and current status for the subject in one request, as parallel arrays
+    async function loadRollCall(subjectId) {
         try {
-            const response = await apiGet('/attendance/today');
-            setTodayRecords(response);
+            const response = await apiGet(`/rollcall?subjectId=${subjectId}`);
+            setRoster(response);
         } catch (error) {
-            console.error('Failed to fetch today\'s attendance:', error);
+            console.error('Failed to fetch roll call:', error);
         }
     }
 
@@ -75,10 +81,17 @@ export default function TeacherAttendance({ user }) {
                 })
             );
 
-            await Promise.all(promises);
+            const results = await Promise.all(promises);
+            // PENDING: the database is unavailable and the backend will write these marks once it recovers
+            const pending = results.filter(result => result && result.status === 'PENDING').length;
+            if (pending > 0) {
+                alert(`Attendance saved for ${attendanceEntries.length} students. ${pending} of them will appear once the database is back.`);
+                setAttendance({});
+                return;
+            }
             alert(`Attendance marked successfully for ${attendanceEntries.length} students!`);
             setAttendance({});
-            fetchTodayAttendance(); // Refresh today's records
+            loadRollCall(selectedSubjectId); // Refresh current statuses
         } catch (error) {
             console.error('Failed to submit attendance:', error);
             alert('Failed to submit attendance');
@@ -87,10 +100,8 @@ export default function TeacherAttendance({ user }) {
         }
     };
 
-    const getStudentStatus = (studentId) => {
-        return attendance[studentId] || todayRecords.find(record =>
-            record.studentId === studentId && record.subjectId === parseInt(selectedSubjectId)
-        )?.status || 'NOT_MARKED';
+    const getStudentStatus = (index) => {
+        return attendance[roster.ids[index]] || STATUS_CODES[roster.statuses.charAt(index)] || 'NOT_MARKED';
     };
 
     if (loading) {
@@ -132,7 +143,7 @@ export default function TeacherAttendance({ user }) {
 
                         <div className={styles.stats}>
                             <div className={styles.stat}>
-                                <span className={styles.statNumber}>{students.length}</span>
+                                <span className={styles.statNumber}>{roster.ids.length}</span>
                                 <span className={styles.statLabel}>Total Students</span>
                             </div>
                             <div className={styles.stat}>
@@ -167,8 +178,9 @@ export default function TeacherAttendance({ user }) {
                         </h3>
 
                         <div className={styles.studentsGrid}>
-                            {students.map(student => {
-                                const status = getStudentStatus(student.id);
+                            {roster.ids.map((id, index) => {
+                                const student = { id, username: roster.usernames[index] };
+                                const status = getStudentStatus(index);
                                 return (
                                     <div key={student.id} className={styles.studentCard}>
                                         <div className={styles.studentInfo}>
@@ -1,8 +1,10 @@
-import { useEffect, useState } from 'react';
+import { useEffect, useRef, useState } from 'react';
 import { apiGet, apiPost } from '../../api';
 import Card from './Card.jsx';
 import styles from './TeacherStudents.module.css';
 
+const PAGE_SIZE = 50;
+
 export default function TeacherStudents() {
     const [students, setStudents] = useState([]);
     const [subjects, setSubjects] = useState([]);
@@ -10,20 +12,27 @@ export default function TeacherStudents() {
     const [loading, setLoading] = useState(true);
     const [marking, setMarking] = useState(null);
     const [attendanceStatus, setAttendanceStatus] = useState({});
+    const [query, setQuery] = useState('');
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
+    // The query the list should show; a response for an older query arriving late is dropped
+    const queryRef = useRef(query);
+    queryRef.current = query;
 
     useEffect(() => {
         loadData();
     }, []);
 
+    // Debounce typing so the directory is queried once the user pauses
+    useEffect(() => {
+        const timer = setTimeout(() => searchStudents(query), 200);
+        return () => clearTimeout(timer);
+    }, [query]);
+
     async function loadData() {
         try {
             setLoading(true);
-            const [studentsData, subjectsData] = await Promise.all([
-                apiGet('/students'),
-                apiGet('/subjects')
-            ]);
-
-            setStudents(studentsData);
+            const subjectsData = await apiGet('/subjects');
             setSubjects(subjectsData);
             setSelectedSubjectId(subjectsData[0]?.id || null);
         } catch (error) {
@@ -33,6 +42,29 @@ export default function TeacherStudents() {
         }
     }
 
+    async function searchStudents(q, cursor = null) {
+        try {
+            const params = new URLSearchParams({ q, mode: 'contains', limit: PAGE_SIZE });
+            if (cursor) {
+                params.set('cursor', cursor);
+            }
+            const page = await apiGet(`/students/search?${params}`);
+            if (q !== queryRef.current) {
+                return;
+            }
+            setStudents(prev => (cursor ? [...prev, ...page.items] : page.items));
+            setNextCursor(page.nextCursor);
+        } catch (error) {
+            console.error('Failed to search students:', error);
+        }
+    }
+
+    async function loadMore() {
+        setLoadingMore(true);
+        await searchStudents(query, nextCursor);
+        setLoadingMore(false);
+    }
+
     async function mark(studentId, status) {
         if (!selectedSubjectId) {
             alert('Please select a subject first');
@@ -111,9 +143,20 @@ export default function TeacherStudents() {
                         </select>
                     </div>
 
+                    <div className={styles.subjectSelector}>
+                        <label className={styles.label}>Search:</label>
+                        <input
+                            type="search"
+                            value={query}
+                            onChange={e => setQuery(e.target.value)}
+                            placeholder="Username or name..."
+                            className={styles.search}
+                        />
+                    </div>
+
                     <div className={styles.stats}>
                         <span className={styles.stat}>
-                            Total Students: <strong>{students.length}</strong>
+                            Showing: <strong>{students.length}{nextCursor ? '+' : ''}</strong>
                         </span>
                         <span className={styles.stat}>
                             Subjects: <strong>{subjects.length}</strong>
@@ -125,7 +168,7 @@ export default function TeacherStudents() {
                     <div className={styles.emptyState}>
                         <div className={styles.emptyIcon}>👨‍🎓</div>
                         <h3>No Students Found</h3>
-                        <p>There are no students registered in the system yet.</p>
+                        <p>{query ? 'No students match your search.' : 'There are no students registered in the system yet.'}</p>
                     </div>
                 ) : (
                     <div className={styles.tableContainer}>
@@ -189,6 +232,13 @@ export default function TeacherStudents() {
                                 ))}
                             </tbody>
                         </table>
+                        {nextCursor && (
+                            <div className={styles.footer}>
+                                <button className={styles.button} onClick={loadMore} disabled={loadingMore}>
+                                    {loadingMore ? 'Loading...' : 'Load more'}
+                                </button>
+                            </div>
+                        )}
                     </div>
                 )}
 
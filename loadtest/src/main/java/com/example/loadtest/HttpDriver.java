@@ -0,0 +1,61 @@
+package com.example.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+// Async HTTP calls that record latency under a templated endpoint name ("GET /rollcall") rather
+// than the concrete path, so per-id URLs aggregate into one row.
+class HttpDriver {
+	private final HttpClient client;
+	private final String baseUrl;
+	private final Duration timeout;
+	private final Stats stats;
+
+	HttpDriver(String baseUrl, Duration timeout, Executor executor, Stats stats) {
+		this.client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(timeout)
+				.executor(executor)
+				.build();
+		this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+		this.timeout = timeout;
+		this.stats = stats;
+	}
+
+	CompletableFuture<String> get(String endpoint, String path) {
+		return send(endpoint, request(path).GET().build());
+	}
+
+	CompletableFuture<String> post(String endpoint, String path, String json) {
+		return send(endpoint, request(path)
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(json))
+				.build());
+	}
+
+	private HttpRequest.Builder request(String path) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+	}
+
+	private CompletableFuture<String> send(String endpoint, HttpRequest request) {
+		long start = System.nanoTime();
+		return client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).handle((response, error) -> {
+			long nanos = System.nanoTime() - start;
+			if (error != null) {
+				stats.record(endpoint, nanos, -1);
+				throw new CompletionException(error);
+			}
+			stats.record(endpoint, nanos, response.statusCode());
+			if (response.statusCode() >= 400) {
+				throw new CompletionException(new IllegalStateException(endpoint + " returned " + response.statusCode()));
+			}
+			return response.body();
+		});
+	}
+}
@@ -0,0 +1,52 @@
+package com.example.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Just enough JSON field extraction for the responses the scenarios read, keeping the module dependency-free
+final class Json {
+	private Json() {
+	}
+
+	static long longField(String json, String field) {
+		Matcher m = Pattern.compile("\"" + field + "\"\\s*:\\s*(-?\\d+)").matcher(json);
+		if (!m.find()) {
+			throw new IllegalStateException("No numeric field '" + field + "' in response");
+		}
+		return Long.parseLong(m.group(1));
+	}
+
+	// Every occurrence of a numeric field, e.g. all "id"s in a list of objects
+	static List<Long> longFields(String json, String field) {
+		List<Long> values = new ArrayList<>();
+		Matcher m = Pattern.compile("\"" + field + "\"\\s*:\\s*(-?\\d+)").matcher(json);
+		while (m.find()) {
+			values.add(Long.parseLong(m.group(1)));
+		}
+		return values;
+	}
+
+	static List<Long> longArray(String json, String field) {
+		List<Long> values = new ArrayList<>();
+		Matcher m = Pattern.compile("\"" + field + "\"\\s*:\\s*\\[([^\\]]*)]").matcher(json);
+		if (m.find() && !m.group(1).isBlank()) {
+			for (String value : m.group(1).split(",")) {
+				values.add(Long.parseLong(value.trim()));
+			}
+		}
+		return values;
+	}
+
+	static String object(String... keyValues) {
+		StringBuilder sb = new StringBuilder("{");
+		for (int i = 0; i < keyValues.length; i += 2) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append('"').append(keyValues[i]).append("\":\"").append(keyValues[i + 1]).append('"');
+		}
+		return sb.append('}').toString();
+	}
+}
@@ -0,0 +1,66 @@
+package com.example.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Lock-free log-linear histogram of microsecond latencies: exact below 64us, then 32 buckets per
+// power of two (about 3% relative error), which is plenty for p99.9 on request latencies.
+class LatencyHistogram {
+	private static final int SUB_BUCKETS = 32;
+	private static final int MAX_MAGNITUDE = 40; // ~12 days in microseconds
+
+	private final AtomicLongArray counts = new AtomicLongArray((MAX_MAGNITUDE - 3) * SUB_BUCKETS);
+	private final AtomicLong total = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	void record(long micros) {
+		long value = Math.max(0, micros);
+		counts.incrementAndGet(indexOf(value));
+		total.incrementAndGet();
+		max.accumulateAndGet(value, Math::max);
+	}
+
+	long count() {
+		return total.get();
+	}
+
+	long max() {
+		return max.get();
+	}
+
+	// Upper bound of the bucket holding the given quantile, e.g. 0.999 for p99.9
+	long percentile(double quantile) {
+		long n = total.get();
+		if (n == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(quantile * n));
+		long seen = 0;
+		for (int i = 0; i < counts.length(); i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(upperBound(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	private static int indexOf(long value) {
+		if (value < 2 * SUB_BUCKETS) {
+			return (int) value;
+		}
+		int magnitude = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_MAGNITUDE - 1);
+		int sub = (int) Math.min((value >> (magnitude - 5)) - SUB_BUCKETS, SUB_BUCKETS - 1);
+		return (magnitude - 4) * SUB_BUCKETS + sub;
+	}
+
+	private static long upperBound(int index) {
+		if (index < 2 * SUB_BUCKETS) {
+			return index;
+		}
+		int magnitude = index / SUB_BUCKETS + 4;
+		int sub = index % SUB_BUCKETS;
+		long width = 1L << (magnitude - 5);
+		return ((long) (SUB_BUCKETS + sub)) * width + width - 1;
+	}
+}
@@ -0,0 +1,93 @@
+package com.example.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Replays the morning roll-call burst against a running backend:
+//   java -jar loadtest/target/loadtest.jar --base-url=http://localhost:8080/api --students=2000 --teachers=40
+// Arrivals are open-model (scheduled at fixed offsets whatever the server's response time), so a slow
+// server shows up as latency instead of quietly lowering the offered load. Scenario rows measure from
+// the scheduled start, which includes any client-side queueing.
+public class LoadTest {
+
+	public static void main(String[] args) throws Exception {
+		LoadTestConfig config = LoadTestConfig.parse(args);
+		Stats stats = new Stats();
+		ExecutorService httpExecutor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+		ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+		HttpDriver http = new HttpDriver(config.baseUrl(), Duration.ofSeconds(config.timeoutSeconds()), httpExecutor, stats);
+		Scenarios scenarios = new Scenarios(http, config);
+
+		System.out.printf("Load test against %s: %d students, %d teachers, %d dashboards over %ds%n",
+				config.baseUrl(), config.students(), config.teachers(), config.pollers(), config.rampSeconds());
+
+		long rampMillis = config.rampSeconds() * 1000L;
+		long startNanos = System.nanoTime();
+		CountDownLatch arrivals = new CountDownLatch(config.students() + config.teachers());
+
+		// Students arrive on a triangular curve peaking mid-window; teachers submit spread across it
+		for (int i = 0; i < config.students(); i++) {
+			int index = i;
+			schedule(scheduler, peakOffset(i, config.students(), rampMillis), stats, "scenario: student dashboard",
+					() -> scenarios.studentDashboard(index), arrivals);
+		}
+		for (int i = 0; i < config.teachers(); i++) {
+			int index = i;
+			long offset = config.teachers() == 1 ? rampMillis / 2 : rampMillis * i / (config.teachers() - 1);
+			schedule(scheduler, offset, stats, "scenario: teacher submit",
+					() -> scenarios.teacherSubmit(index), arrivals);
+		}
+		for (int i = 0; i < config.pollers(); i++) {
+			long firstPoll = config.pollIntervalSeconds() * 1000L * i / Math.max(1, config.pollers());
+			scheduler.scheduleAtFixedRate(() -> timed(stats, "scenario: dashboard poll", scenarios::dashboardPoll,
+					System.nanoTime(), null), firstPoll, config.pollIntervalSeconds() * 1000L, TimeUnit.MILLISECONDS);
+		}
+
+		boolean finished = arrivals.await(rampMillis + config.timeoutSeconds() * 2000L, TimeUnit.MILLISECONDS);
+		scheduler.shutdownNow();
+		double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+		if (!finished) {
+			System.out.println("Warning: " + arrivals.getCount() + " scenarios still running at cut-off");
+		}
+
+		System.out.printf("%nFinished in %.1fs%n", elapsedSeconds);
+		stats.print(System.out, elapsedSeconds);
+		httpExecutor.shutdownNow();
+		System.exit(0);
+	}
+
+	// Inverse CDF of a symmetric triangular distribution over [0, window], evaluated at evenly spaced points
+	static long peakOffset(int index, int count, long windowMillis) {
+		double u = (index + 0.5) / count;
+		double fraction = u < 0.5 ? Math.sqrt(u / 2) : 1 - Math.sqrt((1 - u) / 2);
+		return (long) (fraction * windowMillis);
+	}
+
+	private static void schedule(ScheduledExecutorService scheduler, long offsetMillis, Stats stats, String name,
+			Supplier<CompletableFuture<Void>> scenario, CountDownLatch done) {
+		long scheduledNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(offsetMillis);
+		scheduler.schedule(() -> timed(stats, name, scenario, scheduledNanos, done), offsetMillis, TimeUnit.MILLISECONDS);
+	}
+
+	private static void timed(Stats stats, String name, Supplier<CompletableFuture<Void>> scenario,
+			long scheduledNanos, CountDownLatch done) {
+		CompletableFuture<Void> run;
+		try {
+			run = scenario.get();
+		} catch (RuntimeException e) {
+			run = CompletableFuture.failedFuture(e);
+		}
+		run.whenComplete((result, error) -> {
+			stats.record(name, System.nanoTime() - scheduledNanos, error == null ? 200 : -1);
+			if (done != null) {
+				done.countDown();
+			}
+		});
+	}
+}
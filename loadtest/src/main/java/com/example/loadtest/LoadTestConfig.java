@@ -0,0 +1,49 @@
+package com.example.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Command line options as --name=value; defaults model one school's 8:55am peak
+record LoadTestConfig(String baseUrl,
+		int students,
+		int teachers,
+		int pollers,
+		int rampSeconds,
+		int pollIntervalSeconds,
+		int timeoutSeconds,
+		double presentRatio,
+		String studentPassword,
+		String teacherUsername,
+		String teacherPassword) {
+
+	static LoadTestConfig parse(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			if (!arg.startsWith("--") || !arg.contains("=")) {
+				throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+			}
+			int eq = arg.indexOf('=');
+			options.put(arg.substring(2, eq), arg.substring(eq + 1));
+		}
+		LoadTestConfig config = new LoadTestConfig(
+				options.getOrDefault("base-url", "http://localhost:8080/api"),
+				Integer.parseInt(options.getOrDefault("students", "2000")),
+				Integer.parseInt(options.getOrDefault("teachers", "40")),
+				Integer.parseInt(options.getOrDefault("pollers", "20")),
+				Integer.parseInt(options.getOrDefault("ramp-seconds", "120")),
+				Integer.parseInt(options.getOrDefault("poll-interval-seconds", "10")),
+				Integer.parseInt(options.getOrDefault("timeout-seconds", "30")),
+				Double.parseDouble(options.getOrDefault("present-ratio", "0.9")),
+				options.getOrDefault("student-password", "loadtest123"),
+				options.getOrDefault("teacher-username", "teacher"),
+				options.getOrDefault("teacher-password", "teacher123"));
+		options.keySet().removeAll(Set.of("base-url", "students", "teachers", "pollers", "ramp-seconds",
+				"poll-interval-seconds", "timeout-seconds", "present-ratio", "student-password", "teacher-username",
+				"teacher-password"));
+		if (!options.isEmpty()) {
+			throw new IllegalArgumentException("Unknown options: " + options.keySet());
+		}
+		return config;
+	}
+}
@@ -0,0 +1,156 @@
+package com.example.loadtest;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Compares the MVC read endpoints (/api/...) with their reactive twins (/api/rx/..., backend started with
+// the "reactive" profile) under a fixed number of concurrent dashboard clients:
+//   java -cp loadtest/target/loadtest.jar com.example.loadtest.ReadStackBenchmark --clients=1000 --seconds=30
+// Closed model: each client sends its next request as soon as the previous one answers. While a run is in
+// progress /api/admin/pools is sampled to record peak JDBC connections, R2DBC connections and busy Tomcat
+// threads. The MVC dashboard endpoints are served from the stale-while-revalidate cache, so the history
+// path is the like-for-like comparison of database access.
+public class ReadStackBenchmark {
+	private static final String[][] STACKS = { { "mvc", "" }, { "reactive", "/rx" } };
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = parse(args);
+		String baseUrl = options.getOrDefault("base-url", "http://localhost:8080/api");
+		int clients = Integer.parseInt(options.getOrDefault("clients", "1000"));
+		int seconds = Integer.parseInt(options.getOrDefault("seconds", "30"));
+		int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup-seconds", "5"));
+		int timeoutSeconds = Integer.parseInt(options.getOrDefault("timeout-seconds", "30"));
+		List<String> paths = List.of(options.getOrDefault("paths",
+				"/dashboard/summary,/dashboard/subjectCounts,/students/2/attendance").split(","));
+
+		ExecutorService httpExecutor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+		ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+		HttpClient adminClient = HttpClient.newHttpClient();
+		System.out.printf("Read stack benchmark against %s: %d clients, %ds per run (+%ds warm-up)%n",
+				baseUrl, clients, seconds, warmupSeconds);
+
+		Stats stats = new Stats();
+		List<String> peakRows = new ArrayList<>();
+		double measuredSeconds = 0;
+		for (String path : paths) {
+			for (String[] stack : STACKS) {
+				String endpoint = stack[0] + " GET " + path;
+				System.out.println("Running " + endpoint);
+				HttpDriver warmup = new HttpDriver(baseUrl, Duration.ofSeconds(timeoutSeconds), httpExecutor, new Stats());
+				run(warmup, endpoint, stack[1] + path, clients, warmupSeconds);
+
+				Peaks peaks = new Peaks();
+				var sampling = sampler.scheduleAtFixedRate(() -> peaks.sample(adminClient, baseUrl), 0, 100,
+						TimeUnit.MILLISECONDS);
+				HttpDriver http = new HttpDriver(baseUrl, Duration.ofSeconds(timeoutSeconds), httpExecutor, stats);
+				long start = System.nanoTime();
+				run(http, endpoint, stack[1] + path, clients, seconds);
+				measuredSeconds += (System.nanoTime() - start) / 1e9;
+				sampling.cancel(false);
+				peakRows.add(peaks.row(endpoint));
+			}
+		}
+
+		// Each row ran for about the same time, so per-row throughput uses one run's duration
+		System.out.printf("%nLatency%n");
+		stats.print(System.out, measuredSeconds / (paths.size() * STACKS.length));
+		System.out.printf("%nPeak resource use%n");
+		Peaks.printHeader(System.out);
+		peakRows.forEach(System.out::println);
+		sampler.shutdownNow();
+		httpExecutor.shutdownNow();
+		System.exit(0);
+	}
+
+	// Runs clients closed-loop request chains until the deadline, then waits for the last responses
+	private static void run(HttpDriver http, String endpoint, String path, int clients, int seconds) {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+		List<CompletableFuture<Void>> chains = new ArrayList<>(clients);
+		for (int i = 0; i < clients; i++) {
+			chains.add(loop(http, endpoint, path, deadline));
+		}
+		CompletableFuture.allOf(chains.toArray(new CompletableFuture[0])).join();
+	}
+
+	private static CompletableFuture<Void> loop(HttpDriver http, String endpoint, String path, long deadline) {
+		if (System.nanoTime() >= deadline) {
+			return CompletableFuture.completedFuture(null);
+		}
+		return http.get(endpoint, path)
+				.handle((body, error) -> null)
+				.thenCompose(ignored -> loop(http, endpoint, path, deadline));
+	}
+
+	private static Map<String, String> parse(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			if (!arg.startsWith("--") || !arg.contains("=")) {
+				throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+			}
+			int eq = arg.indexOf('=');
+			options.put(arg.substring(2, eq), arg.substring(eq + 1));
+		}
+		Set<String> known = Set.of("base-url", "clients", "seconds", "warmup-seconds", "timeout-seconds", "paths");
+		if (!known.containsAll(options.keySet())) {
+			throw new IllegalArgumentException("Unknown options in " + options.keySet() + ", expected " + known);
+		}
+		return options;
+	}
+
+	// Highest values seen in /api/admin/pools samples; connections are summed over shards
+	private static class Peaks {
+		private final AtomicLong jdbc = new AtomicLong();
+		private final AtomicLong r2dbc = new AtomicLong();
+		private final AtomicLong r2dbcPending = new AtomicLong();
+		private final AtomicLong jdbcWaiting = new AtomicLong();
+		private final AtomicLong servletBusy = new AtomicLong();
+		private final AtomicLong samples = new AtomicLong();
+
+		void sample(HttpClient client, String baseUrl) {
+			try {
+				String json = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/admin/pools"))
+						.timeout(Duration.ofSeconds(2)).GET().build(), HttpResponse.BodyHandlers.ofString()).body();
+				jdbc.accumulateAndGet(sum(json, "active"), Math::max);
+				jdbcWaiting.accumulateAndGet(sum(json, "waiting"), Math::max);
+				r2dbc.accumulateAndGet(sum(json, "acquired"), Math::max);
+				r2dbcPending.accumulateAndGet(sum(json, "pending"), Math::max);
+				servletBusy.accumulateAndGet(sum(json, "busy"), Math::max);
+				samples.incrementAndGet();
+			} catch (Exception e) {
+				if (e instanceof InterruptedException) {
+					Thread.currentThread().interrupt();
+				}
+				// a missed sample only lowers the resolution
+			}
+		}
+
+		private static long sum(String json, String field) {
+			return Json.longFields(json, field).stream().mapToLong(Long::longValue).sum();
+		}
+
+		static void printHeader(PrintStream out) {
+			out.printf("%-40s %8s %12s %8s %14s %12s %8s%n", "endpoint", "jdbc", "jdbc waiting", "r2dbc",
+					"r2dbc pending", "tomcat busy", "samples");
+		}
+
+		String row(String endpoint) {
+			return String.format("%-40s %8d %12d %8d %14d %12d %8d", endpoint, jdbc.get(), jdbcWaiting.get(),
+					r2dbc.get(), r2dbcPending.get(), servletBusy.get(), samples.get());
+		}
+	}
+}
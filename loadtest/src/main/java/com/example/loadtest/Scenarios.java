@@ -0,0 +1,64 @@
+package com.example.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Request sequences copied from the frontend components, including which calls they issue in parallel
+class Scenarios {
+	private final HttpDriver http;
+	private final LoadTestConfig config;
+
+	Scenarios(HttpDriver http, LoadTestConfig config) {
+		this.http = http;
+		this.config = config;
+	}
+
+	// Auth.jsx login (unknown usernames are auto-registered as students), then StudentDashboard.jsx
+	CompletableFuture<Void> studentDashboard(int index) {
+		String login = Json.object("username", "lt-student-" + index, "password", config.studentPassword());
+		return http.post("POST /auth/login", "/auth/login", login).thenCompose(body -> {
+			long studentId = Json.longField(body, "id");
+			return CompletableFuture.allOf(
+					http.get("GET /subjects", "/subjects"),
+					http.get("GET /students/{id}/attendance", "/students/" + studentId + "/attendance"));
+		});
+	}
+
+	// Teacher login, TeacherAttendance.jsx load, submitAttendance (one POST per student, all at once
+	// like its Promise.all), then the roll-call refresh it does afterwards
+	CompletableFuture<Void> teacherSubmit(int index) {
+		String login = Json.object("username", config.teacherUsername(), "password", config.teacherPassword());
+		return http.post("POST /auth/login", "/auth/login", login).thenCompose(loginBody -> {
+			long teacherId = Json.longField(loginBody, "id");
+			return http.get("GET /subjects", "/subjects").thenCompose(subjectsBody -> {
+				List<Long> subjectIds = Json.longFields(subjectsBody, "id");
+				if (subjectIds.isEmpty()) {
+					throw new IllegalStateException("No subjects to mark");
+				}
+				long subjectId = subjectIds.get(index % subjectIds.size());
+				String rollCallPath = "/rollcall?subjectId=" + subjectId;
+				return http.get("GET /rollcall", rollCallPath).thenCompose(rollCall -> {
+					List<CompletableFuture<String>> marks = new ArrayList<>();
+					for (Long studentId : Json.longArray(rollCall, "ids")) {
+						String status = ThreadLocalRandom.current().nextDouble() < config.presentRatio() ? "PRESENT" : "ABSENT";
+						marks.add(http.post("POST /attendance/mark", "/attendance/mark", Json.object(
+								"studentId", studentId.toString(), "subjectId", Long.toString(subjectId),
+								"status", status, "teacherId", Long.toString(teacherId))));
+					}
+					return CompletableFuture.allOf(marks.toArray(new CompletableFuture[0]))
+							.thenCompose(done -> http.get("GET /rollcall", rollCallPath));
+				});
+			});
+		}).thenApply(body -> null);
+	}
+
+	// TeacherDashboard.jsx: three parallel reads, repeated by dashboards left open
+	CompletableFuture<Void> dashboardPoll() {
+		return CompletableFuture.allOf(
+				http.get("GET /dashboard/subjectCounts", "/dashboard/subjectCounts"),
+				http.get("GET /subjects", "/subjects"),
+				http.get("GET /dashboard/summary", "/dashboard/summary"));
+	}
+}
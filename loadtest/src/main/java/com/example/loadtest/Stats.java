@@ -0,0 +1,42 @@
+package com.example.loadtest;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-endpoint latency and error counters. Status -1 means the request never got a response
+// (connect failure or timeout); on scenario rows it means some step of the scenario failed.
+class Stats {
+	private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+	void record(String endpoint, long nanos, int status) {
+		EndpointStats stats = endpoints.computeIfAbsent(endpoint, e -> new EndpointStats());
+		stats.latency.record(nanos / 1000);
+		if (status < 200 || status >= 400) {
+			stats.errors.increment();
+			stats.errorsByStatus.computeIfAbsent(status, s -> new LongAdder()).increment();
+		}
+	}
+
+	void print(PrintStream out, double elapsedSeconds) {
+		out.printf("%-42s %8s %9s %8s %9s %9s %9s %9s  %s%n", "endpoint", "count", "req/s", "err%",
+				"p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors by status");
+		for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(endpoints).entrySet()) {
+			EndpointStats stats = entry.getValue();
+			LatencyHistogram h = stats.latency;
+			long count = h.count();
+			out.printf("%-42s %8d %9.1f %7.2f%% %9.1f %9.1f %9.1f %9.1f  %s%n", entry.getKey(), count,
+					count / elapsedSeconds, count == 0 ? 0.0 : 100.0 * stats.errors.sum() / count,
+					h.percentile(0.50) / 1000.0, h.percentile(0.99) / 1000.0, h.percentile(0.999) / 1000.0,
+					h.max() / 1000.0, new TreeMap<>(stats.errorsByStatus));
+		}
+	}
+
+	private static class EndpointStats {
+		final LatencyHistogram latency = new LatencyHistogram();
+		final LongAdder errors = new LongAdder();
+		final Map<Integer, LongAdder> errorsByStatus = new ConcurrentHashMap<>();
+	}
+}